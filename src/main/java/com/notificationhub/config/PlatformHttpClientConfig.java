@@ -0,0 +1,112 @@
+package com.notificationhub.config;
+
+import io.micrometer.common.KeyValue;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequestObservationContext;
+import org.springframework.web.reactive.function.client.DefaultClientRequestObservationConvention;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Cliente HTTP saliente de cada plataforma, con su propio pool de conexiones.
+ * <p>
+ * Cada proveedor tiene límites de conexiones y de adquisiciones pendientes, timeouts de
+ * conexión y de respuesta, y desalojo de conexiones ociosas, configurables
+ * en {@link PlatformHttpProperties}. Así un proveedor colgado agota su pool y corta
+ * por timeout sin retener hilos ni afectar al otro. Los pools publican métricas
+ * ({@code reactor.netty.connection.provider.*}) en el registro de Micrometer.
+ * <p>
+ * Las URLs salientes llevan secretos (el token del webhook de Discord, el del bot de
+ * Telegram), así que las observaciones {@code http.client.requests} no registran la URI.
+ */
+@Configuration
+@EnableConfigurationProperties(PlatformHttpProperties.class)
+public class PlatformHttpClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider telegramConnectionProvider(PlatformHttpProperties properties) {
+        return connectionProvider("telegram", properties.telegram());
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider discordConnectionProvider(PlatformHttpProperties properties) {
+        return connectionProvider("discord", properties.discord());
+    }
+
+    @Bean
+    public WebClient.Builder telegramWebClientBuilder(@Qualifier("telegramConnectionProvider") ConnectionProvider telegramConnectionProvider,
+                                                      PlatformHttpProperties properties,
+                                                      ObjectProvider<WebClientCustomizer> customizers) {
+        return webClientBuilder(telegramConnectionProvider, properties.telegram(), customizers);
+    }
+
+    @Bean
+    public WebClient.Builder discordWebClientBuilder(@Qualifier("discordConnectionProvider") ConnectionProvider discordConnectionProvider,
+                                                     PlatformHttpProperties properties,
+                                                     ObjectProvider<WebClientCustomizer> customizers) {
+        return webClientBuilder(discordConnectionProvider, properties.discord(), customizers);
+    }
+
+    private ConnectionProvider connectionProvider(String name, PlatformHttpProperties.Client client) {
+        return ConnectionProvider.builder(name)
+                .maxConnections(client.maxConnections())
+                .pendingAcquireMaxCount(client.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(Duration.ofMillis(client.pendingAcquireTimeoutMs()))
+                .maxIdleTime(Duration.ofMillis(client.maxIdleTimeMs()))
+                .maxLifeTime(Duration.ofMillis(client.maxLifeTimeMs()))
+                .evictInBackground(Duration.ofMillis(client.evictInBackgroundMs()))
+                .metrics(true)
+                .build();
+    }
+
+    private WebClient.Builder webClientBuilder(ConnectionProvider connectionProvider,
+                                               PlatformHttpProperties.Client client,
+                                               ObjectProvider<WebClientCustomizer> customizers) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) client.connectTimeoutMs())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                // Solo corre mientras hay un request en curso; un handler de lectura en la conexión
+                // cerraría también las conexiones ociosas del pool
+                .responseTimeout(Duration.ofMillis(client.responseTimeoutMs()));
+
+        if (client.http2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+
+        WebClient.Builder builder = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient));
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        // Después de los customizers, para reemplazar la convención que registra Boot
+        return builder.observationConvention(new RedactedUriObservationConvention());
+    }
+
+    /**
+     * Convención de {@code http.client.requests} que no expone la URI ni la URL del request
+     */
+    static class RedactedUriObservationConvention extends DefaultClientRequestObservationConvention {
+
+        private static final KeyValue URI_NONE = KeyValue.of("uri", "none");
+        private static final KeyValue HTTP_URL_NONE = KeyValue.of("http.url", "none");
+
+        @Override
+        protected KeyValue uri(ClientRequestObservationContext context) {
+            return URI_NONE;
+        }
+
+        @Override
+        protected KeyValue httpUrl(ClientRequestObservationContext context) {
+            return HTTP_URL_NONE;
+        }
+    }
+}
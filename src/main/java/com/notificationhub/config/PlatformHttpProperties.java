@@ -0,0 +1,25 @@
+package com.notificationhub.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Límites y timeouts del cliente HTTP saliente de cada plataforma, bajo
+ * {@code platform.http.<proveedor>.*}
+ */
+@ConfigurationProperties(prefix = "platform.http")
+public record PlatformHttpProperties(Client telegram, Client discord) {
+
+    /**
+     * Pool de conexiones y timeouts de un proveedor, en milisegundos
+     */
+    public record Client(int maxConnections,
+                         int pendingAcquireMaxCount,
+                         long pendingAcquireTimeoutMs,
+                         long connectTimeoutMs,
+                         long responseTimeoutMs,
+                         long maxIdleTimeMs,
+                         long maxLifeTimeMs,
+                         long evictInBackgroundMs,
+                         boolean http2) {
+    }
+}
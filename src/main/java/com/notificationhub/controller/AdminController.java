@@ -1,5 +1,7 @@
 package com.notificationhub.controller;
 
+import com.notificationhub.dto.criteria.MessageCursor;
+import com.notificationhub.dto.response.CursorPage;
 import com.notificationhub.dto.response.ErrorResponse;
 import com.notificationhub.dto.response.MessageResponse;
 import com.notificationhub.dto.response.MetricsResponse;
@@ -27,8 +29,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/admin")
 @PreAuthorize("hasRole('ADMIN')")
@@ -46,7 +46,7 @@ public class AdminController {
     @GetMapping("/messages")
     @Operation(
             summary = "Get all messages (Admin only)",
-            description = "Retrieve all messages from all users in the system with pagination. Only accessible by users with ADMIN role.",
+            description = "Retrieve all messages from all users in the system, newest first, paginated by cursor: pass the returned nextCursor to get the next page. Only accessible by users with ADMIN role.",
             security = @SecurityRequirement(name = "bearer-jwt")
     )
     @ApiResponses(value = {
@@ -95,28 +95,28 @@ public class AdminController {
                     )
             )
     })
-    public ResponseEntity<Page<MessageResponse>> getAllMessages(
-            @Parameter(description = "Page number (0-indexed)", example = "0")
-            @RequestParam(defaultValue = "0") int page,
+    public ResponseEntity<CursorPage<MessageResponse>> getAllMessages(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page (omit for the first page)")
+            @RequestParam(required = false) String cursor,
 
             @Parameter(description = "Number of items per page", example = "20")
             @RequestParam(defaultValue = "20") int size
     ) {
-        log.info("Admin requesting all messages - page: {}, size: {}", page, size);
+        log.info("Admin requesting all messages - cursor: {}, size: {}", cursor, size);
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        MessageCursor after = cursor != null ? MessageCursor.decode(cursor) : null;
 
-        Page<Message> messages = messageService.getAllMessages(pageable);
-        Page<MessageResponse> responses = messages.map(messageMapper::toResponse);
+        CursorPage<Message> messages = messageService.getAllMessages(after, size);
+        CursorPage<MessageResponse> responses = messages.map(messageMapper::toResponse);
 
-        log.info("Returning page {} with {} messages (total: {})", page, responses.getNumberOfElements(), responses.getTotalElements());
+        log.info("Returning {} messages (hasNext: {})", responses.content().size(), responses.hasNext());
         return ResponseEntity.ok(responses);
     }
 
     @GetMapping("/metrics")
     @Operation(
             summary = "Get system metrics (Admin only)",
-            description = "Get metrics for all users including total messages sent and remaining daily quota. Only accessible by ADMIN.",
+            description = "Get metrics for all users including total messages sent and remaining daily quota, with pagination. Only accessible by ADMIN.",
             security = @SecurityRequirement(name = "bearer-jwt")
     )
     @ApiResponses(value = {
@@ -161,12 +161,20 @@ public class AdminController {
                     )
             )
     })
-    public ResponseEntity<List<MetricsResponse>> getMetrics() {
-        log.info("Admin requesting system metrics");
+    public ResponseEntity<Page<MetricsResponse>> getMetrics(
+            @Parameter(description = "Page number (0-indexed)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(description = "Number of users per page", example = "50")
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        log.info("Admin requesting system metrics - page: {}, size: {}", page, size);
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by("username"));
 
-        List<MetricsResponse> metrics = messageService.getAllUserMetrics();
+        Page<MetricsResponse> metrics = messageService.getAllUserMetrics(pageable);
 
-        log.info("Returning metrics for {} users", metrics.size());
+        log.info("Returning metrics for {} users (total: {})", metrics.getNumberOfElements(), metrics.getTotalElements());
         return ResponseEntity.ok(metrics);
     }
 
@@ -1,6 +1,10 @@
 package com.notificationhub.controller;
 
+import com.notificationhub.dto.criteria.MessageCursor;
+import com.notificationhub.dto.request.BatchMessageRequest;
 import com.notificationhub.dto.request.MessageRequest;
+import com.notificationhub.dto.response.BatchMessageResponse;
+import com.notificationhub.dto.response.CursorPage;
 import com.notificationhub.dto.response.ErrorResponse;
 import com.notificationhub.dto.response.MessageResponse;
 import com.notificationhub.entity.Message;
@@ -19,10 +23,6 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -191,12 +191,169 @@ public class MessageController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/send/async")
+    @Operation(
+            summary = "Queue message for asynchronous delivery",
+            description = """
+                    Accept a message for delivery without waiting for the platforms.
+                    The message and one PENDING delivery per destination are persisted and
+                    a background dispatcher sends them shortly after.
+                    
+                    **Delivery Behavior:**
+                    - Returns immediately with 202 Accepted and the message ID
+                    - Deliveries start as PENDING and move to SUCCESS or FAILED once dispatched
+                    - Progress can be followed through GET /api/messages
+                    - The message counts against the daily limit when it is accepted
+                    """,
+            security = @SecurityRequirement(name = "bearer-jwt")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Message accepted and queued for delivery",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = MessageResponse.class),
+                            examples = @ExampleObject(
+                                    value = """
+                                            {
+                                              "id": 7,
+                                              "content": "Hello from Notification Hub!",
+                                              "username": "admin",
+                                              "createdAt": "2025-10-27T10:49:28.5073736",
+                                              "deliveries": [
+                                                {
+                                                  "id": 9,
+                                                  "platform": "TELEGRAM",
+                                                  "destination": "123456789",
+                                                  "status": "PENDING",
+                                                  "providerResponse": null,
+                                                  "sentAt": null
+                                                }
+                                              ]
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request data or platform not available",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Not authenticated - JWT token required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Daily message limit exceeded",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<MessageResponse> queueMessage(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Message content and destination platforms",
+                    required = true,
+                    content = @Content(schema = @Schema(implementation = MessageRequest.class))
+            )
+            @Valid @RequestBody MessageRequest request) {
+        log.info("Received async message request for {} destinations", request.getDestinations().size());
+
+        Message message = messageService.queueMessage(request);
+        MessageResponse response = messageMapper.toResponse(message);
+
+        log.info("Message queued. ID: {}", message.getId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Queue a batch of messages",
+            description = """
+                    Queue up to 5000 messages in a single request for asynchronous delivery.
+                    
+                    **Batch Behavior:**
+                    - Daily quota is reserved once for every accepted message in the batch
+                    - If the remaining quota cannot cover the whole batch, nothing is queued (429)
+                    - Invalid messages and messages targeting a platform that is not available are rejected individually
+                    - Results are returned per message, in request order, with the queued message ID
+                    - Deliveries are sent by the background dispatcher, as with /send/async
+                    """,
+            security = @SecurityRequirement(name = "bearer-jwt")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Batch accepted",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BatchMessageResponse.class),
+                            examples = @ExampleObject(
+                                    value = """
+                                            {
+                                              "queued": 1,
+                                              "rejected": 1,
+                                              "results": [
+                                                { "index": 0, "queued": true, "messageId": 42 },
+                                                { "index": 1, "queued": false, "error": "Platform not configured: DISCORD" }
+                                              ]
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request data",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Not authenticated - JWT token required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Remaining daily quota does not cover the batch",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<BatchMessageResponse> queueBatch(@Valid @RequestBody BatchMessageRequest request) {
+        log.info("Received batch request with {} messages", request.getMessages().size());
+
+        BatchMessageResponse response = messageService.queueBatch(request.getMessages());
+
+        log.info("Batch processed. Queued: {}, Rejected: {}", response.getQueued(), response.getRejected());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
     @GetMapping
     @Operation(
             summary = "Get my messages",
             description = "Retrieve all messages sent by the authenticated user. " +
                     "Supports optional filtering by delivery status, platform, and date range. " +
-                    "Without filters, returns all messages ordered by creation date (newest first).",
+                    "Without filters, returns all messages ordered by creation date (newest first). " +
+                    "Results are paginated by cursor: pass the returned nextCursor to get the next page.",
             security = @SecurityRequirement(name = "bearer-jwt")
     )
     @ApiResponses(value = {
@@ -248,7 +405,7 @@ public class MessageController {
                     )
             )
     })
-    public ResponseEntity<Page<MessageResponse>> getMyMessages(
+    public ResponseEntity<CursorPage<MessageResponse>> getMyMessages(
             @Parameter(description = "Filter by delivery status (SUCCESS, PENDING, FAILED)", example = "SUCCESS")
             @RequestParam(required = false) DeliveryStatus status,
 
@@ -261,23 +418,22 @@ public class MessageController {
             @Parameter(description = "End date for date range filter (ISO 8601 format)", example = "2025-12-31T23:59:59")
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
 
-            @Parameter(description = "Page number (0-indexed)", example = "0")
-            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page (omit for the first page)")
+            @RequestParam(required = false) String cursor,
 
             @Parameter(description = "Number of items per page", example = "20")
             @RequestParam(defaultValue = "20") int size
     ) {
 
-        log.info("User requesting messages with filters - status: {}, platform: {}, from: {}, to: {}, page: {}, size: {}",
-                status, platform, from, to, page, size);
-
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        log.info("User requesting messages with filters - status: {}, platform: {}, from: {}, to: {}, cursor: {}, size: {}",
+                status, platform, from, to, cursor, size);
 
+        MessageCursor after = cursor != null ? MessageCursor.decode(cursor) : null;
 
-        Page<Message> messages = messageService.getUserMessagesWithFilters(status, platform, from, to, pageable);
-        Page<MessageResponse> responses = messages.map(messageMapper::toResponse);
+        CursorPage<Message> messages = messageService.getUserMessagesWithFilters(status, platform, from, to, after, size);
+        CursorPage<MessageResponse> responses = messages.map(messageMapper::toResponse);
 
-        log.info("Returning page {} with {} messages (total: {})", page, responses.getNumberOfElements(), responses.getTotalElements());
+        log.info("Returning {} messages (hasNext: {})", responses.content().size(), responses.hasNext());
         return ResponseEntity.ok(responses);
     }
 
@@ -13,7 +13,8 @@ public record MessageFilterCriteria(
         DeliveryStatus status,
         PlatformType platform,
         LocalDateTime from,
-        LocalDateTime to
+        LocalDateTime to,
+        MessageCursor after
 ) {
 
     public boolean hasDateFilters() {
@@ -0,0 +1,26 @@
+package com.notificationhub.dto.request;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Batch of messages to queue in a single request")
+public class BatchMessageRequest {
+    /**
+     * Sin validación en cascada: {@code MessageService.queueBatch} valida cada mensaje y
+     * rechaza solo los inválidos, informando su índice
+     */
+    @NotEmpty(message = "At least one message is required")
+    @Size(max = 5000, message = "A batch must not exceed 5000 messages")
+    @ArraySchema(arraySchema = @Schema(description = "Messages to queue", requiredMode = Schema.RequiredMode.REQUIRED),
+            minItems = 1, maxItems = 5000)
+    private List<MessageRequest> messages;
+}
@@ -0,0 +1,28 @@
+package com.notificationhub.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Result for a single message of a batch")
+public class BatchItemResponse {
+    @Schema(description = "Position of the message in the request", example = "0")
+    private int index;
+
+    @Schema(description = "Whether the message was queued", example = "true")
+    private boolean queued;
+
+    @Schema(description = "ID of the queued message", example = "42")
+    private Long messageId;
+
+    @Schema(description = "Reason the message was rejected", example = "Platform not configured: DISCORD")
+    private String error;
+}
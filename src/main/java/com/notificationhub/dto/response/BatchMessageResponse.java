@@ -0,0 +1,25 @@
+package com.notificationhub.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Batch send result with one entry per requested message")
+public class BatchMessageResponse {
+    @Schema(description = "Messages queued for delivery", example = "998")
+    private int queued;
+
+    @Schema(description = "Messages rejected", example = "2")
+    private int rejected;
+
+    @Schema(description = "Per-message results, in request order")
+    private List<BatchItemResponse> results;
+}
@@ -0,0 +1,42 @@
+package com.notificationhub.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página obtenida por cursor. No incluye totales: calcularlos costaría un COUNT por página.
+ */
+@Schema(description = "Page of results addressed by an opaque cursor")
+public record CursorPage<T>(
+        @Schema(description = "Items of this page, newest first")
+        List<T> content,
+
+        @Schema(description = "Cursor to request the next page; null on the last page", example = "MjAyNS0xMC0yN1QxMDo0MTo1NS43MTJ8NDI")
+        String nextCursor,
+
+        @Schema(description = "Whether there is a next page", example = "true")
+        boolean hasNext
+) {
+
+    /**
+     * Arma la página a partir de hasta {@code size + 1} filas: la fila extra solo indica
+     * que existe una página siguiente y no se devuelve
+     *
+     * @param rows   Filas leídas, como máximo {@code size + 1}
+     * @param size   Tamaño de página pedido
+     * @param cursor Cursor que apunta después de un elemento
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursor) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null, false);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPage<>(content, cursor.apply(content.get(size - 1)), true);
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(content.stream().map(mapper).toList(), nextCursor, hasNext);
+    }
+}
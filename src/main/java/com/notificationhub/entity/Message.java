@@ -10,7 +10,10 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+        @Index(name = "idx_messages_user_created_at", columnList = "user_id, created_at DESC, id DESC"),
+        @Index(name = "idx_messages_created_at", columnList = "created_at DESC, id DESC")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,8 +21,12 @@ import java.util.Objects;
 @Builder
 public class Message {
 
+    /**
+     * Ids reservados de a 50 por Hibernate, para que los INSERT de un lote viajen en un batch JDBC
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "messages_seq")
+    @SequenceGenerator(name = "messages_seq", sequenceName = "messages_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
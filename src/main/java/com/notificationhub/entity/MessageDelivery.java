@@ -4,6 +4,7 @@ import com.notificationhub.enums.DeliveryStatus;
 import com.notificationhub.enums.PlatformType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -15,7 +16,10 @@ import java.util.Map;
 import java.util.Objects;
 
 @Entity
-@Table(name = "message_deliveries")
+@Table(name = "message_deliveries", indexes = {
+        @Index(name = "idx_message_deliveries_message_platform_status", columnList = "message_id, platform_type, status"),
+        @Index(name = "idx_message_deliveries_status_created_at", columnList = "status, created_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,7 +28,8 @@ import java.util.Objects;
 public class MessageDelivery {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "message_deliveries_seq")
+    @SequenceGenerator(name = "message_deliveries_seq", sequenceName = "message_deliveries_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -54,6 +59,44 @@ public class MessageDelivery {
     @Column(name = "sent_at")
     private LocalDateTime sentAt;
 
+    /**
+     * Momento a partir del cual el dispatcher puede volver a tomar la entrega.
+     * Mientras un dispatcher la procesa funciona como lease.
+     */
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * Intentos de envío fallidos; al llegar a {@code delivery.retry.max-attempts} la entrega queda FAILED
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    /**
+     * Solo vive en el resultado de un envío: el proveedor rechazó la entrega de forma
+     * definitiva y no tiene sentido reintentarla
+     */
+    @Transient
+    @Builder.Default
+    private boolean rejected = false;
+
+    /**
+     * Solo vive en el resultado de un envío: el proveedor respondió 429 y pidió esperar
+     */
+    @Transient
+    @Builder.Default
+    private boolean rateLimited = false;
+
+    /**
+     * Solo vive en el resultado de un envío: la entrega viajó en una llamada agrupada cuyo
+     * resultado ya se informa con otra entrega del mismo lote
+     */
+    @Transient
+    @Builder.Default
+    private boolean sharedCall = false;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -67,12 +110,67 @@ public class MessageDelivery {
         this.providerResponse = response;
         this.sentAt = LocalDateTime.now();
         this.errorMessage = null;
+        this.nextAttemptAt = null;
     }
 
     public void markAsFailed(String error) {
         this.status = DeliveryStatus.FAILED;
         this.errorMessage = error;
         this.sentAt = LocalDateTime.now();
+        this.nextAttemptAt = null;
+    }
+
+    /**
+     * Marca la entrega como fallida sin reintentos posibles
+     */
+    public void markAsRejected(String error) {
+        markAsFailed(error);
+        this.rejected = true;
+    }
+
+    /**
+     * Indica si la entrega falló pero puede volver a intentarse
+     */
+    public boolean isRetryable() {
+        return status == DeliveryStatus.FAILED && !rejected;
+    }
+
+    /**
+     * Deja la entrega pendiente para que el dispatcher la reintente a partir de {@code until},
+     * por ejemplo cuando el proveedor pidió esperar antes del próximo envío
+     */
+    public void markAsDeferred(LocalDateTime until, String reason) {
+        this.status = DeliveryStatus.PENDING;
+        this.errorMessage = reason;
+        this.nextAttemptAt = until;
+    }
+
+    /**
+     * Pospone la entrega porque el proveedor respondió 429 y pidió esperar hasta {@code until}
+     */
+    public void markAsRateLimited(LocalDateTime until, String reason) {
+        markAsDeferred(until, reason);
+        this.rateLimited = true;
+    }
+
+    /**
+     * Indica que la llamada al proveedor que incluyó esta entrega ya se cuenta con otra del lote
+     */
+    public void markAsSharedCall() {
+        this.sharedCall = true;
+    }
+
+    /**
+     * Aplica a esta entrega el resultado de un intento de envío devuelto por la plataforma
+     */
+    public void recordOutcome(MessageDelivery outcome) {
+        if (outcome.getStatus() == DeliveryStatus.SUCCESS) {
+            markAsSuccess(outcome.getProviderResponse());
+        } else if (outcome.getStatus() == DeliveryStatus.FAILED) {
+            markAsFailed(outcome.getErrorMessage());
+        } else if (outcome.getNextAttemptAt() != null) {
+            markAsDeferred(outcome.getNextAttemptAt(), outcome.getErrorMessage());
+        }
     }
 
     @Override
@@ -0,0 +1,46 @@
+package com.notificationhub.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contadores de mensajes por usuario, mantenidos de forma incremental al enviar y al
+ * resolver cada entrega. Evitan contar el historial completo para las métricas.
+ */
+@Entity
+@Table(name = "user_message_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserMessageStats {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "total_messages", nullable = false)
+    @Builder.Default
+    private long totalMessages = 0;
+
+    @Column(name = "telegram_deliveries", nullable = false)
+    @Builder.Default
+    private long telegramDeliveries = 0;
+
+    @Column(name = "discord_deliveries", nullable = false)
+    @Builder.Default
+    private long discordDeliveries = 0;
+
+    @Column(name = "successful_deliveries", nullable = false)
+    @Builder.Default
+    private long successfulDeliveries = 0;
+
+    @Column(name = "failed_deliveries", nullable = false)
+    @Builder.Default
+    private long failedDeliveries = 0;
+
+    @Column(name = "last_sent_at")
+    private LocalDateTime lastSentAt;
+}
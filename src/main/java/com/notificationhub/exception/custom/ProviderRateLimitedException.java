@@ -0,0 +1,16 @@
+package com.notificationhub.exception.custom;
+
+import java.time.Duration;
+
+public class ProviderRateLimitedException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public ProviderRateLimitedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,11 @@
+package com.notificationhub.exception.custom;
+
+/**
+ * El proveedor rechazó el envío por un motivo que no cambia al reintentar, por ejemplo un
+ * webhook borrado o un chat inexistente
+ */
+public class ProviderRejectedException extends RuntimeException {
+    public ProviderRejectedException(String message) {
+        super(message);
+    }
+}
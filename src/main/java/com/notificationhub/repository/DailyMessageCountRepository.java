@@ -2,13 +2,12 @@ package com.notificationhub.repository;
 
 import com.notificationhub.entity.DailyMessageCount;
 import com.notificationhub.entity.User;
-import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -16,10 +15,28 @@ import java.util.Optional;
 @Repository
 public interface DailyMessageCountRepository extends JpaRepository<DailyMessageCount, Long> {
     @Modifying
-    @Query("UPDATE DailyMessageCount d SET d.count = d.count + 1 WHERE d.user = :user AND d.date = :date")
-    int incrementCountAtomic(@Param("user") User user, @Param("date") LocalDate date);
+    @Query("UPDATE DailyMessageCount d SET d.count = CASE WHEN d.count > :amount THEN d.count - :amount ELSE 0 END " +
+            "WHERE d.user = :user AND d.date = :date")
+    int decrementCountBy(@Param("user") User user, @Param("date") LocalDate date, @Param("amount") int amount);
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT d FROM DailyMessageCount d WHERE d.user = :user AND d.date = :date")
-    Optional<DailyMessageCount> findByUserAndDate(@Param("user") User user, @Param("date") LocalDate date);
+    /**
+     * Crea o incrementa el contador del día solo si el resultado no supera el límite.
+     * Devuelve el nuevo valor, o vacío si la cuota no alcanza (la fila queda intacta).
+     */
+    @Transactional
+    @Query(value = """
+            INSERT INTO daily_message_counts (user_id, date, count, created_at, updated_at)
+            VALUES (:userId, :date, :amount, now(), now())
+            ON CONFLICT (user_id, date) DO UPDATE
+                SET count = daily_message_counts.count + EXCLUDED.count, updated_at = now()
+                WHERE daily_message_counts.count + EXCLUDED.count <= :limit
+            RETURNING count
+            """, nativeQuery = true)
+    Optional<Integer> reserve(@Param("userId") Long userId,
+                              @Param("date") LocalDate date,
+                              @Param("amount") int amount,
+                              @Param("limit") int limit);
+
+    @Query("SELECT d.count FROM DailyMessageCount d WHERE d.user.id = :userId AND d.date = :date")
+    Optional<Integer> findCount(@Param("userId") Long userId, @Param("date") LocalDate date);
 }
@@ -1,38 +1,48 @@
 package com.notificationhub.repository;
 
-import com.notificationhub.dto.criteria.MessageFilterCriteria;
-import com.notificationhub.entity.Message;
 import com.notificationhub.entity.MessageDelivery;
-import org.springframework.data.domain.Page;
+import com.notificationhub.enums.DeliveryStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface MessageDeliveryRepository extends JpaRepository<MessageDelivery, Long> {
+public interface MessageDeliveryRepository extends JpaRepository<MessageDelivery, Long>, MessageFilterRepository {
+
+    /**
+     * Toma un lote de entregas para despachar, bloqueando las filas y saltando las
+     * que ya tomó otro dispatcher (FOR UPDATE SKIP LOCKED)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
     @Query("""
-            SELECT DISTINCT md.message FROM MessageDelivery md
-            LEFT JOIN FETCH md.message.deliveries
-            WHERE (:#{#criteria.user()} IS NULL OR md.message.user = :#{#criteria.user()})
-            AND (:#{#criteria.from()} IS NULL OR md.message.createdAt >= :#{#criteria.from()})
-            AND (:#{#criteria.to()} IS NULL OR md.message.createdAt <= :#{#criteria.to()})
-            AND (:#{#criteria.platform()} IS NULL OR md.platformType = :#{#criteria.platform()})
-            AND (:#{#criteria.status()} IS NULL OR md.status = :#{#criteria.status()})
-            ORDER BY md.message.createdAt DESC
+            SELECT md FROM MessageDelivery md
+            JOIN FETCH md.message m
+            JOIN FETCH m.user
+            WHERE md.status = :status
+            AND (md.nextAttemptAt IS NULL OR md.nextAttemptAt <= :now)
+            ORDER BY md.createdAt ASC
             """)
-    List<Message> findMessagesByFilters(MessageFilterCriteria criteria);
+    List<MessageDelivery> findForDispatch(@Param("status") DeliveryStatus status,
+                                          @Param("now") LocalDateTime now,
+                                          Pageable pageable);
 
+    /**
+     * Carga las entregas junto con su mensaje, para leer el remitente sin una consulta por entrega
+     */
     @Query("""
-            SELECT DISTINCT m FROM Message m
-            JOIN m.deliveries md
-            WHERE (:#{#criteria.user()} IS NULL OR m.user = :#{#criteria.user()})
-            AND (:#{#criteria.from()} IS NULL OR m.createdAt >= :#{#criteria.from()})
-            AND (:#{#criteria.to()} IS NULL OR m.createdAt <= :#{#criteria.to()})
-            AND (:#{#criteria.platform()} IS NULL OR md.platformType = :#{#criteria.platform()})
-            AND (:#{#criteria.status()} IS NULL OR md.status = :#{#criteria.status()})
-            ORDER BY m.createdAt DESC
+            SELECT md FROM MessageDelivery md
+            JOIN FETCH md.message m
+            WHERE md.id IN :ids
             """)
-    Page<Message> findMessagesByFilters(MessageFilterCriteria criteria, Pageable pageable);
-}
\ No newline at end of file
+    List<MessageDelivery> findWithMessageByIdIn(@Param("ids") Collection<Long> ids);
+}
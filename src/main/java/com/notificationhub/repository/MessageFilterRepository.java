@@ -0,0 +1,32 @@
+package com.notificationhub.repository;
+
+import com.notificationhub.dto.criteria.MessageFilterCriteria;
+import com.notificationhub.entity.Message;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Historial de mensajes filtrado. La consulta se arma solo con los filtros presentes en
+ * el criterio, para que la base pueda usar los índices que correspondan a cada combinación.
+ */
+public interface MessageFilterRepository {
+
+    /**
+     * Mensajes que cumplen el criterio, del más nuevo al más viejo, con sus entregas cargadas
+     *
+     * @param criteria Filtros; los nulos no se aplican
+     * @return Mensajes encontrados
+     */
+    List<Message> findMessagesByFilters(MessageFilterCriteria criteria);
+
+    /**
+     * Igual que {@link #findMessagesByFilters(MessageFilterCriteria)}, limitado a una página.
+     * Devuelve una lista para no ejecutar el COUNT de una {@code Page}
+     *
+     * @param criteria Filtros; {@code criteria.after()} indica dónde continúa la página
+     * @param pageable Cantidad máxima de mensajes a leer
+     * @return Mensajes de la página
+     */
+    List<Message> findMessagesByFilters(MessageFilterCriteria criteria, Pageable pageable);
+}
@@ -0,0 +1,124 @@
+package com.notificationhub.repository;
+
+import com.notificationhub.dto.criteria.MessageCursor;
+import com.notificationhub.dto.criteria.MessageFilterCriteria;
+import com.notificationhub.entity.Message;
+import com.notificationhub.entity.MessageDelivery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Los filtros por entrega se resuelven con {@code EXISTS} en lugar de un JOIN a la
+ * colección, así no hace falta DISTINCT y el orden por {@code (createdAt, id)} se puede
+ * tomar de un índice. Las entregas de los mensajes leídos se cargan luego en una sola consulta.
+ */
+class MessageFilterRepositoryImpl implements MessageFilterRepository {
+
+    private final EntityManager entityManager;
+
+    MessageFilterRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Message> findMessagesByFilters(MessageFilterCriteria criteria) {
+        return withDeliveries(query(criteria).getResultList());
+    }
+
+    @Override
+    public List<Message> findMessagesByFilters(MessageFilterCriteria criteria, Pageable pageable) {
+        TypedQuery<Message> query = query(criteria);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return withDeliveries(query.getResultList());
+    }
+
+    private TypedQuery<Message> query(MessageFilterCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Message> query = cb.createQuery(Message.class);
+        Root<Message> message = query.from(Message.class);
+        message.fetch("user");
+
+        Path<LocalDateTime> createdAt = message.get("createdAt");
+        Path<Long> id = message.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.user() != null) {
+            predicates.add(cb.equal(message.get("user").get("id"), criteria.user().getId()));
+        }
+        if (criteria.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, criteria.from()));
+        }
+        if (criteria.to() != null) {
+            predicates.add(cb.lessThanOrEqualTo(createdAt, criteria.to()));
+        }
+        if (criteria.status() != null || criteria.platform() != null) {
+            predicates.add(cb.exists(matchingDelivery(query, message, criteria)));
+        }
+        if (criteria.after() != null) {
+            MessageCursor after = criteria.after();
+            predicates.add(cb.or(
+                    cb.lessThan(createdAt, after.createdAt()),
+                    cb.and(cb.equal(createdAt, after.createdAt()), cb.lessThan(id, after.id()))));
+        }
+
+        query.select(message)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+
+        return entityManager.createQuery(query);
+    }
+
+    /**
+     * Alguna entrega del mensaje con la plataforma y el estado pedidos
+     */
+    private Subquery<Long> matchingDelivery(CriteriaQuery<Message> query, Root<Message> message,
+                                            MessageFilterCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<MessageDelivery> delivery = subquery.from(MessageDelivery.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(delivery.get("message"), message));
+        if (criteria.platform() != null) {
+            predicates.add(cb.equal(delivery.get("platformType"), criteria.platform()));
+        }
+        if (criteria.status() != null) {
+            predicates.add(cb.equal(delivery.get("status"), criteria.status()));
+        }
+
+        return subquery.select(delivery.get("id")).where(predicates.toArray(Predicate[]::new));
+    }
+
+    /**
+     * Inicializa las entregas de todos los mensajes con una consulta, en lugar de una por mensaje
+     */
+    private List<Message> withDeliveries(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return messages;
+        }
+
+        entityManager.createQuery("""
+                        SELECT m FROM Message m
+                        LEFT JOIN FETCH m.deliveries
+                        WHERE m.id IN :ids
+                        """, Message.class)
+                .setParameter("ids", messages.stream().map(Message::getId).toList())
+                .getResultList();
+
+        return messages;
+    }
+}
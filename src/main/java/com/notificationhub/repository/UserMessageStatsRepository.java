@@ -0,0 +1,38 @@
+package com.notificationhub.repository;
+
+import com.notificationhub.entity.UserMessageStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface UserMessageStatsRepository extends JpaRepository<UserMessageStats, Long> {
+
+    /**
+     * Suma los incrementos a los contadores del usuario, creando la fila si no existe
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_message_stats (user_id, total_messages, telegram_deliveries, discord_deliveries,
+                                            successful_deliveries, failed_deliveries, last_sent_at)
+            VALUES (:userId, :messages, :telegram, :discord, :successful, :failed, :lastSentAt)
+            ON CONFLICT (user_id) DO UPDATE
+                SET total_messages = user_message_stats.total_messages + EXCLUDED.total_messages,
+                    telegram_deliveries = user_message_stats.telegram_deliveries + EXCLUDED.telegram_deliveries,
+                    discord_deliveries = user_message_stats.discord_deliveries + EXCLUDED.discord_deliveries,
+                    successful_deliveries = user_message_stats.successful_deliveries + EXCLUDED.successful_deliveries,
+                    failed_deliveries = user_message_stats.failed_deliveries + EXCLUDED.failed_deliveries,
+                    last_sent_at = GREATEST(user_message_stats.last_sent_at, EXCLUDED.last_sent_at)
+            """, nativeQuery = true)
+    int increment(@Param("userId") Long userId,
+                  @Param("messages") long messages,
+                  @Param("telegram") long telegram,
+                  @Param("discord") long discord,
+                  @Param("successful") long successful,
+                  @Param("failed") long failed,
+                  @Param("lastSentAt") LocalDateTime lastSentAt);
+}
@@ -1,9 +1,16 @@
 package com.notificationhub.repository;
 
+import com.notificationhub.dto.response.MetricsResponse;
 import com.notificationhub.entity.User;
+import com.notificationhub.security.model.UserAccess;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +19,27 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
 
     boolean existsByUsername(String username);
+
+    @Query("SELECT new com.notificationhub.security.model.UserAccess(u.role, u.dailyMessageLimit) FROM User u WHERE u.id = :id")
+    Optional<UserAccess> findAccessById(@Param("id") Long id);
+
+    /**
+     * Métricas de una página de usuarios en una sola consulta, sin bloquear filas. El total
+     * de mensajes sale de los contadores de {@code user_message_stats}, no del historial
+     */
+    @Query(value = """
+            SELECT new com.notificationhub.dto.response.MetricsResponse(
+                u.username,
+                COALESCE(s.totalMessages, 0L),
+                COALESCE(d.count, 0),
+                CASE WHEN u.dailyMessageLimit > COALESCE(d.count, 0)
+                     THEN u.dailyMessageLimit - COALESCE(d.count, 0)
+                     ELSE 0 END,
+                u.dailyMessageLimit)
+            FROM User u
+            LEFT JOIN UserMessageStats s ON s.userId = u.id
+            LEFT JOIN DailyMessageCount d ON d.user = u AND d.date = :date
+            """,
+            countQuery = "SELECT COUNT(u) FROM User u")
+    Page<MetricsResponse> findUserMetrics(@Param("date") LocalDate date, Pageable pageable);
 }
@@ -1,7 +1,10 @@
 package com.notificationhub.security.filter;
 
+import com.notificationhub.security.model.AuthenticatedUser;
 import com.notificationhub.security.service.CustomUserDetailsService;
+import com.notificationhub.security.service.UserAccessCache;
 import com.notificationhub.utils.JwtUtils;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,17 +19,20 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final CustomUserDetailsService userDetailsService;
+    private final UserAccessCache userAccessCache;
     private final static String AUTH_ERROR_ATTR = "auth.error";
 
-    public JwtAuthFilter(JwtUtils jwtUtils, CustomUserDetailsService userDetailsService) {
+    public JwtAuthFilter(JwtUtils jwtUtils, CustomUserDetailsService userDetailsService, UserAccessCache userAccessCache) {
         this.jwtUtils = jwtUtils;
         this.userDetailsService = userDetailsService;
+        this.userAccessCache = userAccessCache;
     }
 
     @Override
@@ -37,12 +43,21 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             String jwt = parseJwt(request);
 
             if (jwt != null) {
-                if (!jwtUtils.validateToken(jwt)) {
+                // Firma y expiración se verifican una sola vez por request
+                Optional<Claims> claims = jwtUtils.parseVerifiedClaims(jwt);
+
+                if (claims.isEmpty()) {
                     // Entry Point: Token inválido - 401
                     request.setAttribute(AUTH_ERROR_ATTR, "INVALID_TOKEN");
                 } else {
-                    String username = jwtUtils.extractUsername(jwt);
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    // El principal sale de los claims mientras el rol y el límite sigan vigentes;
+                    // si no, o si el token no trae los datos del usuario, se carga de la base
+                    Claims verified = claims.get();
+                    Optional<AuthenticatedUser> principal = jwtUtils.extractAuthenticatedUser(verified)
+                            .filter(userAccessCache::isCurrent);
+                    UserDetails userDetails = principal.isPresent()
+                            ? principal.get()
+                            : userDetailsService.loadUserByUsername(verified.getSubject());
 
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(
@@ -0,0 +1,45 @@
+package com.notificationhub.security.model;
+
+import com.notificationhub.entity.User;
+import com.notificationhub.enums.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal armado a partir de los claims de un JWT ya verificado, sin consultar la base.
+ * Lleva los datos del usuario que necesitan los servicios para identificarlo y limitarlo.
+ */
+public record AuthenticatedUser(Long id, String username, Role role, int dailyMessageLimit) implements UserDetails {
+
+    /**
+     * Vista del usuario como entidad desasociada, suficiente para referenciarlo al persistir
+     * y para las consultas por usuario
+     */
+    public User toUser() {
+        return User.builder()
+                .id(id)
+                .username(username)
+                .role(role)
+                .dailyMessageLimit(dailyMessageLimit)
+                .build();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+}
@@ -0,0 +1,13 @@
+package com.notificationhub.security.model;
+
+import com.notificationhub.enums.Role;
+
+/**
+ * Rol y límite diario vigentes de un usuario, para comparar con los que trae su token
+ */
+public record UserAccess(Role role, Integer dailyMessageLimit) {
+
+    public boolean matches(AuthenticatedUser user) {
+        return role == user.role() && dailyMessageLimit != null && dailyMessageLimit == user.dailyMessageLimit();
+    }
+}
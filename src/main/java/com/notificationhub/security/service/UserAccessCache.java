@@ -0,0 +1,40 @@
+package com.notificationhub.security.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.notificationhub.repository.UserRepository;
+import com.notificationhub.security.model.AuthenticatedUser;
+import com.notificationhub.security.model.UserAccess;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Verifica que el rol y el límite diario copiados en un token sigan vigentes. Cada usuario
+ * se consulta a lo sumo una vez por {@code security.user-access.ttl-seconds}, así que un
+ * cambio de rol o de límite se aplica en ese plazo y no recién cuando vence el token.
+ */
+@Component
+public class UserAccessCache {
+
+    private final LoadingCache<Long, Optional<UserAccess>> access;
+
+    public UserAccessCache(UserRepository userRepository,
+                           @Value("${security.user-access.ttl-seconds:30}") long ttlSeconds) {
+        this.access = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(10_000)
+                .build(userRepository::findAccessById);
+    }
+
+    /**
+     * @return true si el usuario existe y sus datos coinciden con los del token
+     */
+    public boolean isCurrent(AuthenticatedUser user) {
+        return access.get(user.id())
+                .filter(current -> current.matches(user))
+                .isPresent();
+    }
+}
@@ -0,0 +1,190 @@
+package com.notificationhub.service;
+
+import com.notificationhub.entity.Message;
+import com.notificationhub.entity.MessageDelivery;
+import com.notificationhub.enums.DeliveryStatus;
+import com.notificationhub.repository.MessageDeliveryRepository;
+import com.notificationhub.service.platform.PlatformService;
+import com.notificationhub.service.platform.PlatformServiceFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drena la cola de entregas pendientes (outbox) generada por los envíos asíncronos.
+ * <p>
+ * Cada ciclo tiene tres fases: reclamar un lote (transacción corta que fija un lease
+ * en {@code nextAttemptAt}), enviar sin transacción abierta y persistir los resultados.
+ * Si el proceso muere a mitad de camino, el lease vence y otro ciclo retoma el lote.
+ * Las entregas cuya plataforma agotó su ráfaga no se envían: se posponen
+ * {@code delivery.outbox.throttle-delay-ms} en lugar de provocar un 429 del proveedor.
+ * Los envíos fallidos vuelven a la cola según {@link DeliveryRetryPolicy}, salvo los que el
+ * proveedor rechazó de forma definitiva, que quedan FAILED; como cada ciclo
+ * toma a lo sumo {@code batch-size} entregas, los reintentos vencidos salen por lotes.
+ * Los envíos del lote son no bloqueantes y se solapan hasta {@code delivery.outbox.concurrency}.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "delivery.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class DeliveryDispatcher {
+
+    private final MessageDeliveryRepository messageDeliveryRepository;
+    private final PlatformServiceFactory platformServiceFactory;
+    private final RateLimitService rateLimitService;
+    private final DeliveryRetryPolicy retryPolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final UserMessageStatsService userMessageStatsService;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration throttleDelay;
+    private final int concurrency;
+
+    public DeliveryDispatcher(
+            MessageDeliveryRepository messageDeliveryRepository,
+            PlatformServiceFactory platformServiceFactory,
+            RateLimitService rateLimitService,
+            DeliveryRetryPolicy retryPolicy,
+            TransactionTemplate transactionTemplate,
+            UserMessageStatsService userMessageStatsService,
+            @Value("${delivery.outbox.batch-size:50}") int batchSize,
+            @Value("${delivery.outbox.lease-seconds:300}") long leaseSeconds,
+            @Value("${delivery.outbox.throttle-delay-ms:1000}") long throttleDelayMs,
+            @Value("${delivery.outbox.concurrency:16}") int concurrency) {
+        this.messageDeliveryRepository = messageDeliveryRepository;
+        this.platformServiceFactory = platformServiceFactory;
+        this.rateLimitService = rateLimitService;
+        this.retryPolicy = retryPolicy;
+        this.transactionTemplate = transactionTemplate;
+        this.userMessageStatsService = userMessageStatsService;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.throttleDelay = Duration.ofMillis(throttleDelayMs);
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.outbox.poll-interval-ms:1000}")
+    public void dispatchPending() {
+        List<MessageDelivery> batch = transactionTemplate.execute(status -> claimBatch());
+
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+
+        log.info("Dispatching {} pending deliveries", batch.size());
+
+        List<MessageDelivery> permitted = new ArrayList<>();
+        List<Long> throttled = new ArrayList<>();
+        for (MessageDelivery delivery : batch) {
+            if (rateLimitService.tryAcquirePlatformPermit(delivery.getPlatformType(), delivery.getDestination())) {
+                permitted.add(delivery);
+            } else {
+                throttled.add(delivery.getId());
+            }
+        }
+
+        Map<Long, DispatchOutcome> outcomes = Flux.fromIterable(permitted)
+                .flatMap(delivery -> dispatch(delivery).map(outcome -> Map.entry(delivery.getId(), outcome)), concurrency)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, HashMap::new)
+                .block();
+
+        if (!throttled.isEmpty()) {
+            log.info("Postponing {} deliveries: platform burst limit reached", throttled.size());
+        }
+
+        LocalDateTime retryAt = LocalDateTime.now().plus(throttleDelay);
+        Map<Long, DispatchOutcome> dispatched = outcomes != null ? outcomes : Map.of();
+        transactionTemplate.executeWithoutResult(status -> persistOutcomes(dispatched, throttled, retryAt));
+    }
+
+    private List<MessageDelivery> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<MessageDelivery> batch = messageDeliveryRepository
+                .findForDispatch(DeliveryStatus.PENDING, now, PageRequest.of(0, batchSize));
+
+        LocalDateTime leaseUntil = now.plus(lease);
+        batch.forEach(delivery -> delivery.setNextAttemptAt(leaseUntil));
+        return batch;
+    }
+
+    private Mono<DispatchOutcome> dispatch(MessageDelivery delivery) {
+        Message message = delivery.getMessage();
+
+        PlatformService platformService;
+        try {
+            platformService = platformServiceFactory.getService(delivery.getPlatformType());
+        } catch (RuntimeException e) {
+            log.error("Cannot dispatch delivery {} to {}: {}",
+                    delivery.getId(), delivery.getPlatformType(), e.getMessage());
+            return Mono.just(new DispatchOutcome(failedOutcome(delivery, e), false));
+        }
+
+        return Mono.defer(() -> platformService.sendAsync(
+                        message.getContent(),
+                        delivery.getDestination(),
+                        message.getUser().getUsername()
+                ))
+                .map(outcome -> {
+                    log.info("Delivery {} to {} dispatched. Status: {}",
+                            delivery.getId(), delivery.getPlatformType(), outcome.getStatus());
+                    return new DispatchOutcome(outcome, true);
+                })
+                .onErrorResume(e -> {
+                    log.error("Failed to dispatch delivery {} to {}: {}",
+                            delivery.getId(), delivery.getPlatformType(), e.getMessage());
+                    return Mono.just(new DispatchOutcome(failedOutcome(delivery, e), true));
+                });
+    }
+
+    private MessageDelivery failedOutcome(MessageDelivery delivery, Throwable e) {
+        return MessageDelivery.builder()
+                .platformType(delivery.getPlatformType())
+                .destination(delivery.getDestination())
+                .status(DeliveryStatus.FAILED)
+                .errorMessage("Exception: " + e.getMessage())
+                .build();
+    }
+
+    private void persistOutcomes(Map<Long, DispatchOutcome> outcomes, List<Long> throttled, LocalDateTime retryAt) {
+        List<Long> ids = new ArrayList<>(outcomes.keySet());
+        ids.addAll(throttled);
+
+        List<MessageDelivery> finished = new ArrayList<>();
+        messageDeliveryRepository.findWithMessageByIdIn(ids).forEach(delivery -> {
+            DispatchOutcome outcome = outcomes.get(delivery.getId());
+            if (outcome == null) {
+                delivery.setNextAttemptAt(retryAt);
+                return;
+            }
+            if (outcome.retryable() && outcome.result().isRetryable()) {
+                retryPolicy.recordFailure(delivery, outcome.result().getErrorMessage());
+            } else {
+                delivery.recordOutcome(outcome.result());
+            }
+            if (delivery.getStatus() != DeliveryStatus.PENDING) {
+                finished.add(delivery);
+            }
+        });
+
+        userMessageStatsService.recordOutcomes(finished);
+    }
+
+    /**
+     * Resultado de un envío. Los fallos de configuración de la plataforma no son
+     * {@code retryable}: reintentarlos solo consumiría intentos.
+     */
+    private record DispatchOutcome(MessageDelivery result, boolean retryable) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.notificationhub.service;
+
+import com.notificationhub.entity.MessageDelivery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decide qué pasa con una entrega que falló: si le quedan intentos vuelve a PENDING con
+ * un {@code nextAttemptAt} calculado con backoff exponencial y jitter, y si no queda FAILED.
+ * <p>
+ * El jitter reparte los reintentos de una misma caída del proveedor en la mitad superior
+ * de la ventana, para que no vuelvan todos juntos cuando el proveedor se recupera.
+ */
+@Component
+@Slf4j
+public class DeliveryRetryPolicy {
+
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+
+    public DeliveryRetryPolicy(
+            @Value("${delivery.retry.max-attempts:5}") int maxAttempts,
+            @Value("${delivery.retry.base-delay-ms:2000}") long baseDelayMs,
+            @Value("${delivery.retry.max-delay-ms:300000}") long maxDelayMs) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelay = Duration.ofMillis(baseDelayMs);
+        this.maxDelay = Duration.ofMillis(maxDelayMs);
+    }
+
+    /**
+     * Registra un intento fallido sobre la entrega y la reprograma o la da por fallida
+     *
+     * @param delivery Entrega a actualizar
+     * @param error    Error informado por la plataforma
+     */
+    public void recordFailure(MessageDelivery delivery, String error) {
+        int attempts = delivery.getAttempts() + 1;
+        delivery.setAttempts(attempts);
+
+        if (attempts >= maxAttempts) {
+            log.warn("Delivery {} to {} failed after {} attempts", delivery.getId(), delivery.getPlatformType(), attempts);
+            delivery.markAsFailed(error);
+            return;
+        }
+
+        LocalDateTime retryAt = LocalDateTime.now().plus(backoff(attempts));
+        log.info("Delivery {} to {} failed (attempt {}/{}). Retrying at {}",
+                delivery.getId(), delivery.getPlatformType(), attempts, maxAttempts, retryAt);
+        delivery.markAsDeferred(retryAt, error);
+    }
+
+    /**
+     * Espera antes del próximo intento: {@code base * 2^(attempts - 1)}, acotada por
+     * {@code max-delay}, con jitter sobre la mitad superior
+     */
+    Duration backoff(int attempts) {
+        long exponential = baseDelay.toMillis() << Math.min(attempts - 1, 30);
+        long capped = exponential <= 0 ? maxDelay.toMillis() : Math.min(exponential, maxDelay.toMillis());
+        long half = capped / 2;
+
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(capped - half + 1));
+    }
+}
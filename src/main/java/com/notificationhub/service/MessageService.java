@@ -1,6 +1,9 @@
 package com.notificationhub.service;
 
+import com.notificationhub.dto.criteria.MessageCursor;
 import com.notificationhub.dto.request.MessageRequest;
+import com.notificationhub.dto.response.BatchMessageResponse;
+import com.notificationhub.dto.response.CursorPage;
 import com.notificationhub.dto.response.MetricsResponse;
 import com.notificationhub.entity.Message;
 import com.notificationhub.enums.DeliveryStatus;
@@ -24,34 +27,59 @@ public interface MessageService {
     Message sendMessage(MessageRequest request);
 
     /**
-     * Obtiene todos los mensajes con paginación (ADMIN)
+     * Encola un mensaje para envío asíncrono. Persiste el mensaje con sus entregas
+     * en estado PENDING y retorna sin esperar a las plataformas; el envío lo realiza
+     * el dispatcher en segundo plano.
      *
-     * @param pageable Parámetros de paginación
-     * @return Página de mensajes
+     * @param request Detalles del mensaje y destinos
+     * @return Mensaje persistido con entregas pendientes
+     * Puede lanzar RateLimitExceededException. Cuenta como 1 mensaje al encolarse.
+     */
+    Message queueMessage(MessageRequest request);
+
+    /**
+     * Encola un lote de mensajes con una sola reserva de cuota y una sola transacción.
+     * Los mensajes con destinos no disponibles se rechazan individualmente.
+     *
+     * @param requests Mensajes a encolar
+     * @return Resultado por mensaje, en el orden recibido
+     * Puede lanzar RateLimitExceededException si la cuota no alcanza para el lote completo
      */
-    Page<Message> getAllMessages(Pageable pageable);
+    BatchMessageResponse queueBatch(List<MessageRequest> requests);
 
     /**
-     * Obtiene mensajes del usuario con filtros y paginación
+     * Obtiene todos los mensajes paginados por cursor, del más nuevo al más viejo (ADMIN)
+     *
+     * @param cursor Posición del último mensaje de la página anterior (null para la primera)
+     * @param size   Tamaño de página
+     * @return Página de mensajes con el cursor de la siguiente
+     */
+    CursorPage<Message> getAllMessages(MessageCursor cursor, int size);
+
+    /**
+     * Obtiene mensajes del usuario con filtros, paginados por cursor
      *
      * @param status   Filtro por estado de entrega (opcional)
      * @param platform Filtro por tipo de plataforma (opcional)
      * @param from     Filtro de fecha desde (opcional)
      * @param to       Filtro de fecha hasta (opcional)
-     * @param pageable Parámetros de paginación
-     * @return Página de mensajes que cumplen con los filtros
+     * @param cursor   Posición del último mensaje de la página anterior (null para la primera)
+     * @param size     Tamaño de página
+     * @return Página de mensajes que cumplen con los filtros, con el cursor de la siguiente
      */
-    Page<Message> getUserMessagesWithFilters(
+    CursorPage<Message> getUserMessagesWithFilters(
             DeliveryStatus status,
             PlatformType platform,
             LocalDateTime from,
             LocalDateTime to,
-            Pageable pageable);
+            MessageCursor cursor,
+            int size);
 
     /**
-     * Obtiene métricas de los usuarios (ADMIN)
+     * Obtiene métricas de los usuarios con paginación (ADMIN)
      *
-     * @return Lista de métricas por usuario
+     * @param pageable Parámetros de paginación
+     * @return Página de métricas por usuario
      */
-    List<MetricsResponse> getAllUserMetrics();
+    Page<MetricsResponse> getAllUserMetrics(Pageable pageable);
 }
@@ -1,23 +1,62 @@
 package com.notificationhub.service;
 
+import com.notificationhub.dto.request.DestinationRequest;
 import com.notificationhub.entity.User;
+import com.notificationhub.enums.PlatformType;
 import com.notificationhub.exception.custom.RateLimitExceededException;
 
+import java.time.LocalDate;
+import java.util.List;
+
 public interface RateLimitService {
     /**
-     * Verifica si el usuario puede enviar un mensaje según su límite diario
+     * Verifica y consume cuota en una sola operación atómica, sin ventana entre
+     * la verificación y el incremento
+     *
+     * @param user     Usuario que envía
+     * @param messages Cantidad de mensajes a reservar
+     * @return Día al que se imputó la reserva, para liberarla sobre ese mismo día
+     * @throws RateLimitExceededException si la cuota restante no alcanza para todos
+     */
+    LocalDate reserve(User user, int messages);
+
+    /**
+     * Devuelve cuota reservada que finalmente no se usó (por ejemplo, si fallaron todas las entregas)
+     *
+     * @param user     Usuario al que se le devuelve la cuota
+     * @param date     Día devuelto por {@link #reserve}, aunque la liberación ocurra después de medianoche
+     * @param messages Cantidad de mensajes a liberar
+     */
+    void release(User user, LocalDate date, int messages);
+
+    /**
+     * Consume en memoria un permiso de ráfaga del usuario y uno por destino de la
+     * plataforma correspondiente, para suavizar los picos antes de que lleguen a los
+     * proveedores. Si alguno no alcanza, no se consume nada.
+     *
+     * @param user         Usuario que envía
+     * @param destinations Destinos ya resueltos; vacía para verificar solo al usuario
+     * @throws RateLimitExceededException si el usuario o alguna plataforma superó su ráfaga
+     */
+    void acquireBurstPermits(User user, List<DestinationRequest> destinations);
+
+    /**
+     * Devuelve los permisos de ráfaga de un envío que se rechazó después de tomarlos
+     * (por ejemplo, por falta de cuota diaria)
      *
-     * @param user Usuario a verificar
-     * @throws RateLimitExceededException si el usuario alcanzó su límite
+     * @param user         Usuario que envía
+     * @param destinations Los mismos destinos pasados a {@link #acquireBurstPermits}
      */
-    void checkRateLimit(User user);
+    void releaseBurstPermits(User user, List<DestinationRequest> destinations);
 
     /**
-     * Incrementa el contador de mensajes del usuario para hoy
+     * Intenta tomar un permiso de ráfaga para el destino sin lanzar excepción
      *
-     * @param user Usuario que envió el mensaje
+     * @param platform    Plataforma destino
+     * @param destination Destino resuelto (chat, webhook)
+     * @return false si el envío debe postergarse
      */
-    void incrementCounter(User user);
+    boolean tryAcquirePlatformPermit(PlatformType platform, String destination);
 
     /**
      * Obtiene cuántos mensajes puede enviar el usuario hoy (Metrics Admin)
@@ -0,0 +1,83 @@
+package com.notificationhub.service;
+
+import com.notificationhub.entity.Message;
+import com.notificationhub.entity.MessageDelivery;
+import com.notificationhub.entity.User;
+import com.notificationhub.enums.DeliveryStatus;
+import com.notificationhub.enums.PlatformType;
+import com.notificationhub.repository.UserMessageStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Mantiene los contadores de {@code user_message_stats} dentro de la transacción que
+ * persiste los mensajes o el resultado de sus entregas, con un solo upsert por usuario.
+ * Así las métricas no dependen del tamaño del historial. Los contadores del historial
+ * previo a la tabla los crea la migración {@code V4__user_message_stats}.
+ */
+@Component
+@Slf4j
+public class UserMessageStatsService {
+
+    private final UserMessageStatsRepository userMessageStatsRepository;
+
+    public UserMessageStatsService(UserMessageStatsRepository userMessageStatsRepository) {
+        this.userMessageStatsRepository = userMessageStatsRepository;
+    }
+
+    /**
+     * Registra mensajes nuevos del usuario: sus entregas por plataforma y las que ya
+     * terminaron al guardarse
+     *
+     * @param user     Remitente
+     * @param messages Mensajes persistidos en la transacción actual
+     */
+    public void recordMessages(User user, Collection<Message> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        List<MessageDelivery> deliveries = messages.stream()
+                .flatMap(message -> message.getDeliveries().stream())
+                .toList();
+
+        userMessageStatsRepository.increment(
+                user.getId(),
+                messages.size(),
+                count(deliveries, delivery -> delivery.getPlatformType() == PlatformType.TELEGRAM),
+                count(deliveries, delivery -> delivery.getPlatformType() == PlatformType.DISCORD),
+                count(deliveries, delivery -> delivery.getStatus() == DeliveryStatus.SUCCESS),
+                count(deliveries, delivery -> delivery.getStatus() == DeliveryStatus.FAILED),
+                LocalDateTime.now());
+    }
+
+    /**
+     * Registra entregas pendientes que terminaron, agrupadas por remitente
+     *
+     * @param deliveries Entregas que pasaron a SUCCESS o FAILED en la transacción actual
+     */
+    public void recordOutcomes(Collection<MessageDelivery> deliveries) {
+        Map<Long, List<MessageDelivery>> byUser = deliveries.stream()
+                .collect(Collectors.groupingBy(delivery -> delivery.getMessage().getUser().getId()));
+
+        byUser.forEach((userId, finished) -> userMessageStatsRepository.increment(
+                userId,
+                0,
+                0,
+                0,
+                count(finished, delivery -> delivery.getStatus() == DeliveryStatus.SUCCESS),
+                count(finished, delivery -> delivery.getStatus() == DeliveryStatus.FAILED),
+                null));
+    }
+
+    private static long count(List<MessageDelivery> deliveries, Predicate<MessageDelivery> filter) {
+        return deliveries.stream().filter(filter).count();
+    }
+}
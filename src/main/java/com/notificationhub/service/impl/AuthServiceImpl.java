@@ -87,7 +87,7 @@ public class AuthServiceImpl implements IAuthService {
             User user = userRepository.findByUsername(request.getUsername())
                     .orElseThrow(() -> new InvalidCredentialsException("Invalid credentials"));
 
-            String token = jwtUtils.generateToken(userDetails);
+            String token = jwtUtils.generateToken(userDetails, user);
 
             log.info("Login successful for user: {}", user.getUsername());
 
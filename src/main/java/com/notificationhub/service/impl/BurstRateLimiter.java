@@ -0,0 +1,244 @@
+package com.notificationhub.service.impl;
+
+import com.notificationhub.dto.request.DestinationRequest;
+import com.notificationhub.entity.User;
+import com.notificationhub.enums.PlatformType;
+import com.notificationhub.exception.custom.RateLimitExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de ráfagas en memoria basado en token buckets.
+ * <p>
+ * Hay un bucket por usuario y buckets por plataforma: el del usuario evita que una sola
+ * cuenta dispare cientos de envíos por segundo y los de plataforma suavizan el tráfico
+ * hacia cada proveedor antes de que éste responda con 429. Cada plataforma se limita en
+ * el mismo alcance que su proveedor: Telegram con un bucket global para el bot y Discord
+ * con uno por webhook. Es independiente del límite diario, que sigue a cargo del motor
+ * de {@code RateLimitService} configurado.
+ */
+@Component
+@Slf4j
+public class BurstRateLimiter {
+
+    private final boolean enabled;
+    private final Limit userLimit;
+    private final Map<PlatformType, Limit> platformLimits;
+    private final Set<PlatformType> perDestination;
+    private final LongSupplier clock;
+    private final Map<Long, TokenBucket> userBuckets = new ConcurrentHashMap<>();
+    private final Map<BucketKey, TokenBucket> platformBuckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BurstRateLimiter(
+            @Value("${rate-limit.burst.enabled:true}") boolean enabled,
+            @Value("${rate-limit.burst.user.capacity:20}") long userCapacity,
+            @Value("${rate-limit.burst.user.refill-per-second:5}") double userRefillPerSecond,
+            @Value("${rate-limit.burst.telegram.capacity:30}") long telegramCapacity,
+            @Value("${rate-limit.burst.telegram.refill-per-second:30}") double telegramRefillPerSecond,
+            @Value("${rate-limit.burst.discord.capacity:5}") long discordCapacity,
+            @Value("${rate-limit.burst.discord.refill-per-second:2.5}") double discordRefillPerSecond) {
+        this(enabled,
+                new Limit(userCapacity, userRefillPerSecond),
+                Map.of(PlatformType.TELEGRAM, new Limit(telegramCapacity, telegramRefillPerSecond),
+                        PlatformType.DISCORD, new Limit(discordCapacity, discordRefillPerSecond)),
+                Set.of(PlatformType.DISCORD),
+                System::nanoTime);
+    }
+
+    /**
+     * @param perDestination Plataformas cuyo límite aplica a cada destino por separado
+     *                       en lugar de a todo el tráfico de la plataforma
+     */
+    BurstRateLimiter(boolean enabled, Limit userLimit, Map<PlatformType, Limit> platformLimits,
+                     Set<PlatformType> perDestination, LongSupplier clock) {
+        this.enabled = enabled;
+        this.userLimit = userLimit;
+        this.platformLimits = Map.copyOf(platformLimits);
+        this.perDestination = Set.copyOf(perDestination);
+        this.clock = clock;
+    }
+
+    /**
+     * Toma una ficha del usuario y una por destino del bucket de plataforma que le
+     * corresponde. Si alguna no alcanza, devuelve lo ya tomado y rechaza el envío completo.
+     *
+     * @param destinations Destinos ya resueltos (sin valores por defecto pendientes)
+     * @throws RateLimitExceededException si el usuario o alguna plataforma agotó su ráfaga
+     */
+    public void acquire(User user, List<DestinationRequest> destinations) {
+        if (!enabled) {
+            return;
+        }
+
+        TokenBucket userBucket = userBuckets.computeIfAbsent(user.getId(),
+                id -> new TokenBucket(userLimit, clock.getAsLong()));
+        if (!userBucket.tryConsume(1, clock.getAsLong())) {
+            log.warn("User {} exceeded the burst limit", user.getUsername());
+            throw new RateLimitExceededException("Burst limit exceeded for user: " + user.getUsername());
+        }
+
+        // Se guardan los buckets y no sus claves: la evicción puede quitarlos del mapa entre tanto
+        Map<TokenBucket, Integer> acquired = new HashMap<>();
+        for (Map.Entry<BucketKey, Integer> entry : permitsByBucket(destinations).entrySet()) {
+            BucketKey key = entry.getKey();
+            TokenBucket bucket = platformBucket(key);
+            if (bucket == null) {
+                continue;
+            }
+            if (!bucket.tryConsume(entry.getValue(), clock.getAsLong())) {
+                acquired.forEach(TokenBucket::refund);
+                userBucket.refund(1);
+
+                log.warn("Platform {} burst limit reached while user {} was sending", key.platform(), user.getUsername());
+                throw new RateLimitExceededException("Burst limit exceeded for platform: " + key.platform());
+            }
+            acquired.merge(bucket, entry.getValue(), Integer::sum);
+        }
+    }
+
+    /**
+     * Devuelve las fichas tomadas por {@link #acquire} para un envío que luego se rechazó.
+     * Un bucket que ya no está se había rellenado por completo, así que no hay nada que devolver.
+     */
+    public void release(User user, List<DestinationRequest> destinations) {
+        if (!enabled) {
+            return;
+        }
+
+        TokenBucket userBucket = userBuckets.get(user.getId());
+        if (userBucket != null) {
+            userBucket.refund(1);
+        }
+        permitsByBucket(destinations).forEach((key, permits) -> {
+            TokenBucket bucket = platformBuckets.get(key);
+            if (bucket != null) {
+                bucket.refund(permits);
+            }
+        });
+    }
+
+    /**
+     * Toma {@code permits} fichas del bucket que corresponde al destino en la plataforma
+     *
+     * @param destination Destino ya resuelto; solo se usa en plataformas limitadas por destino
+     * @return false si la plataforma o el destino no admiten más envíos por ahora
+     */
+    public boolean tryAcquirePlatform(PlatformType platform, String destination, int permits) {
+        if (!enabled) {
+            return true;
+        }
+        TokenBucket bucket = platformBucket(bucketKey(platform, destination));
+        return bucket == null || bucket.tryConsume(permits, clock.getAsLong());
+    }
+
+    /**
+     * @return null si la plataforma no tiene límite configurado
+     */
+    private TokenBucket platformBucket(BucketKey key) {
+        Limit limit = platformLimits.get(key.platform());
+        if (limit == null) {
+            return null;
+        }
+        return platformBuckets.computeIfAbsent(key, k -> new TokenBucket(limit, clock.getAsLong()));
+    }
+
+    private Map<BucketKey, Integer> permitsByBucket(List<DestinationRequest> destinations) {
+        Map<BucketKey, Integer> requested = new HashMap<>();
+        destinations.forEach(destination ->
+                requested.merge(bucketKey(destination.getPlatform(), destination.getDestination()), 1, Integer::sum));
+        return requested;
+    }
+
+    private BucketKey bucketKey(PlatformType platform, String destination) {
+        return new BucketKey(platform, perDestination.contains(platform) ? destination : null);
+    }
+
+    /**
+     * Descarta los buckets de usuarios y destinos que ya se rellenaron por completo: uno
+     * lleno es equivalente a uno nuevo, así que quitarlo no cambia el comportamiento.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.burst.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = clock.getAsLong();
+        int before = userBuckets.size() + platformBuckets.size();
+        userBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        platformBuckets.values().removeIf(bucket -> bucket.isFull(now));
+
+        int evicted = before - userBuckets.size() - platformBuckets.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle burst buckets", evicted);
+        }
+    }
+
+    int trackedUsers() {
+        return userBuckets.size();
+    }
+
+    int trackedPlatformBuckets() {
+        return platformBuckets.size();
+    }
+
+    /**
+     * Bucket de una plataforma; {@code destination} es null si el límite es de toda la plataforma
+     */
+    private record BucketKey(PlatformType platform, String destination) {
+    }
+
+    /**
+     * Tamaño máximo de la ráfaga y ritmo sostenido de reposición
+     */
+    record Limit(long capacity, double refillPerSecond) {
+    }
+
+    static final class TokenBucket {
+        private final double capacity;
+        private final double refillPerSecond;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(Limit limit, long now) {
+            this.capacity = limit.capacity();
+            this.refillPerSecond = limit.refillPerSecond();
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+
+        synchronized boolean tryConsume(int permits, long now) {
+            refill(now);
+            if (tokens < permits) {
+                return false;
+            }
+            tokens -= permits;
+            return true;
+        }
+
+        synchronized void refund(int permits) {
+            tokens = Math.min(capacity, tokens + permits);
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            long elapsed = now - lastRefill;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed * refillPerSecond / TimeUnit.SECONDS.toNanos(1));
+                lastRefill = now;
+            }
+        }
+    }
+}
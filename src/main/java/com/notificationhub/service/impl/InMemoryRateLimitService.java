@@ -0,0 +1,244 @@
+package com.notificationhub.service.impl;
+
+import com.notificationhub.dto.request.DestinationRequest;
+import com.notificationhub.entity.User;
+import com.notificationhub.enums.PlatformType;
+import com.notificationhub.exception.custom.RateLimitExceededException;
+import com.notificationhub.repository.DailyMessageCountRepository;
+import com.notificationhub.service.RateLimitService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Motor de rate limit que mantiene los contadores diarios en memoria.
+ * <p>
+ * Cada par usuario/día es un contador atómico que se inicializa una sola vez desde
+ * {@code daily_message_counts}; la reserva de cuota es un único CAS, sin locks de base
+ * de datos. Los incrementos se acumulan como delta y se vuelcan periódicamente
+ * con un único upsert por lotes, sumando sobre el valor persistido.
+ * <p>
+ * Se activa con {@code rate-limit.engine=memory} y solo sirve con una única instancia: cada
+ * instancia aplica el límite sobre su propio contador. Después de cada volcado los contadores
+ * del día se releen de la base, así que con varias instancias un usuario puede pasarse a lo
+ * sumo lo que las demás reservaron durante un intervalo de volcado. Para despliegues con
+ * varias instancias el motor soportado es {@code database}. Los incrementos aún no volcados
+ * se pierden si el proceso muere sin apagado ordenado.
+ * <p>
+ * El contador no participa de la transacción de base de datos: una reserva hecha dentro de
+ * una transacción se libera si esa transacción termina en rollback.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "rate-limit.engine", havingValue = "memory")
+public class InMemoryRateLimitService implements RateLimitService {
+
+    static final String COUNTS_SQL = "SELECT user_id, count FROM daily_message_counts WHERE date = ? AND user_id IN (%s)";
+
+    private static final int RESYNC_CHUNK_SIZE = 500;
+
+    static final String UPSERT_SQL = """
+            INSERT INTO daily_message_counts (user_id, date, count, created_at, updated_at)
+            VALUES (?, ?, GREATEST(?, 0), now(), now())
+            ON CONFLICT (user_id, date)
+            DO UPDATE SET count = GREATEST(daily_message_counts.count + ?, 0), updated_at = now()
+            """;
+
+    private final DailyMessageCountRepository dailyMessageCountRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final BurstRateLimiter burstRateLimiter;
+    private final Map<CounterKey, DailyCounter> counters = new ConcurrentHashMap<>();
+
+    public InMemoryRateLimitService(DailyMessageCountRepository dailyMessageCountRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    BurstRateLimiter burstRateLimiter) {
+        this.dailyMessageCountRepository = dailyMessageCountRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.burstRateLimiter = burstRateLimiter;
+    }
+
+    public LocalDate reserve(User user, int messages) {
+        LocalDate today = LocalDate.now();
+        DailyCounter counter = counterFor(user, today);
+        int limit = user.getDailyMessageLimit();
+
+        int current;
+        do {
+            current = counter.count.get();
+            if (current + messages > limit) {
+                log.warn("User {} cannot reserve {} more messages today. Count: {}, Limit: {}",
+                        user.getUsername(), messages, current, limit);
+
+                throw new RateLimitExceededException(
+                        "Daily message limit exceeded for user: " + user.getUsername() + ". Limit: " + limit
+                );
+            }
+        } while (!counter.count.compareAndSet(current, current + messages));
+
+        counter.unflushed.addAndGet(messages);
+        releaseOnRollback(user, today, messages);
+        return today;
+    }
+
+    public void release(User user, LocalDate date, int messages) {
+        DailyCounter counter = counterFor(user, date);
+        int previous = counter.count.getAndUpdate(current -> Math.max(0, current - messages));
+        counter.unflushed.addAndGet(-Math.min(previous, messages));
+
+        log.debug("Released {} reserved messages for user {}", messages, user.getUsername());
+    }
+
+    public void acquireBurstPermits(User user, List<DestinationRequest> destinations) {
+        burstRateLimiter.acquire(user, destinations);
+    }
+
+    public void releaseBurstPermits(User user, List<DestinationRequest> destinations) {
+        burstRateLimiter.release(user, destinations);
+    }
+
+    public boolean tryAcquirePlatformPermit(PlatformType platform, String destination) {
+        return burstRateLimiter.tryAcquirePlatform(platform, destination, 1);
+    }
+
+    public int getRemainingMessages(User user) {
+        return Math.max(0, user.getDailyMessageLimit() - counterFor(user, LocalDate.now()).count.get());
+    }
+
+    /**
+     * Vuelca los incrementos pendientes en un único batch de upserts y relee los contadores
+     * del día, para incorporar lo que hayan reservado otras instancias.
+     * Si el batch falla, los deltas se devuelven a sus contadores para el próximo intento.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.memory.flush-interval-ms:1000}")
+    public void flush() {
+        List<CounterKey> keys = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+
+        counters.forEach((key, counter) -> {
+            int delta = counter.unflushed.getAndSet(0);
+            if (delta != 0) {
+                keys.add(key);
+                rows.add(new Object[]{key.userId(), Date.valueOf(key.date()), delta, delta});
+            }
+        });
+
+        if (!rows.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+                log.debug("Flushed {} daily message counters", rows.size());
+            } catch (RuntimeException e) {
+                log.error("Failed to flush {} daily message counters: {}", rows.size(), e.getMessage());
+                for (int i = 0; i < keys.size(); i++) {
+                    counters.get(keys.get(i)).unflushed.addAndGet((Integer) rows.get(i)[2]);
+                }
+                return;
+            }
+        }
+
+        resyncToday();
+        evictPastDays();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private DailyCounter counterFor(User user, LocalDate date) {
+        CounterKey key = new CounterKey(user.getId(), date);
+        DailyCounter counter = counters.get(key);
+
+        if (counter != null) {
+            return counter;
+        }
+
+        // La lectura se hace fuera del mapa para no bloquear otras claves durante la consulta
+        int persisted = dailyMessageCountRepository.findCount(user.getId(), key.date()).orElse(0);
+        DailyCounter existing = counters.putIfAbsent(key, new DailyCounter(persisted));
+        return existing != null ? existing : counters.get(key);
+    }
+
+    private void releaseOnRollback(User user, LocalDate date, int messages) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    release(user, date, messages);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reemplaza cada contador del día por el valor persistido más lo que esta instancia aún no volcó
+     */
+    private void resyncToday() {
+        LocalDate today = LocalDate.now();
+        List<Long> userIds = counters.keySet().stream()
+                .filter(key -> key.date().equals(today))
+                .map(CounterKey::userId)
+                .toList();
+
+        for (int from = 0; from < userIds.size(); from += RESYNC_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + RESYNC_CHUNK_SIZE, userIds.size()));
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(Date.valueOf(today));
+            args.addAll(chunk);
+
+            try {
+                jdbcTemplate.query(COUNTS_SQL.formatted(String.join(", ", Collections.nCopies(chunk.size(), "?"))),
+                        (RowCallbackHandler) rs -> {
+                            DailyCounter counter = counters.get(new CounterKey(rs.getLong(1), today));
+                            if (counter != null) {
+                                counter.resync(rs.getInt(2));
+                            }
+                        },
+                        args.toArray());
+            } catch (RuntimeException e) {
+                log.warn("Failed to refresh {} daily message counters: {}", chunk.size(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        counters.entrySet().removeIf(entry ->
+                entry.getKey().date().isBefore(today) && entry.getValue().unflushed.get() == 0);
+    }
+
+    private record CounterKey(Long userId, LocalDate date) {
+    }
+
+    private static final class DailyCounter {
+        private final AtomicInteger count;
+        private final AtomicInteger unflushed = new AtomicInteger();
+
+        private DailyCounter(int initial) {
+            this.count = new AtomicInteger(initial);
+        }
+
+        private void resync(int persisted) {
+            count.updateAndGet(current -> Math.max(0, persisted + unflushed.get()));
+        }
+    }
+}
@@ -1,65 +1,92 @@
 package com.notificationhub.service.impl;
 
+import com.notificationhub.dto.criteria.MessageCursor;
 import com.notificationhub.dto.criteria.MessageFilterCriteria;
 import com.notificationhub.dto.request.DestinationRequest;
 import com.notificationhub.dto.request.MessageRequest;
+import com.notificationhub.dto.response.BatchItemResponse;
+import com.notificationhub.dto.response.BatchMessageResponse;
+import com.notificationhub.dto.response.CursorPage;
 import com.notificationhub.dto.response.MetricsResponse;
-import com.notificationhub.entity.DailyMessageCount;
 import com.notificationhub.entity.Message;
 import com.notificationhub.entity.MessageDelivery;
 import com.notificationhub.entity.User;
 import com.notificationhub.enums.DeliveryStatus;
 import com.notificationhub.enums.PlatformType;
 import com.notificationhub.exception.custom.MessageDeliveryException;
-import com.notificationhub.repository.DailyMessageCountRepository;
 import com.notificationhub.repository.MessageDeliveryRepository;
 import com.notificationhub.repository.MessageRepository;
 import com.notificationhub.repository.UserRepository;
+import com.notificationhub.service.DeliveryRetryPolicy;
 import com.notificationhub.service.MessageService;
 import com.notificationhub.service.RateLimitService;
+import com.notificationhub.service.UserMessageStatsService;
 import com.notificationhub.service.platform.PlatformService;
 import com.notificationhub.service.platform.PlatformServiceFactory;
 import com.notificationhub.utils.SecurityUtils;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * El envío no corre dentro de una única transacción: la verificación de cuota y la
+ * persistencia son transacciones cortas y la llamada a las plataformas se hace sin
+ * retener una conexión del pool.
+ */
 @Service
 @Slf4j
-@Transactional
 public class MessageServiceImpl implements MessageService {
 
     private final MessageRepository messageRepository;
     private final PlatformServiceFactory platformServiceFactory;
     private final UserRepository userRepository;
-    private final DailyMessageCountRepository dailyMessageCountRepository;
     private final RateLimitService rateLimitService;
     private final SecurityUtils securityUtils;
     private final MessageDeliveryRepository messageDeliveryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DeliveryRetryPolicy retryPolicy;
+    private final UserMessageStatsService userMessageStatsService;
+    private final Validator validator;
+    private final int deliveryParallelism;
 
     public MessageServiceImpl(MessageRepository messageRepository,
                               PlatformServiceFactory platformServiceFactory,
                               UserRepository userRepository,
-                              DailyMessageCountRepository dailyMessageCountRepository,
                               RateLimitService rateLimitService,
                               SecurityUtils securityUtils,
-                              MessageDeliveryRepository messageDeliveryRepository) {
+                              MessageDeliveryRepository messageDeliveryRepository,
+                              TransactionTemplate transactionTemplate,
+                              DeliveryRetryPolicy retryPolicy,
+                              UserMessageStatsService userMessageStatsService,
+                              Validator validator,
+                              @Value("${delivery.max-parallelism:4}") int deliveryParallelism) {
         this.messageRepository = messageRepository;
         this.platformServiceFactory = platformServiceFactory;
         this.userRepository = userRepository;
-        this.dailyMessageCountRepository = dailyMessageCountRepository;
         this.rateLimitService = rateLimitService;
         this.securityUtils = securityUtils;
         this.messageDeliveryRepository = messageDeliveryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retryPolicy = retryPolicy;
+        this.userMessageStatsService = userMessageStatsService;
+        this.validator = validator;
+        this.deliveryParallelism = Math.max(1, deliveryParallelism);
     }
 
     public Message sendMessage(MessageRequest request) {
@@ -68,7 +95,8 @@ public class MessageServiceImpl implements MessageService {
         User currentUser = getAuthenticatedUser();
         log.info("User {} is sending a message", currentUser.getUsername());
 
-        rateLimitService.checkRateLimit(currentUser);
+        // Fase 1: ráfaga por usuario y plataforma, y reserva atómica de cuota, antes de llamar a ninguna plataforma
+        LocalDate reservedOn = acquireAndReserve(currentUser, resolveDestinations(request), 1);
 
         Message message = Message.builder()
                 .user(currentUser)
@@ -76,50 +104,128 @@ public class MessageServiceImpl implements MessageService {
                 .build();
         log.debug("Created message entity for user {}", currentUser.getUsername());
 
+        // Fase 2: llamadas a las plataformas sin transacción ni conexión abierta
+        // Las entregas que el proveedor pidió posponer o que fallaron con intentos disponibles
+        // quedan PENDING y las retoma el dispatcher, así que también cuentan como aceptadas
         List<MessageDelivery> deliveries = processMessageDeliveries(request, message);
-        boolean hasSuccessfulDelivery = deliveries.stream()
-                .anyMatch(d -> d.getStatus() == DeliveryStatus.SUCCESS);
-        if (!hasSuccessfulDelivery) {
-            log.warn("No successful deliveries for message from user {}. Not saving or counting.", currentUser.getUsername());
+        boolean hasAcceptedDelivery = deliveries.stream()
+                .anyMatch(d -> d.getStatus() == DeliveryStatus.SUCCESS || d.getStatus() == DeliveryStatus.PENDING);
+        if (!hasAcceptedDelivery) {
+            log.warn("No accepted deliveries for message from user {}. Not saving or counting.", currentUser.getUsername());
+            rateLimitService.release(currentUser, reservedOn, 1);
             throw new MessageDeliveryException("Failed to deliver message to any platform");
         }
 
-        Message savedMessage = messageRepository.save(message);
+        // Fase 3: persistencia del mensaje en una transacción corta
+        Message savedMessage;
+        try {
+            savedMessage = transactionTemplate.execute(status -> {
+                Message saved = messageRepository.save(message);
+                userMessageStatsService.recordMessages(currentUser, List.of(saved));
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            rateLimitService.release(currentUser, reservedOn, 1);
+            throw e;
+        }
         log.info("Message saved with {} deliveries", deliveries.size());
 
-        rateLimitService.incrementCounter(currentUser);
-        evictMessageCount(currentUser);
+        logMessageCompletion(savedMessage, deliveries);
+
+        return savedMessage;
+    }
 
-        log.info("Rate limit counter incremented for user {}", currentUser.getUsername());
+    @Transactional
+    public Message queueMessage(MessageRequest request) {
+        log.info("Queueing message request with {} destinations", request.getDestinations().size());
 
-        logMessageCompletion(savedMessage, deliveries);
+        User currentUser = getAuthenticatedUser();
+        Message message = buildQueuedMessage(currentUser, request);
+
+        // Las plataformas se suavizan al despachar la cola; acá solo se limita la ráfaga del usuario
+        acquireAndReserve(currentUser, List.of(), 1);
+        Message savedMessage = messageRepository.save(message);
+        userMessageStatsService.recordMessages(currentUser, List.of(savedMessage));
+
+        log.info("Message {} queued for user {} with {} pending deliveries",
+                savedMessage.getId(), currentUser.getUsername(), message.getDeliveries().size());
 
         return savedMessage;
     }
 
-    @CacheEvict(value = "messageCounts", key = "#user.id")
-    public void evictMessageCount(User user) {
-        /*
-        Evicts the cached message count for the specified user. This method is called
-        after a new message is successfully sent to ensure that the cached count remains
-        accurate. By evicting the cache entry, the next time the message count is requested
-        for this user, it will be recalculated from the database, reflecting the latest count.
-         */
+    @Transactional
+    public BatchMessageResponse queueBatch(List<MessageRequest> requests) {
+        User currentUser = getAuthenticatedUser();
+        log.info("User {} is queueing a batch of {} messages", currentUser.getUsername(), requests.size());
+
+        BatchItemResponse[] results = new BatchItemResponse[requests.size()];
+        List<Message> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                validate(requests.get(i));
+                accepted.add(buildQueuedMessage(currentUser, requests.get(i)));
+                acceptedIndexes.add(i);
+            } catch (MessageDeliveryException | IllegalArgumentException e) {
+                results[i] = BatchItemResponse.builder()
+                        .index(i)
+                        .queued(false)
+                        .error(e.getMessage())
+                        .build();
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            // Como en queueMessage, el lote cuenta como una ráfaga del usuario
+            acquireAndReserve(currentUser, List.of(), accepted.size());
+
+            List<Message> saved = messageRepository.saveAll(accepted);
+            userMessageStatsService.recordMessages(currentUser, saved);
+
+            for (int j = 0; j < saved.size(); j++) {
+                int index = acceptedIndexes.get(j);
+                results[index] = BatchItemResponse.builder()
+                        .index(index)
+                        .queued(true)
+                        .messageId(saved.get(j).getId())
+                        .build();
+            }
+        }
+
+        log.info("Batch from user {} processed. Queued: {}, Rejected: {}",
+                currentUser.getUsername(), accepted.size(), requests.size() - accepted.size());
+
+        return BatchMessageResponse.builder()
+                .queued(accepted.size())
+                .rejected(requests.size() - accepted.size())
+                .results(List.of(results))
+                .build();
     }
 
-    public Page<Message> getAllMessages(Pageable pageable) {
+    @Transactional(readOnly = true)
+    public CursorPage<Message> getAllMessages(MessageCursor cursor, int size) {
         if (!securityUtils.isAdmin()) {
             throw new IllegalStateException("Only admins can view all messages");
         }
-        return messageRepository.findAll(pageable);
+
+        MessageFilterCriteria criteria = MessageFilterCriteria.builder()
+                .after(cursor)
+                .build();
+
+        List<Message> rows = messageDeliveryRepository.findMessagesByFilters(criteria, pageLimit(size));
+
+        return toCursorPage(rows, size);
     }
 
-    public Page<Message> getUserMessagesWithFilters(
+    @Transactional(readOnly = true)
+    public CursorPage<Message> getUserMessagesWithFilters(
             DeliveryStatus status,
             PlatformType platform,
             LocalDateTime from,
             LocalDateTime to,
-            Pageable pageable) {
+            MessageCursor cursor,
+            int size) {
         User currentUser = getAuthenticatedUser();
 
         MessageFilterCriteria criteria = MessageFilterCriteria.builder()
@@ -128,45 +234,35 @@ public class MessageServiceImpl implements MessageService {
                 .platform(platform)
                 .from(from)
                 .to(to)
+                .after(cursor)
                 .build();
 
-        Page<Message> messages = messageDeliveryRepository.findMessagesByFilters(criteria, pageable);
-        
-        messages.getContent().forEach(message -> {
-            message.getDeliveries().size();
-        });
-        
-        return messages;
+        List<Message> rows = messageDeliveryRepository.findMessagesByFilters(criteria, pageLimit(size));
+
+        return toCursorPage(rows, size);
     }
 
-    public List<MetricsResponse> getAllUserMetrics() {
+    @Transactional(readOnly = true)
+    public Page<MetricsResponse> getAllUserMetrics(Pageable pageable) {
         if (!securityUtils.isAdmin()) {
             throw new IllegalStateException("Only admins can view metrics");
         }
 
-        List<User> users = userRepository.findAll();
-        LocalDate today = LocalDate.now();
-
-        return users.stream()
-                .map(user -> {
-                    long totalMessages = messageRepository.countByUser(user);
-
-                    DailyMessageCount todayCount = dailyMessageCountRepository
-                            .findByUserAndDate(user, today)
-                            .orElse(null);
+        return userRepository.findUserMetrics(LocalDate.now(), pageable);
+    }
 
-                    int messagesSentToday = todayCount != null ? todayCount.getCount() : 0;
-                    int remainingToday = user.getDailyMessageLimit() - messagesSentToday;
+    /**
+     * Lee una fila más que el tamaño de página para saber si hay página siguiente sin contar
+     */
+    private Pageable pageLimit(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be greater than zero");
+        }
+        return PageRequest.ofSize(size + 1);
+    }
 
-                    return MetricsResponse.builder()
-                            .username(user.getUsername())
-                            .totalMessagesSent(totalMessages)
-                            .messagesSentToday(messagesSentToday)
-                            .remainingMessagesToday(Math.max(0, remainingToday))
-                            .dailyLimit(user.getDailyMessageLimit())
-                            .build();
-                })
-                .collect(Collectors.toList());
+    private CursorPage<Message> toCursorPage(List<Message> rows, int size) {
+        return CursorPage.of(rows, size, message -> MessageCursor.of(message).encode());
     }
 
     private User getAuthenticatedUser() {
@@ -177,42 +273,147 @@ public class MessageServiceImpl implements MessageService {
         return currentUser;
     }
 
-    private List<MessageDelivery> processMessageDeliveries(MessageRequest request, Message message) {
-        List<MessageDelivery> deliveries = new ArrayList<>();
+    /**
+     * Toma los permisos de ráfaga y después reserva la cuota diaria. Si la cuota no alcanza
+     * devuelve los permisos, para que un usuario sin cuota no vacíe el bucket compartido de
+     * la plataforma.
+     */
+    private LocalDate acquireAndReserve(User user, List<DestinationRequest> destinations, int messages) {
+        rateLimitService.acquireBurstPermits(user, destinations);
+        try {
+            return rateLimitService.reserve(user, messages);
+        } catch (RuntimeException e) {
+            rateLimitService.releaseBurstPermits(user, destinations);
+            throw e;
+        }
+    }
+
+    /**
+     * Destinos con los valores por defecto de cada plataforma aplicados, para que la ráfaga
+     * se cuente sobre el webhook o chat real. Si la plataforma no está disponible se deja el
+     * destino pedido: el envío fallará después con el error de la plataforma.
+     */
+    private List<DestinationRequest> resolveDestinations(MessageRequest request) {
+        return request.getDestinations().stream()
+                .map(destination -> {
+                    try {
+                        String resolved = platformServiceFactory.getService(destination.getPlatform())
+                                .resolveDestination(destination.getDestination());
+                        return new DestinationRequest(destination.getPlatform(), resolved);
+                    } catch (IllegalArgumentException | IllegalStateException e) {
+                        return destination;
+                    }
+                })
+                .toList();
+    }
+
+    /**
+     * Valida un mensaje del lote por separado, para rechazar solo ese índice y no el lote entero
+     */
+    private void validate(MessageRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Message is required");
+        }
+        Set<ConstraintViolation<MessageRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private Message buildQueuedMessage(User user, MessageRequest request) {
+        Message message = Message.builder()
+                .user(user)
+                .content(request.getContent())
+                .build();
 
         for (DestinationRequest destination : request.getDestinations()) {
-            MessageDelivery delivery = processSingleDelivery(destination, message);
-            deliveries.add(delivery);
+            message.addDelivery(buildPendingDelivery(destination));
         }
 
-        return deliveries;
+        return message;
     }
 
-    private MessageDelivery processSingleDelivery(DestinationRequest destination, Message message) {
+    private MessageDelivery buildPendingDelivery(DestinationRequest destination) {
+        PlatformService platformService;
         try {
-            log.info("Sending message to platform: {}", destination.getPlatform());
-
-            PlatformService platformService = platformServiceFactory.getService(destination.getPlatform());
-            MessageDelivery delivery = platformService.send(
-                    message.getContent(),
-                    destination.getDestination(),
-                    message.getUser().getUsername()
-            );
-
-            message.addDelivery(delivery);
-            log.info("Message sent to {}. Status: {}", destination.getPlatform(), delivery.getStatus());
-
-            return delivery;
-
-        } catch (Exception e) {
-            log.error("Failed to send message to {}: {}", destination.getPlatform(), e.getMessage());
-            return MessageDelivery.builder()
-                    .platformType(destination.getPlatform())
-                    .destination(destination.getDestination())
-                    .status(DeliveryStatus.FAILED)
-                    .errorMessage("Exception: " + e.getMessage())
-                    .build();
+            platformService = platformServiceFactory.getService(destination.getPlatform());
+        } catch (IllegalStateException e) {
+            throw new MessageDeliveryException(e.getMessage());
         }
+
+        return MessageDelivery.builder()
+                .platformType(destination.getPlatform())
+                .destination(platformService.resolveDestination(destination.getDestination()))
+                .status(DeliveryStatus.PENDING)
+                .build();
+    }
+
+    /**
+     * Envía a todos los destinos en paralelo (hasta {@code delivery.max-parallelism} a la vez),
+     * de modo que la latencia total sea la del destino más lento y no la suma de todos.
+     * Los envíos son no bloqueantes, así que no ocupan un hilo por destino mientras esperan
+     * al proveedor. Las entregas se asocian al mensaje en el orden original de los destinos.
+     */
+    private List<MessageDelivery> processMessageDeliveries(MessageRequest request, Message message) {
+        List<DeliveryAttempt> attempts = Flux.fromIterable(request.getDestinations())
+                .flatMapSequential(destination -> processSingleDelivery(destination, message), deliveryParallelism)
+                .collectList()
+                .block();
+
+        if (attempts == null) {
+            return List.of();
+        }
+
+        attempts.stream()
+                .filter(DeliveryAttempt::dispatched)
+                .forEach(attempt -> {
+                    MessageDelivery delivery = attempt.delivery();
+                    if (delivery.isRetryable()) {
+                        retryPolicy.recordFailure(delivery, delivery.getErrorMessage());
+                    }
+                    message.addDelivery(delivery);
+                });
+
+        return attempts.stream()
+                .map(DeliveryAttempt::delivery)
+                .toList();
+    }
+
+    private Mono<DeliveryAttempt> processSingleDelivery(DestinationRequest destination, Message message) {
+        return Mono.defer(() -> {
+                    log.info("Sending message to platform: {}", destination.getPlatform());
+
+                    PlatformService platformService = platformServiceFactory.getService(destination.getPlatform());
+                    return platformService.sendAsync(
+                            message.getContent(),
+                            destination.getDestination(),
+                            message.getUser().getUsername()
+                    );
+                })
+                .map(delivery -> {
+                    log.info("Message sent to {}. Status: {}", destination.getPlatform(), delivery.getStatus());
+                    return new DeliveryAttempt(delivery, true);
+                })
+                .onErrorResume(e -> {
+                    log.error("Failed to send message to {}: {}", destination.getPlatform(), e.getMessage());
+                    MessageDelivery failed = MessageDelivery.builder()
+                            .platformType(destination.getPlatform())
+                            .destination(destination.getDestination())
+                            .status(DeliveryStatus.FAILED)
+                            .errorMessage("Exception: " + e.getMessage())
+                            .build();
+                    return Mono.just(new DeliveryAttempt(failed, false));
+                });
+    }
+
+    /**
+     * Resultado de un envío. Solo las entregas que llegaron a la plataforma
+     * ({@code dispatched}) se persisten junto al mensaje.
+     */
+    private record DeliveryAttempt(MessageDelivery delivery, boolean dispatched) {
     }
 
     private void logMessageCompletion(Message message, List<MessageDelivery> deliveries) {
@@ -1,79 +1,84 @@
 package com.notificationhub.service.impl;
 
-import com.notificationhub.entity.DailyMessageCount;
+import com.notificationhub.dto.request.DestinationRequest;
 import com.notificationhub.entity.User;
+import com.notificationhub.enums.PlatformType;
 import com.notificationhub.exception.custom.RateLimitExceededException;
 import com.notificationhub.repository.DailyMessageCountRepository;
 import com.notificationhub.service.RateLimitService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 
 @Service
 @Slf4j
 @Transactional
+@ConditionalOnProperty(name = "rate-limit.engine", havingValue = "database", matchIfMissing = true)
 public class RateLimitServiceImpl implements RateLimitService {
     private final DailyMessageCountRepository dailyMessageCountRepository;
+    private final BurstRateLimiter burstRateLimiter;
 
-    public RateLimitServiceImpl(DailyMessageCountRepository dailyMessageCountRepository) {
+    public RateLimitServiceImpl(DailyMessageCountRepository dailyMessageCountRepository,
+                                BurstRateLimiter burstRateLimiter) {
         this.dailyMessageCountRepository = dailyMessageCountRepository;
+        this.burstRateLimiter = burstRateLimiter;
     }
 
-    public void checkRateLimit(User user) {
+    @CacheEvict(value = "rateLimits", key = "#user.id + '_' + T(java.time.LocalDate).now()")
+    public LocalDate reserve(User user, int messages) {
+        int limit = user.getDailyMessageLimit();
         LocalDate today = LocalDate.now();
 
-        DailyMessageCount count = dailyMessageCountRepository
-                .findByUserAndDate(user, today)
-                .orElseGet(() -> createNewCounter(user, today));
+        Optional<Integer> reserved = messages > limit
+                ? Optional.empty()
+                : dailyMessageCountRepository.reserve(user.getId(), today, messages, limit);
 
-        if (count.hasReachedLimit(user.getDailyMessageLimit())) {
-            log.warn("User {} has reached daily limit. Count: {}, Limit: {}",
-                    user.getUsername(), count.getCount(), user.getDailyMessageLimit());
+        if (reserved.isEmpty()) {
+            log.warn("User {} cannot reserve {} more messages today. Limit: {}",
+                    user.getUsername(), messages, limit);
 
             throw new RateLimitExceededException(
-                    "Daily message limit exceeded for user: " + user.getUsername() + ". Limit: " + user.getDailyMessageLimit()
+                    "Daily message limit exceeded for user: " + user.getUsername() + ". Limit: " + limit
             );
         }
+
+        log.info("Reserved {} messages for user {}. Count: {}", messages, user.getUsername(), reserved.get());
+        return today;
     }
 
-    @CacheEvict(value = "rateLimits", key = "#user.id + '_' + T(java.time.LocalDate).now()")
-    public void incrementCounter(User user) {
-        LocalDate today = LocalDate.now();
+    @CacheEvict(value = "rateLimits", key = "#user.id + '_' + #date")
+    public void release(User user, LocalDate date, int messages) {
+        dailyMessageCountRepository.decrementCountBy(user, date, messages);
+        log.info("Released {} reserved messages for user {}", messages, user.getUsername());
+    }
 
-        int rowsUpdated = dailyMessageCountRepository.incrementCountAtomic(user, today);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void acquireBurstPermits(User user, List<DestinationRequest> destinations) {
+        burstRateLimiter.acquire(user, destinations);
+    }
 
-        if (rowsUpdated == 0) {
-            createNewCounter(user, today);
-            dailyMessageCountRepository.incrementCountAtomic(user, today);
-        }
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void releaseBurstPermits(User user, List<DestinationRequest> destinations) {
+        burstRateLimiter.release(user, destinations);
+    }
 
-        log.info("Incremented message counter for user {} atomically", user.getUsername());
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean tryAcquirePlatformPermit(PlatformType platform, String destination) {
+        return burstRateLimiter.tryAcquirePlatform(platform, destination, 1);
     }
 
     @Cacheable(value = "rateLimits", key = "#user.id + '_' + T(java.time.LocalDate).now()")
+    @Transactional(readOnly = true)
     public int getRemainingMessages(User user) {
-        LocalDate today = LocalDate.now();
-
-        DailyMessageCount count = dailyMessageCountRepository
-                .findByUserAndDate(user, today)
-                .orElseGet(() -> createNewCounter(user, today));
-
-        return count.getRemainingMessages(user.getDailyMessageLimit());
-    }
-
-    private DailyMessageCount createNewCounter(User user, LocalDate date) {
-        log.info("Creating new daily message counter for user {} on {}", user.getUsername(), date);
-
-        DailyMessageCount newCount = DailyMessageCount.builder()
-                .user(user)
-                .date(date)
-                .count(0)
-                .build();
-
-        return dailyMessageCountRepository.save(newCount);
+        int count = dailyMessageCountRepository.findCount(user.getId(), LocalDate.now()).orElse(0);
+        return Math.max(0, user.getDailyMessageLimit() - count);
     }
 }
@@ -0,0 +1,78 @@
+package com.notificationhub.service.platform;
+
+import com.notificationhub.entity.MessageDelivery;
+import com.notificationhub.enums.DeliveryStatus;
+import com.notificationhub.enums.PlatformType;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decora un {@link PlatformService} con el {@link PlatformCircuitBreaker} de su plataforma.
+ * Mientras el circuito está abierto, {@code sendAsync} no llama al proveedor y devuelve la
+ * entrega pendiente para cuando el circuito vuelva a probar.
+ * <p>
+ * Solo cuentan como fallas las que indican que el proveedor no está sano: errores de red,
+ * timeouts y 5xx. Un rechazo definitivo (webhook borrado, chat inexistente) es un problema
+ * del destino y no debe cortar los envíos al resto, y un 429 lo maneja {@link ProviderThrottle}
+ * por destino. Cada llamada al proveedor cuenta una sola vez aunque lleve varias entregas.
+ */
+@Slf4j
+class CircuitBreakingPlatformService implements PlatformService {
+
+    private final PlatformService delegate;
+    private final PlatformCircuitBreaker circuitBreaker;
+
+    CircuitBreakingPlatformService(PlatformService delegate, PlatformCircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Mono<MessageDelivery> sendAsync(String content, String destination, String username) {
+        PlatformType platform = delegate.getPlatformType();
+
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire(platform)) {
+                log.info("Circuit for {} is open. Deferring delivery", platform);
+                MessageDelivery deferred = MessageDelivery.builder()
+                        .platformType(platform)
+                        .destination(delegate.resolveDestination(destination))
+                        .build();
+                deferred.markAsDeferred(circuitBreaker.retryAt(platform), "Deferred: " + platform + " circuit open");
+                return Mono.just(deferred);
+            }
+
+            return Mono.defer(() -> delegate.sendAsync(content, destination, username))
+                    .doOnNext(delivery -> record(platform, delivery))
+                    .doOnError(e -> circuitBreaker.recordFailure(platform))
+                    .doOnCancel(() -> circuitBreaker.recordIgnored(platform));
+        });
+    }
+
+    private void record(PlatformType platform, MessageDelivery delivery) {
+        if (delivery.isSharedCall()) {
+            circuitBreaker.recordIgnored(platform);
+        } else if (delivery.getStatus() == DeliveryStatus.SUCCESS) {
+            circuitBreaker.recordSuccess(platform);
+        } else if (delivery.isRetryable()) {
+            circuitBreaker.recordFailure(platform);
+        } else {
+            circuitBreaker.recordIgnored(platform);
+        }
+    }
+
+    @Override
+    public String resolveDestination(String destination) {
+        return delegate.resolveDestination(destination);
+    }
+
+    @Override
+    public PlatformType getPlatformType() {
+        return delegate.getPlatformType();
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return delegate.isConfigured();
+    }
+}
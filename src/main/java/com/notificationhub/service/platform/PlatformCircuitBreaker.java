@@ -0,0 +1,168 @@
+package com.notificationhub.service.platform;
+
+import com.notificationhub.enums.PlatformType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Circuit breaker por plataforma.
+ * <p>
+ * Tras {@code failure-threshold} fallos consecutivos el circuito se abre y durante
+ * {@code open-duration-ms} los envíos a esa plataforma se desvían a la cola de reintentos
+ * sin esperar el timeout del proveedor. Al vencer ese plazo pasa a HALF_OPEN y deja pasar
+ * un único envío de prueba: si sale bien el circuito se cierra, si falla vuelve a abrirse.
+ * <p>
+ * Cada circuito usa un {@link ReentrantLock} en lugar de {@code synchronized} para no fijar
+ * el virtual thread a su carrier mientras loguea las transiciones.
+ */
+@Component
+@Slf4j
+public class PlatformCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Map<PlatformType, Circuit> circuits = new EnumMap<>(PlatformType.class);
+
+    public PlatformCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${delivery.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${delivery.circuit-breaker.open-duration-ms:30000}") long openDurationMs) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = Duration.ofMillis(openDurationMs);
+
+        for (PlatformType platform : PlatformType.values()) {
+            circuits.put(platform, new Circuit());
+
+            Gauge.builder("notificationhub.platform.circuit.state", this, b -> b.getState(platform).ordinal())
+                    .description("Circuit state: 0 closed, 1 half-open, 2 open")
+                    .tag("platform", platform.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Indica si se puede intentar un envío a la plataforma. En HALF_OPEN solo
+     * autoriza una prueba a la vez.
+     */
+    public boolean tryAcquire(PlatformType platform) {
+        Circuit circuit = circuits.get(platform);
+        circuit.lock.lock();
+        try {
+            switch (circuit.state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (LocalDateTime.now().isBefore(circuit.openUntil)) {
+                        return false;
+                    }
+                    log.info("Circuit for {} is half-open. Sending a probe", platform);
+                    circuit.state = State.HALF_OPEN;
+                    circuit.probeInFlight = true;
+                    return true;
+                default:
+                    if (circuit.probeInFlight) {
+                        return false;
+                    }
+                    circuit.probeInFlight = true;
+                    return true;
+            }
+        } finally {
+            circuit.lock.unlock();
+        }
+    }
+
+    public void recordSuccess(PlatformType platform) {
+        Circuit circuit = circuits.get(platform);
+        circuit.lock.lock();
+        try {
+            if (circuit.state != State.CLOSED) {
+                log.info("Circuit for {} closed after a successful send", platform);
+            }
+            circuit.state = State.CLOSED;
+            circuit.consecutiveFailures = 0;
+            circuit.probeInFlight = false;
+        } finally {
+            circuit.lock.unlock();
+        }
+    }
+
+    public void recordFailure(PlatformType platform) {
+        Circuit circuit = circuits.get(platform);
+        circuit.lock.lock();
+        try {
+            circuit.consecutiveFailures++;
+            circuit.probeInFlight = false;
+
+            if (circuit.state == State.HALF_OPEN || circuit.consecutiveFailures >= failureThreshold) {
+                if (circuit.state != State.OPEN) {
+                    log.warn("Circuit for {} opened after {} consecutive failures", platform, circuit.consecutiveFailures);
+                }
+                circuit.state = State.OPEN;
+                circuit.openUntil = LocalDateTime.now().plus(openDuration);
+            }
+        } finally {
+            circuit.lock.unlock();
+        }
+    }
+
+    /**
+     * Libera la prueba de HALF_OPEN cuando el envío no llegó a la plataforma
+     * (por ejemplo, porque se pospuso) y por lo tanto no dice nada de su estado
+     */
+    public void recordIgnored(PlatformType platform) {
+        Circuit circuit = circuits.get(platform);
+        circuit.lock.lock();
+        try {
+            circuit.probeInFlight = false;
+        } finally {
+            circuit.lock.unlock();
+        }
+    }
+
+    public State getState(PlatformType platform) {
+        Circuit circuit = circuits.get(platform);
+        circuit.lock.lock();
+        try {
+            return circuit.state;
+        } finally {
+            circuit.lock.unlock();
+        }
+    }
+
+    /**
+     * Momento a partir del cual conviene reintentar un envío rechazado por el circuito
+     */
+    public LocalDateTime retryAt(PlatformType platform) {
+        Circuit circuit = circuits.get(platform);
+        circuit.lock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            return circuit.openUntil != null && circuit.openUntil.isAfter(now) ? circuit.openUntil : now.plus(openDuration);
+        } finally {
+            circuit.lock.unlock();
+        }
+    }
+
+    private static final class Circuit {
+        private final ReentrantLock lock = new ReentrantLock();
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private boolean probeInFlight;
+        private LocalDateTime openUntil;
+    }
+}
@@ -0,0 +1,29 @@
+package com.notificationhub.service.platform;
+
+import com.notificationhub.enums.PlatformType;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publica en {@code /actuator/health} el estado del circuito de cada plataforma.
+ * Un circuito abierto no marca la aplicación como DOWN: los envíos siguen encolándose.
+ */
+@Component
+public class PlatformCircuitBreakerHealthIndicator implements HealthIndicator {
+
+    private final PlatformCircuitBreaker circuitBreaker;
+
+    public PlatformCircuitBreakerHealthIndicator(PlatformCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.up();
+        for (PlatformType platform : PlatformType.values()) {
+            builder.withDetail(platform.name(), circuitBreaker.getState(platform));
+        }
+        return builder.build();
+    }
+}
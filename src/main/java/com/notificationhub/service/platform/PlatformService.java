@@ -2,19 +2,37 @@ package com.notificationhub.service.platform;
 
 import com.notificationhub.entity.MessageDelivery;
 import com.notificationhub.enums.PlatformType;
+import reactor.core.publisher.Mono;
 
 
 public interface PlatformService {
 
     /**
-     * Envía un mensaje a la plataforma
+     * Envía un mensaje a la plataforma sin bloquear el hilo que lo invoca.
+     * Los errores del proveedor se informan en la entrega (FAILED o PENDING diferida),
+     * no como error del {@link Mono}.
      *
      * @param content     Contenido del mensaje
      * @param destination Destino específico (chat_id, channel_id, etc). Si es null, usa el default.
      * @param username    Firma con el nombre de usuario del remitente
-     * @return MessageDelivery con el resultado del envío
+     * @return Mono con el MessageDelivery resultado del envío
      */
-    MessageDelivery send(String content, String destination, String username);
+    Mono<MessageDelivery> sendAsync(String content, String destination, String username);
+
+    /**
+     * Firma el contenido con el nombre del remitente
+     */
+    static String sign(String username, String content) {
+        return "**From: " + username + "**\n\n" + content;
+    }
+
+    /**
+     * Resuelve el destino efectivo de un envío
+     *
+     * @param destination Destino solicitado. Si es null o vacío, se usa el default de la plataforma.
+     * @return Destino que se usará al enviar
+     */
+    String resolveDestination(String destination);
 
     /**
      * Retorna el tipo de plataforma que maneja este servicio
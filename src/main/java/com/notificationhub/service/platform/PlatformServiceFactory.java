@@ -11,16 +11,16 @@ import java.util.Map;
 public class PlatformServiceFactory {
     private final Map<PlatformType, PlatformService> services;
 
-    public PlatformServiceFactory(List<PlatformService> platformServices) {
+    public PlatformServiceFactory(List<PlatformService> platformServices, PlatformCircuitBreaker circuitBreaker) {
         this.services = new HashMap<>();
 
         for (PlatformService service : platformServices) {
-            services.put(service.getPlatformType(), service);
+            services.put(service.getPlatformType(), new CircuitBreakingPlatformService(service, circuitBreaker));
         }
     }
 
     /**
-     * Obtiene el servicio para una plataforma específica
+     * Obtiene el servicio para una plataforma específica, protegido por su circuit breaker
      *
      * @param platformType Tipo de plataforma
      * @return PlatformService correspondiente
@@ -0,0 +1,122 @@
+package com.notificationhub.service.platform;
+
+import com.notificationhub.enums.PlatformType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Throttle adaptativo por destino (chat de Telegram, webhook de Discord).
+ * <p>
+ * Los servicios de plataforma registran acá el tiempo de espera que indica el proveedor
+ * ({@code retry_after}, {@code Retry-After}, {@code X-RateLimit-*}) y lo consultan antes
+ * de cada envío: mientras el destino esté en backoff, la entrega se pospone en lugar de
+ * volver a pegarle al proveedor. El estado se publica como métricas por plataforma.
+ */
+@Component
+@Slf4j
+public class ProviderThrottle {
+
+    static final Duration DEFAULT_BACKOFF = Duration.ofSeconds(1);
+
+    private final Map<ThrottleKey, LocalDateTime> nextAllowedAt = new ConcurrentHashMap<>();
+    private final Map<PlatformType, Counter> rateLimitedResponses = new EnumMap<>(PlatformType.class);
+
+    public ProviderThrottle(MeterRegistry meterRegistry) {
+        for (PlatformType platform : PlatformType.values()) {
+            rateLimitedResponses.put(platform, Counter.builder("notificationhub.provider.rate.limited")
+                    .description("429 responses received from the provider")
+                    .tag("platform", platform.name())
+                    .register(meterRegistry));
+
+            Gauge.builder("notificationhub.provider.throttled.destinations", this, t -> t.throttledDestinations(platform))
+                    .description("Destinations currently backing off")
+                    .tag("platform", platform.name())
+                    .register(meterRegistry);
+
+            Gauge.builder("notificationhub.provider.backoff.seconds", this, t -> t.longestBackoff(platform).toMillis() / 1000.0)
+                    .description("Longest pending backoff among the platform destinations")
+                    .tag("platform", platform.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Devuelve hasta cuándo hay que esperar para enviar al destino, si está en backoff
+     */
+    public Optional<LocalDateTime> backoffUntil(PlatformType platform, String destination) {
+        LocalDateTime until = nextAllowedAt.get(new ThrottleKey(platform, destination));
+        return until != null && until.isAfter(LocalDateTime.now()) ? Optional.of(until) : Optional.empty();
+    }
+
+    /**
+     * Registra una respuesta 429 del proveedor y pone al destino en backoff
+     *
+     * @return momento a partir del cual se puede volver a enviar
+     */
+    public LocalDateTime rateLimited(PlatformType platform, String destination, Duration retryAfter) {
+        rateLimitedResponses.get(platform).increment();
+        LocalDateTime until = backOff(platform, destination, retryAfter);
+
+        log.warn("{} rate limited destination {}. Next attempt at {}", platform, redact(destination), until);
+        return until;
+    }
+
+    /**
+     * Oculta el último tramo de la ruta del destino para poder loguearlo. En un webhook de
+     * Discord ese tramo es el token; el id del webhook queda para correlacionar
+     */
+    static String redact(String destination) {
+        int slash = destination != null ? destination.lastIndexOf('/') : -1;
+        return slash >= 0 ? destination.substring(0, slash + 1) + "***" : destination;
+    }
+
+    /**
+     * Pone al destino en backoff sin que haya habido un rechazo, por ejemplo cuando el
+     * proveedor avisa por headers que no quedan envíos en la ventana actual
+     *
+     * @return momento a partir del cual se puede volver a enviar
+     */
+    public LocalDateTime backOff(PlatformType platform, String destination, Duration delay) {
+        Duration effective = delay == null || delay.isNegative() || delay.isZero() ? DEFAULT_BACKOFF : delay;
+        LocalDateTime candidate = LocalDateTime.now().plus(effective);
+
+        return nextAllowedAt.merge(new ThrottleKey(platform, destination), candidate,
+                (current, proposed) -> current.isAfter(proposed) ? current : proposed);
+    }
+
+    public int throttledDestinations(PlatformType platform) {
+        LocalDateTime now = LocalDateTime.now();
+        return (int) nextAllowedAt.entrySet().stream()
+                .filter(entry -> entry.getKey().platform() == platform && entry.getValue().isAfter(now))
+                .count();
+    }
+
+    public Duration longestBackoff(PlatformType platform) {
+        LocalDateTime now = LocalDateTime.now();
+        return nextAllowedAt.entrySet().stream()
+                .filter(entry -> entry.getKey().platform() == platform && entry.getValue().isAfter(now))
+                .map(entry -> Duration.between(now, entry.getValue()))
+                .max(Duration::compareTo)
+                .orElse(Duration.ZERO);
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.throttle.eviction-interval-ms:60000}")
+    public void evictExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        nextAllowedAt.values().removeIf(until -> !until.isAfter(now));
+    }
+
+    private record ThrottleKey(PlatformType platform, String destination) {
+    }
+}
@@ -0,0 +1,163 @@
+package com.notificationhub.service.platform;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Agrupa los envíos dirigidos a un mismo destino dentro de una ventana corta.
+ * <p>
+ * El primer envío de un destino abre la ventana; al cerrarse, los acumulados se reparten
+ * en lotes según los límites del proveedor y cada lote sale en una sola llamada. Cada
+ * suscriptor recibe la respuesta de la llamada que incluyó su envío o su error; al resto de
+ * los miembros del lote, salvo el primero, se les avisa antes que la llamada fue compartida.
+ * Si el proveedor rechaza el lote y {@link #retryIndividually} lo permite, cada miembro se
+ * reenvía solo y recibe el resultado de su propia llamada.
+ *
+ * @param <T> Elemento que se agrupa
+ * @param <R> Respuesta del proveedor
+ */
+@Slf4j
+public abstract class WindowedBatcher<T, R> {
+
+    private final String name;
+    private final Duration window;
+    private final Map<String, List<Pending<T, R>>> buffers = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * @param name   Nombre de la plataforma, para los logs
+     * @param window Tiempo que se espera a otros envíos del mismo destino
+     */
+    protected WindowedBatcher(String name, Duration window) {
+        this.name = name;
+        this.window = window;
+    }
+
+    /**
+     * Reparte los elementos de una ventana en lotes que el proveedor acepte en una llamada.
+     * Los lotes deben respetar el orden y contener todos los elementos
+     */
+    protected abstract List<List<T>> chunks(List<T> items);
+
+    /**
+     * Envía un lote al destino en una sola llamada
+     */
+    protected abstract Mono<R> send(String destination, List<T> items);
+
+    protected Mono<R> submit(String destination, T item) {
+        return submit(destination, item, () -> {
+        });
+    }
+
+    /**
+     * @param onShared Se ejecuta antes de recibir la respuesta si la llamada que incluyó el
+     *                 envío ya se informa con otro miembro del lote
+     */
+    protected Mono<R> submit(String destination, T item, Runnable onShared) {
+        return Mono.defer(() -> {
+            Sinks.One<R> sink = Sinks.one();
+            boolean opensWindow;
+
+            lock.lock();
+            try {
+                List<Pending<T, R>> buffer = buffers.computeIfAbsent(destination, key -> new ArrayList<>());
+                opensWindow = buffer.isEmpty();
+                buffer.add(new Pending<>(item, sink, onShared));
+            } finally {
+                lock.unlock();
+            }
+
+            if (opensWindow) {
+                Mono.delay(window).subscribe(tick -> flush(destination));
+            }
+            return sink.asMono();
+        });
+    }
+
+    /**
+     * Cantidad de envíos esperando que se cierre la ventana de su destino
+     */
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return buffers.values().stream().mapToInt(List::size).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void flush(String destination) {
+        List<Pending<T, R>> buffer;
+        lock.lock();
+        try {
+            buffer = buffers.remove(destination);
+        } finally {
+            lock.unlock();
+        }
+
+        if (buffer == null || buffer.isEmpty()) {
+            return;
+        }
+
+        List<List<T>> chunks = chunks(buffer.stream().map(Pending::item).toList());
+        if (buffer.size() > 1) {
+            log.info("Batched {} {} messages into {} requests", buffer.size(), name, chunks.size());
+        }
+
+        int next = 0;
+        for (List<T> chunk : chunks) {
+            List<Pending<T, R>> members = buffer.subList(next, next + chunk.size());
+            next += chunk.size();
+            Mono.defer(() -> send(destination, chunk)).subscribe(
+                    response -> {
+                        markShared(members);
+                        members.forEach(pending -> pending.sink().tryEmitValue(response));
+                    },
+                    error -> {
+                        if (members.size() > 1 && retryIndividually(error)) {
+                            log.info("{} rejected a batch of {} messages. Retrying them one by one", name, members.size());
+                            members.forEach(pending -> sendAlone(destination, pending));
+                            return;
+                        }
+                        markShared(members);
+                        members.forEach(pending -> pending.sink().tryEmitError(error));
+                    },
+                    () -> {
+                        markShared(members);
+                        members.forEach(pending -> pending.sink().tryEmitEmpty());
+                    }
+            );
+        }
+    }
+
+    /**
+     * Indica si, ante este error de un lote, conviene reenviar cada elemento por separado
+     * para que el rechazo de uno no arrastre al resto
+     */
+    protected boolean retryIndividually(Throwable error) {
+        return false;
+    }
+
+    private void sendAlone(String destination, Pending<T, R> pending) {
+        Mono.defer(() -> send(destination, List.of(pending.item()))).subscribe(
+                response -> pending.sink().tryEmitValue(response),
+                error -> pending.sink().tryEmitError(error),
+                () -> pending.sink().tryEmitEmpty()
+        );
+    }
+
+    private static <T, R> void markShared(List<Pending<T, R>> members) {
+        members.stream().skip(1).forEach(pending -> pending.onShared().run());
+    }
+
+    private record Pending<T, R>(T item, Sinks.One<R> sink, Runnable onShared) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.notificationhub.service.platform.discord;
+
+import com.notificationhub.service.platform.WindowedBatcher;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Agrupa los mensajes dirigidos a un mismo webhook y los envía como embeds de una única
+ * ejecución del webhook.
+ * <p>
+ * Discord acepta hasta {@value #MAX_EMBEDS} embeds por ejecución y {@value #MAX_TOTAL_CHARS}
+ * caracteres entre todos ellos; si la ventana acumula más, se envía en varias ejecuciones.
+ */
+class DiscordEmbedBatcher extends WindowedBatcher<DiscordService.Embed, ResponseEntity<Void>> {
+
+    static final int MAX_EMBEDS = 10;
+    static final int MAX_DESCRIPTION_LENGTH = 4096;
+    static final int MAX_TOTAL_CHARS = 6000;
+
+    private final BiFunction<String, List<DiscordService.Embed>, Mono<ResponseEntity<Void>>> sender;
+
+    /**
+     * @param window Tiempo que se espera a otros mensajes del mismo webhook
+     * @param sender Ejecuta un webhook con una lista de embeds
+     */
+    DiscordEmbedBatcher(Duration window, BiFunction<String, List<DiscordService.Embed>, Mono<ResponseEntity<Void>>> sender) {
+        super("Discord", window);
+        this.sender = sender;
+    }
+
+    /**
+     * Indica si el mensaje entra en un embed. Los que no, se envían como contenido plano
+     */
+    static boolean fits(String content, String username) {
+        return content.length() <= MAX_DESCRIPTION_LENGTH && weight(content, username) <= MAX_TOTAL_CHARS;
+    }
+
+    Mono<ResponseEntity<Void>> submit(String webhookUrl, String content, String username) {
+        return submit(webhookUrl, content, username, () -> {
+        });
+    }
+
+    /**
+     * @param onShared Se ejecuta si la ejecución del webhook ya se informa con otro mensaje del lote
+     */
+    Mono<ResponseEntity<Void>> submit(String webhookUrl, String content, String username, Runnable onShared) {
+        return submit(webhookUrl, new DiscordService.Embed(content, username != null ? new DiscordService.Author(username) : null), onShared);
+    }
+
+    @Override
+    protected Mono<ResponseEntity<Void>> send(String webhookUrl, List<DiscordService.Embed> embeds) {
+        return sender.apply(webhookUrl, embeds);
+    }
+
+    @Override
+    protected List<List<DiscordService.Embed>> chunks(List<DiscordService.Embed> embeds) {
+        List<List<DiscordService.Embed>> chunks = new ArrayList<>();
+        List<DiscordService.Embed> current = new ArrayList<>();
+        int total = 0;
+
+        for (DiscordService.Embed embed : embeds) {
+            int weight = weight(embed.description(), embed.author() != null ? embed.author().name() : null);
+            if (!current.isEmpty() && (current.size() == MAX_EMBEDS || total + weight > MAX_TOTAL_CHARS)) {
+                chunks.add(current);
+                current = new ArrayList<>();
+                total = 0;
+            }
+            current.add(embed);
+            total += weight;
+        }
+
+        chunks.add(current);
+        return chunks;
+    }
+
+    private static int weight(String content, String username) {
+        return content.length() + (username != null ? username.length() : 0);
+    }
+}
@@ -1,90 +1,265 @@
 package com.notificationhub.service.platform.discord;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.notificationhub.entity.MessageDelivery;
 import com.notificationhub.enums.DeliveryStatus;
 import com.notificationhub.enums.PlatformType;
 import com.notificationhub.exception.custom.MessageDeliveryException;
+import com.notificationhub.exception.custom.ProviderRateLimitedException;
+import com.notificationhub.exception.custom.ProviderRejectedException;
 import com.notificationhub.service.platform.PlatformService;
+import com.notificationhub.service.platform.ProviderThrottle;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Slf4j
 public class DiscordService implements PlatformService {
 
+    static final String RATE_LIMIT_REMAINING = "X-RateLimit-Remaining";
+    static final String RATE_LIMIT_RESET_AFTER = "X-RateLimit-Reset-After";
+    static final String BOT_USERNAME = "Notification Hub Bot";
+    static final String WEBHOOK_URL_PREFIX = "https://discord.com/api/webhooks/";
+
     private final WebClient webClient;
+    private final ProviderThrottle providerThrottle;
     private final String webhookUrl;
+    private final DiscordEmbedBatcher batcher;
+    private final Cache<String, String> rejectedWebhooks = Caffeine.newBuilder()
+            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .maximumSize(1000)
+            .build();
 
     public DiscordService(
-            WebClient.Builder webClientBuilder,
-            @Value("${discord.webhook.url}") String webhookUrl) {
+            @Qualifier("discordWebClientBuilder") WebClient.Builder webClientBuilder,
+            ProviderThrottle providerThrottle,
+            @Value("${discord.webhook.url}") String webhookUrl,
+            @Value("${discord.batch.window-ms:0}") long batchWindowMs) {
 
+        this.providerThrottle = providerThrottle;
         this.webhookUrl = webhookUrl;
         this.webClient = webClientBuilder.build();
+        // Con ventana 0 cada entrega es una ejecución del webhook con contenido plano
+        this.batcher = batchWindowMs > 0
+                ? new DiscordEmbedBatcher(Duration.ofMillis(batchWindowMs), this::postEmbeds)
+                : null;
     }
 
     @Override
-    public MessageDelivery send(String content, String destination, String username) {
-        // Tracking, discord no usa
-        String finalDestination = (destination != null && !destination.isEmpty()) ? destination : webhookUrl;
+    public Mono<MessageDelivery> sendAsync(String content, String destination, String username) {
+        return Mono.defer(() -> {
+            String targetUrl = resolveDestination(destination);
 
-        log.info("Sending message to Discord webhook");
+            log.info("Sending message to Discord webhook");
 
-        MessageDelivery delivery = MessageDelivery.builder()
-                .platformType(PlatformType.DISCORD)
-                .destination(finalDestination)
-                .status(DeliveryStatus.PENDING)
-                .build();
+            MessageDelivery delivery = MessageDelivery.builder()
+                    .platformType(PlatformType.DISCORD)
+                    .destination(targetUrl)
+                    .status(DeliveryStatus.PENDING)
+                    .build();
 
-        try {
-            Map<String, Object> requestBody = new HashMap<>();
-
-            String signedContent = String.format("**From: %s**\n\n%s", username, content);
-            requestBody.put("content", signedContent);
-            requestBody.put("username", "Notification Hub Bot");
-
-            webClient.post()
-                    .uri(webhookUrl)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .onStatus(
-                            HttpStatusCode::isError,
-                            response -> {
-                                log.error("Discord webhook returned error status: {}", response.statusCode());
-                                return response.bodyToMono(String.class)
-                                        .flatMap(body -> Mono.error(
-                                                new MessageDeliveryException("Discord webhook error: " + body)
-                                        ));
-                            }
-                    )
-                    .toBodilessEntity()
-                    .doOnSuccess(response -> {
-                        log.info("Message sent successfully to Discord. Status: {}", response.getStatusCode());
+            if (!isWebhookUrl(targetUrl)) {
+                log.warn("Rejecting delivery to an invalid Discord webhook destination");
+                delivery.markAsRejected("Invalid Discord webhook URL");
+                return Mono.just(delivery);
+            }
+
+            String rejection = rejectedWebhooks.getIfPresent(targetUrl);
+            if (rejection != null) {
+                log.info("Discord webhook was recently rejected. Skipping delivery");
+                delivery.markAsRejected(rejection);
+                return Mono.just(delivery);
+            }
+
+            // Discord limita por webhook, así que el throttle y los lotes se llevan por URL de destino
+            Optional<LocalDateTime> backoff = providerThrottle.backoffUntil(PlatformType.DISCORD, targetUrl);
+            if (backoff.isPresent()) {
+                log.info("Discord webhook is backing off until {}. Deferring delivery", backoff.get());
+                delivery.markAsDeferred(backoff.get(), "Deferred: Discord rate limit");
+                return Mono.just(delivery);
+            }
+
+            Mono<ResponseEntity<Void>> sent = batcher != null && DiscordEmbedBatcher.fits(content, username)
+                    ? batcher.submit(targetUrl, content, username, delivery::markAsSharedCall)
+                    : postContent(targetUrl, content, username);
+
+            return sent
+                    .map(entity -> {
+                        log.info("Message sent successfully to Discord. Status: {}", entity.getStatusCode());
+
+                        Map<String, Object> responseData = new HashMap<>();
+                        responseData.put("status", "success");
+                        responseData.put("timestamp", LocalDateTime.now().toString());
+
+                        delivery.markAsSuccess(responseData);
+                        return delivery;
+                    })
+                    .onErrorResume(ProviderRateLimitedException.class, e -> {
+                        LocalDateTime until = providerThrottle.rateLimited(PlatformType.DISCORD, targetUrl, e.getRetryAfter());
+                        delivery.markAsRateLimited(until, e.getMessage());
+                        return Mono.just(delivery);
+                    })
+                    .onErrorResume(ProviderRejectedException.class, e -> {
+                        delivery.markAsRejected(e.getMessage());
+                        return Mono.just(delivery);
                     })
-                    .block();
+                    .onErrorResume(e -> {
+                        log.error("Exception sending message to Discord: {}", e.getMessage(), e);
+                        delivery.markAsFailed("Exception: " + e.getMessage());
+                        return Mono.just(delivery);
+                    });
+        });
+    }
+
+    private Mono<ResponseEntity<Void>> postContent(String targetUrl, String content, String username) {
+        return post(targetUrl, new WebhookRequest(PlatformService.sign(username, content), BOT_USERNAME, null));
+    }
+
+    /**
+     * Envía varios mensajes en una sola ejecución del webhook, uno por embed, firmados con
+     * el autor del embed
+     */
+    private Mono<ResponseEntity<Void>> postEmbeds(String targetUrl, List<Embed> embeds) {
+        return post(targetUrl, new WebhookRequest(null, BOT_USERNAME, embeds));
+    }
+
+    /**
+     * Discord responde 401 o 404 cuando el webhook fue borrado o su token ya no es válido
+     */
+    private static boolean isRejection(HttpStatusCode status) {
+        return status.value() == HttpStatus.UNAUTHORIZED.value() || status.value() == HttpStatus.NOT_FOUND.value();
+    }
+
+    /**
+     * Ejecuta el webhook. Un 429 se informa como {@link ProviderRateLimitedException}, el
+     * resto de los 4xx como {@link ProviderRejectedException} y los 5xx como
+     * {@link MessageDeliveryException}
+     */
+    private Mono<ResponseEntity<Void>> post(String targetUrl, WebhookRequest requestBody) {
+        return webClient.post()
+                .uri(targetUrl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(requestBody)
+                .retrieve()
+                .onStatus(
+                        status -> status.value() == HttpStatus.TOO_MANY_REQUESTS.value(),
+                        clientResponse -> clientResponse.bodyToMono(RateLimitResponse.class)
+                                .map(body -> new ProviderRateLimitedException(
+                                        "Discord rate limit: " + body.message(),
+                                        retryAfter(clientResponse.headers().asHttpHeaders(), body)))
+                                .defaultIfEmpty(new ProviderRateLimitedException(
+                                        "Discord rate limit",
+                                        retryAfter(clientResponse.headers().asHttpHeaders(), null)))
+                )
+                .onStatus(
+                        HttpStatusCode::isError,
+                        clientResponse -> {
+                            log.error("Discord webhook returned error status: {}", clientResponse.statusCode());
+                            return clientResponse.bodyToMono(String.class)
+                                    .defaultIfEmpty("")
+                                    .flatMap(body -> {
+                                        String error = "Discord webhook error: " + body;
+                                        if (isRejection(clientResponse.statusCode())) {
+                                            rejectedWebhooks.put(targetUrl, error);
+                                        }
+                                        return Mono.error(clientResponse.statusCode().is4xxClientError()
+                                                ? new ProviderRejectedException(error)
+                                                : new MessageDeliveryException(error));
+                                    });
+                        }
+                )
+                .toBodilessEntity()
+                .doOnNext(entity -> applyRateLimitHeaders(targetUrl, entity.getHeaders()));
+    }
+
+    /**
+     * Cuerpo de una ejecución del webhook: contenido plano o una lista de embeds
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record WebhookRequest(String content, String username, List<Embed> embeds) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Embed(String description, Author author) {
+    }
+
+    record Author(String name) {
+    }
 
-            Map<String, Object> responseData = new HashMap<>();
-            responseData.put("status", "success");
-            responseData.put("timestamp", LocalDateTime.now().toString());
+    /**
+     * Cuerpo de un 429. La ejecución exitosa responde 204 sin cuerpo
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record RateLimitResponse(String message,
+                             @JsonProperty("retry_after") Double retryAfter,
+                             Boolean global) {
+    }
+
+    /**
+     * Si Discord avisa que no quedan envíos en la ventana actual, el webhook entra en
+     * backoff hasta que la ventana se reinicie, antes de recibir un 429
+     */
+    private void applyRateLimitHeaders(String targetUrl, HttpHeaders headers) {
+        String remaining = headers.getFirst(RATE_LIMIT_REMAINING);
+        Duration resetAfter = parseSeconds(headers.getFirst(RATE_LIMIT_RESET_AFTER));
+
+        if ("0".equals(remaining) && resetAfter != null) {
+            providerThrottle.backOff(PlatformType.DISCORD, targetUrl, resetAfter);
+            log.debug("Discord webhook bucket exhausted. Backing off for {}", resetAfter);
+        }
+    }
 
-            delivery.markAsSuccess(responseData);
+    /**
+     * Discord informa la espera en {@code retry_after} del cuerpo o en el header
+     * {@code Retry-After}, en segundos con decimales
+     */
+    static Duration retryAfter(HttpHeaders headers, RateLimitResponse body) {
+        if (body != null && body.retryAfter() != null) {
+            return toDuration(body.retryAfter());
+        }
+        Duration header = parseSeconds(headers.getFirst(HttpHeaders.RETRY_AFTER));
+        return header != null ? header : parseSeconds(headers.getFirst(RATE_LIMIT_RESET_AFTER));
+    }
 
-        } catch (Exception e) {
-            log.error("Exception sending message to Discord: {}", e.getMessage(), e);
-            delivery.markAsFailed("Exception: " + e.getMessage());
+    private static Duration parseSeconds(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
         }
+        try {
+            return toDuration(Double.parseDouble(value.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 
-        return delivery;
+    private static Duration toDuration(double seconds) {
+        return Duration.ofMillis((long) Math.ceil(seconds * 1000));
+    }
+
+    @Override
+    public String resolveDestination(String destination) {
+        return (destination != null && !destination.isEmpty()) ? destination : webhookUrl;
     }
 
     @Override
@@ -94,7 +269,13 @@ public class DiscordService implements PlatformService {
 
     @Override
     public boolean isConfigured() {
-        return webhookUrl != null && !webhookUrl.isEmpty()
-                && webhookUrl.startsWith("https://discord.com/api/webhooks/");
+        return isWebhookUrl(webhookUrl);
+    }
+
+    /**
+     * Solo se envía a webhooks de Discord, nunca a una URL arbitraria recibida como destino
+     */
+    static boolean isWebhookUrl(String url) {
+        return url != null && url.startsWith(WEBHOOK_URL_PREFIX) && url.length() > WEBHOOK_URL_PREFIX.length();
     }
 }
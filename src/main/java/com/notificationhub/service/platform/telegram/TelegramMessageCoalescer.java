@@ -0,0 +1,98 @@
+package com.notificationhub.service.platform.telegram;
+
+import com.notificationhub.exception.custom.ProviderRejectedException;
+import com.notificationhub.service.platform.WindowedBatcher;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Agrupa los mensajes dirigidos a un mismo chat y los concatena en un único
+ * {@code sendMessage}, sin superar el largo máximo de Telegram. Los mensajes de un mismo
+ * envío reciben la misma respuesta, con el mismo {@code message_id}.
+ * <p>
+ * Los textos concatenados se envían sin {@code parse_mode}: un {@code *} o {@code _} sin cerrar
+ * en un mensaje haría fallar el Markdown de todo el envío o se mezclaría con el siguiente. Si
+ * Telegram igual rechaza el envío, cada mensaje se reenvía solo y con Markdown, para que el
+ * rechazo quede en el mensaje que lo causó.
+ */
+class TelegramMessageCoalescer extends WindowedBatcher<String, TelegramService.SendMessageResponse> {
+
+    static final String SEPARATOR = "\n\n";
+
+    private final int maxLength;
+    private final Sender sender;
+
+    /**
+     * @param window    Tiempo que se espera a otros mensajes del mismo chat
+     * @param maxLength Largo máximo del texto de un envío
+     * @param sender    Envía un texto a un chat y devuelve la respuesta de Telegram
+     */
+    TelegramMessageCoalescer(Duration window, int maxLength, Sender sender) {
+        super("Telegram", window);
+        this.maxLength = maxLength;
+        this.sender = sender;
+    }
+
+    @Override
+    public Mono<TelegramService.SendMessageResponse> submit(String chatId, String text) {
+        return submit(chatId, text, () -> {
+        });
+    }
+
+    /**
+     * @param onShared Se ejecuta si el {@code sendMessage} ya se informa con otro mensaje del lote
+     */
+    @Override
+    public Mono<TelegramService.SendMessageResponse> submit(String chatId, String text, Runnable onShared) {
+        if (text.length() > maxLength) {
+            return Mono.defer(() -> sender.send(chatId, text, TelegramService.PARSE_MODE));
+        }
+        return super.submit(chatId, text, onShared);
+    }
+
+    @Override
+    protected Mono<TelegramService.SendMessageResponse> send(String chatId, List<String> texts) {
+        if (texts.size() == 1) {
+            return sender.send(chatId, texts.get(0), TelegramService.PARSE_MODE);
+        }
+        return sender.send(chatId, String.join(SEPARATOR, texts), null);
+    }
+
+    @Override
+    protected boolean retryIndividually(Throwable error) {
+        return error instanceof ProviderRejectedException;
+    }
+
+    @Override
+    protected List<List<String>> chunks(List<String> texts) {
+        List<List<String>> chunks = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+        int length = 0;
+
+        for (String text : texts) {
+            int added = current.isEmpty() ? text.length() : SEPARATOR.length() + text.length();
+            if (!current.isEmpty() && length + added > maxLength) {
+                chunks.add(current);
+                current = new ArrayList<>();
+                added = text.length();
+                length = 0;
+            }
+            current.add(text);
+            length += added;
+        }
+
+        chunks.add(current);
+        return chunks;
+    }
+
+    /**
+     * Envía un texto a un chat; {@code parseMode} nulo envía el texto plano
+     */
+    @FunctionalInterface
+    interface Sender {
+        Mono<TelegramService.SendMessageResponse> send(String chatId, String text, String parseMode);
+    }
+}
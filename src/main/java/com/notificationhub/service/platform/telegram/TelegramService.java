@@ -1,88 +1,214 @@
 package com.notificationhub.service.platform.telegram;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.notificationhub.entity.MessageDelivery;
 import com.notificationhub.enums.DeliveryStatus;
 import com.notificationhub.enums.PlatformType;
-import com.notificationhub.exception.custom.MessageDeliveryException;
+import com.notificationhub.exception.custom.ProviderRateLimitedException;
+import com.notificationhub.exception.custom.ProviderRejectedException;
 import com.notificationhub.service.platform.PlatformService;
+import com.notificationhub.service.platform.ProviderThrottle;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 @Slf4j
 public class TelegramService implements PlatformService {
 
+    /**
+     * Largo máximo del texto de un {@code sendMessage}
+     */
+    static final int MAX_MESSAGE_LENGTH = 4096;
+    static final String PARSE_MODE = "markdown";
+
     private final WebClient webClient;
+    private final ProviderThrottle providerThrottle;
     private final String botToken;
     private final String defaultChatId;
+    private final TelegramMessageCoalescer coalescer;
 
     public TelegramService(
-            WebClient.Builder webClientBuilder,
+            @Qualifier("telegramWebClientBuilder") WebClient.Builder webClientBuilder,
+            ProviderThrottle providerThrottle,
             @Value("${telegram.bot.token}") String botToken,
-            @Value("${telegram.default-chat-id}") String defaultChatId) {
+            @Value("${telegram.default-chat-id}") String defaultChatId,
+            @Value("${telegram.coalesce.window-ms:0}") long coalesceWindowMs) {
 
+        this.providerThrottle = providerThrottle;
         this.botToken = botToken;
         this.defaultChatId = defaultChatId;
         String TELEGRAM_API_URL = "https://api.telegram.org/bot";
         this.webClient = webClientBuilder
                 .baseUrl(TELEGRAM_API_URL + botToken)
                 .build();
+        // Con ventana 0 cada entrega se envía por separado
+        this.coalescer = coalesceWindowMs > 0
+                ? new TelegramMessageCoalescer(Duration.ofMillis(coalesceWindowMs), MAX_MESSAGE_LENGTH, this::post)
+                : null;
     }
 
-    public MessageDelivery send(String content, String destination, String username) {
-        String chatId = (destination != null && !destination.isEmpty()) ? destination : defaultChatId;
-
-        log.info("Sending message to Telegram. Chat ID: {}", chatId);
+    @Override
+    public Mono<MessageDelivery> sendAsync(String content, String destination, String username) {
+        return Mono.defer(() -> {
+            String chatId = resolveDestination(destination);
 
-        MessageDelivery delivery = MessageDelivery.builder()
-                .platformType(PlatformType.TELEGRAM)
-                .destination(chatId)
-                .status(DeliveryStatus.PENDING)
-                .build();
+            log.info("Sending message to Telegram. Chat ID: {}", chatId);
 
-        try {
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("chat_id", chatId);
+            MessageDelivery delivery = MessageDelivery.builder()
+                    .platformType(PlatformType.TELEGRAM)
+                    .destination(chatId)
+                    .status(DeliveryStatus.PENDING)
+                    .build();
 
-            String signedContent = String.format("**From: %s**\n\n%s", username, content);
-            requestBody.put("text", signedContent);
-            requestBody.put("parse_mode", "markdown");
+            Optional<LocalDateTime> backoff = providerThrottle.backoffUntil(PlatformType.TELEGRAM, chatId);
+            if (backoff.isPresent()) {
+                log.info("Telegram chat {} is backing off until {}. Deferring delivery", chatId, backoff.get());
+                delivery.markAsDeferred(backoff.get(), "Deferred: Telegram rate limit");
+                return Mono.just(delivery);
+            }
 
-            var response = webClient.post()
-                    .uri("/sendMessage")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(Map.class)
+            String signedContent = PlatformService.sign(username, content);
+            Mono<SendMessageResponse> sent = coalescer != null
+                    ? coalescer.submit(chatId, signedContent, delivery::markAsSharedCall)
+                    : post(chatId, signedContent, PARSE_MODE);
+
+            return sent
+                    .map(response -> {
+                        if (response.ok()) {
+                            log.info("Message sent successfully to Telegram");
+                            delivery.markAsSuccess(response.providerResponse());
+                        } else if (isRejection(response.errorCode())) {
+                            log.error("Telegram API rejected the message: {}", response);
+                            delivery.markAsRejected("Telegram API error: " + response.description());
+                        } else {
+                            log.error("Telegram API returned error: {}", response);
+                            delivery.markAsFailed("Telegram API error: " + response.description());
+                        }
+                        return delivery;
+                    })
+                    .switchIfEmpty(Mono.fromSupplier(() -> {
+                        log.error("Telegram API returned an empty response");
+                        delivery.markAsFailed("Telegram API error: Unknown error");
+                        return delivery;
+                    }))
+                    .onErrorResume(ProviderRateLimitedException.class, e -> {
+                        LocalDateTime until = providerThrottle.rateLimited(PlatformType.TELEGRAM, chatId, e.getRetryAfter());
+                        delivery.markAsRateLimited(until, e.getMessage());
+                        return Mono.just(delivery);
+                    })
+                    .onErrorResume(ProviderRejectedException.class, e -> {
+                        log.error("Telegram API rejected the message: {}", e.getMessage());
+                        delivery.markAsRejected(e.getMessage());
+                        return Mono.just(delivery);
+                    })
                     .onErrorResume(e -> {
                         log.error("Error calling Telegram API: {}", e.getMessage());
-                        return Mono.error(new MessageDeliveryException("Failed to send message to Telegram: " + e.getMessage()));
-                    })
-                    .block();
-
-            boolean success = response != null && Boolean.TRUE.equals(response.get("ok"));
-            if (success) {
-                log.info("Message sent successfully to Telegram");
-                delivery.markAsSuccess(response);
-            } else {
-                String errorMsg = response != null ? response.toString() : "Unknown error";
-                log.error("Telegram API returned error: {}", errorMsg);
-                delivery.markAsFailed("Telegram API error: " + errorMsg);
-            }
+                        delivery.markAsFailed("Exception: Failed to send message to Telegram: " + e.getMessage());
+                        return Mono.just(delivery);
+                    });
+        });
+    }
+
+    /**
+     * Envía un texto a un chat, como texto plano si {@code parseMode} es nulo. Un 429 se
+     * informa como {@link ProviderRateLimitedException} y el resto de los 4xx (chat
+     * inexistente, bot bloqueado, token inválido, Markdown mal formado) como
+     * {@link ProviderRejectedException}
+     */
+    private Mono<SendMessageResponse> post(String chatId, String text, String parseMode) {
+        return webClient.post()
+                .uri("/sendMessage")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new SendMessageRequest(chatId, text, parseMode))
+                .retrieve()
+                .onStatus(
+                        status -> status.value() == HttpStatus.TOO_MANY_REQUESTS.value(),
+                        clientResponse -> clientResponse.bodyToMono(SendMessageResponse.class)
+                                .map(body -> new ProviderRateLimitedException(
+                                        "Telegram rate limit: " + body.description(), retryAfter(body)))
+                                .defaultIfEmpty(new ProviderRateLimitedException("Telegram rate limit", null))
+                )
+                .onStatus(
+                        HttpStatusCode::is4xxClientError,
+                        clientResponse -> clientResponse.bodyToMono(SendMessageResponse.class)
+                                .map(body -> new ProviderRejectedException("Telegram API error: " + body.description()))
+                                .defaultIfEmpty(new ProviderRejectedException(
+                                        "Telegram API error: " + clientResponse.statusCode()))
+                )
+                .bodyToMono(SendMessageResponse.class);
+    }
 
-        } catch (Exception e) {
-            log.error("Exception sending message to Telegram: {}", e.getMessage(), e);
-            delivery.markAsFailed("Exception: " + e.getMessage());
+    /**
+     * Un {@code error_code} 4xx distinto de 429 no se resuelve reintentando
+     */
+    static boolean isRejection(Integer errorCode) {
+        return errorCode != null
+                && errorCode >= 400 && errorCode < 500
+                && errorCode != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    /**
+     * Telegram informa la espera en {@code parameters.retry_after}, en segundos
+     */
+    static Duration retryAfter(SendMessageResponse body) {
+        if (body.parameters() != null && body.parameters().retryAfter() != null) {
+            return Duration.ofSeconds(body.parameters().retryAfter());
+        }
+        return null;
+    }
+
+    /**
+     * Cuerpo de {@code sendMessage}
+     */
+    record SendMessageRequest(@JsonProperty("chat_id") String chatId,
+                              String text,
+                              @JsonProperty("parse_mode") @JsonInclude(JsonInclude.Include.NON_NULL) String parseMode) {
+    }
+
+    /**
+     * Respuesta de la Bot API. Solo se leen los campos que usa el servicio
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record SendMessageResponse(boolean ok,
+                               Result result,
+                               @JsonProperty("error_code") Integer errorCode,
+                               String description,
+                               Parameters parameters) {
+
+        /**
+         * Lo que se guarda de la respuesta en la entrega
+         */
+        Map<String, Object> providerResponse() {
+            return result != null && result.messageId() != null
+                    ? Map.of("message_id", result.messageId())
+                    : Map.of();
+        }
+
+        @JsonIgnoreProperties(ignoreUnknown = true)
+        record Result(@JsonProperty("message_id") Long messageId) {
         }
 
-        return delivery;
+        @JsonIgnoreProperties(ignoreUnknown = true)
+        record Parameters(@JsonProperty("retry_after") Long retryAfter) {
+        }
+    }
+
+    public String resolveDestination(String destination) {
+        return (destination != null && !destination.isEmpty()) ? destination : defaultChatId;
     }
 
     public PlatformType getPlatformType() {
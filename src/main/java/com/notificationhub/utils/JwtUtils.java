@@ -1,7 +1,12 @@
 package com.notificationhub.utils;
 
 import com.notificationhub.config.JwtProperties;
+import com.notificationhub.entity.User;
+import com.notificationhub.enums.Role;
+import com.notificationhub.security.model.AuthenticatedUser;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.security.core.GrantedAuthority;
@@ -11,48 +16,67 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtUtils {
 
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    static final String DAILY_LIMIT_CLAIM = "dailyLimit";
+
     private final JwtProperties jwtProperties;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
 
     public JwtUtils(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
+        // La clave y el parser son inmutables y thread-safe: se arman una vez y no por token
+        this.signingKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
-    }
-
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    /**
+     * Verifica la firma y la expiración del token en un solo parseo
+     *
+     * @param token JWT recibido
+     * @return Claims verificados, o vacío si el token es inválido o expiró
+     */
+    public Optional<Claims> parseVerifiedClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(extractAllClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private Claims extractAllClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
+    public String generateToken(UserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>();
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
+        Collection<? extends GrantedAuthority> authorities = userDetails.getAuthorities();
+        if (authorities != null && !authorities.isEmpty()) {
+            claims.put("roles", authorities.stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .collect(Collectors.toList()));
+        }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return createToken(claims, userDetails.getUsername());
     }
 
-    public String generateToken(UserDetails userDetails) {
+    /**
+     * Genera un token que además identifica al usuario, para que las requests autenticadas
+     * no tengan que buscarlo en la base
+     */
+    public String generateToken(UserDetails userDetails, User user) {
         Map<String, Object> claims = new HashMap<>();
 
         Collection<? extends GrantedAuthority> authorities = userDetails.getAuthorities();
@@ -61,40 +85,49 @@ public class JwtUtils {
                     .map(GrantedAuthority::getAuthority)
                     .collect(Collectors.toList()));
         }
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        claims.put(DAILY_LIMIT_CLAIM, user.getDailyMessageLimit());
 
         return createToken(claims, userDetails.getUsername());
     }
 
+    /**
+     * Arma el principal desde claims verificados
+     *
+     * @param claims Claims devueltos por {@link #parseVerifiedClaims(String)}
+     * @return Usuario autenticado, o vacío si el token no trae los datos del usuario
+     */
+    public Optional<AuthenticatedUser> extractAuthenticatedUser(Claims claims) {
+        if (claims.get(USER_ID_CLAIM) instanceof Number id
+                && claims.get(ROLE_CLAIM) instanceof String role
+                && claims.get(DAILY_LIMIT_CLAIM) instanceof Number dailyLimit) {
+            try {
+                return Optional.of(new AuthenticatedUser(
+                        id.longValue(), claims.getSubject(), Role.valueOf(role), dailyLimit.intValue()));
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .claims(claims)
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtProperties.getExpiration()))
-                .signWith(getSigningKey(), Jwts.SIG.HS256)
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
     public Boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
+        return parseVerifiedClaims(token).isPresent();
     }
 
     @SuppressWarnings("unchecked")
-    public List<String> extractRoles(String token) {
-        Claims claims = extractAllClaims(token);
+    public List<String> extractRoles(Claims claims) {
         List<String> roles = claims.get("roles", List.class);
         return roles != null ? roles : new ArrayList<>();
     }
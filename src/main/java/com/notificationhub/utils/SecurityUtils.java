@@ -2,6 +2,7 @@ package com.notificationhub.utils;
 
 import com.notificationhub.entity.User;
 import com.notificationhub.repository.UserRepository;
+import com.notificationhub.security.model.AuthenticatedUser;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,6 +25,9 @@ public class SecurityUtils {
         }
 
         Object principal = authentication.getPrincipal();
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.toUser();
+        }
         if (principal instanceof UserDetails) {
             String username = ((UserDetails) principal).getUsername();
             return userRepository.findByUsername(username)
@@ -0,0 +1,47 @@
+-- Esquema inicial, el mismo que generaba Hibernate con ddl-auto: update antes de Flyway.
+-- Las bases creadas antes de Flyway se marcan en esta versión (baseline-on-migrate)
+-- y solo aplican las migraciones siguientes, así que este archivo no debe cambiar.
+
+CREATE TABLE users (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username            VARCHAR(50)  NOT NULL,
+    password_hash       VARCHAR(255) NOT NULL,
+    role                VARCHAR(255) NOT NULL CHECK (role IN ('ADMIN', 'USER')),
+    daily_message_limit INTEGER      NOT NULL,
+    created_at          TIMESTAMP(6) NOT NULL,
+    updated_at          TIMESTAMP(6),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE messages (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    BIGINT       NOT NULL,
+    content    TEXT         NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_messages_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE message_deliveries (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    message_id        BIGINT       NOT NULL,
+    platform_type     VARCHAR(255) NOT NULL CHECK (platform_type IN ('DISCORD', 'TELEGRAM')),
+    destination       VARCHAR(255) NOT NULL,
+    status            VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'SUCCESS', 'FAILED')),
+    provider_response JSON,
+    error_message     TEXT,
+    sent_at           TIMESTAMP(6),
+    created_at        TIMESTAMP(6) NOT NULL,
+    updated_at        TIMESTAMP(6),
+    CONSTRAINT fk_message_deliveries_message FOREIGN KEY (message_id) REFERENCES messages (id)
+);
+
+CREATE TABLE daily_message_counts (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    BIGINT       NOT NULL,
+    date       DATE         NOT NULL,
+    count      INTEGER      NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_daily_message_counts_user_date UNIQUE (user_id, date),
+    CONSTRAINT fk_daily_message_counts_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
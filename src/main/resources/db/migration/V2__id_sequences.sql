@@ -0,0 +1,17 @@
+-- Ids de messages y message_deliveries por secuencia, para que Hibernate reserve bloques
+-- de 50 y pueda agrupar los INSERT en batches (con IDENTITY inserta fila por fila).
+--
+-- Se quita el IDENTITY para que ninguna instancia con la versión anterior siga generando
+-- ids por su cuenta: chocarían con los bloques que reserva la secuencia. Esas instancias
+-- fallan al guardar mensajes hasta que se actualizan.
+
+CREATE SEQUENCE messages_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE message_deliveries_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE messages ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE message_deliveries ALTER COLUMN id DROP IDENTITY;
+
+-- Hibernate usa como bloque los 50 ids que terminan en el valor de nextval, así que el
+-- primer nextval tiene que quedar al menos 50 por encima del id más alto existente.
+SELECT setval('messages_seq', COALESCE((SELECT MAX(id) FROM messages), 0) + 50, false);
+SELECT setval('message_deliveries_seq', COALESCE((SELECT MAX(id) FROM message_deliveries), 0) + 50, false);
@@ -0,0 +1,11 @@
+-- Reintentos de entregas: next_attempt_at es el momento desde el cual el dispatcher puede
+-- tomar la entrega (NULL = ya) y attempts cuenta los intentos fallidos.
+
+ALTER TABLE message_deliveries ADD COLUMN next_attempt_at TIMESTAMP(6);
+ALTER TABLE message_deliveries ADD COLUMN attempts INTEGER NOT NULL DEFAULT 0;
+
+-- Antes de los reintentos cada entrega FAILED tuvo exactamente un intento fallido.
+UPDATE message_deliveries SET attempts = 1 WHERE status = 'FAILED';
+
+-- Las PENDING quedan con next_attempt_at NULL: eran envíos que no terminaron (por ejemplo
+-- por un reinicio) y el dispatcher las toma en su próxima pasada.
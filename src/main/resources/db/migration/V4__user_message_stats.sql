@@ -0,0 +1,42 @@
+-- Contadores de mensajes por usuario. Desde acá los mantiene la aplicación con un upsert
+-- por envío y por resultado de entrega; este INSERT crea los del historial previo.
+--
+-- Durante un despliegue gradual, las instancias con la versión anterior ya no pueden guardar
+-- mensajes (V2), pero sí terminar las entregas que tenían en curso sin actualizar los
+-- contadores: esos resultados no quedan contados. Para corregirlo, borrar las filas de
+-- user_message_stats y volver a correr este INSERT una vez que todas las instancias estén
+-- en la versión nueva.
+
+CREATE TABLE user_message_stats (
+    user_id               BIGINT NOT NULL PRIMARY KEY,
+    total_messages        BIGINT NOT NULL,
+    telegram_deliveries   BIGINT NOT NULL,
+    discord_deliveries    BIGINT NOT NULL,
+    successful_deliveries BIGINT NOT NULL,
+    failed_deliveries     BIGINT NOT NULL,
+    last_sent_at          TIMESTAMP(6),
+    CONSTRAINT fk_user_message_stats_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+INSERT INTO user_message_stats (user_id, total_messages, telegram_deliveries, discord_deliveries,
+                                successful_deliveries, failed_deliveries, last_sent_at)
+SELECT u.id,
+       COALESCE(m.total_messages, 0),
+       COALESCE(d.telegram_deliveries, 0),
+       COALESCE(d.discord_deliveries, 0),
+       COALESCE(d.successful_deliveries, 0),
+       COALESCE(d.failed_deliveries, 0),
+       m.last_sent_at
+FROM users u
+LEFT JOIN (SELECT user_id, COUNT(*) AS total_messages, MAX(created_at) AS last_sent_at
+           FROM messages
+           GROUP BY user_id) m ON m.user_id = u.id
+LEFT JOIN (SELECT msg.user_id,
+                  COUNT(*) FILTER (WHERE d.platform_type = 'TELEGRAM') AS telegram_deliveries,
+                  COUNT(*) FILTER (WHERE d.platform_type = 'DISCORD')  AS discord_deliveries,
+                  COUNT(*) FILTER (WHERE d.status = 'SUCCESS')         AS successful_deliveries,
+                  COUNT(*) FILTER (WHERE d.status = 'FAILED')          AS failed_deliveries
+           FROM message_deliveries d
+           JOIN messages msg ON msg.id = d.message_id
+           GROUP BY msg.user_id) d ON d.user_id = u.id
+ON CONFLICT (user_id) DO NOTHING;
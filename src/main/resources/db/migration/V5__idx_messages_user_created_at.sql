@@ -0,0 +1,6 @@
+-- Historial de un usuario por cursor: WHERE user_id = ? ORDER BY created_at DESC, id DESC.
+-- CONCURRENTLY no bloquea las escrituras mientras se construye y no puede correr dentro de
+-- una transacción (ver el .conf). IF NOT EXISTS porque algunas bases ya pueden tenerlo
+-- creado a mano; si una corrida anterior falló, borrar antes el índice INVALID que dejó.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_messages_user_created_at
+    ON messages (user_id, created_at DESC, id DESC);
@@ -0,0 +1,4 @@
+-- Historial completo (ADMIN) por cursor: ORDER BY created_at DESC, id DESC.
+-- Sin transacción, igual que V5.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_messages_created_at
+    ON messages (created_at DESC, id DESC);
@@ -0,0 +1,4 @@
+-- Carga de entregas por mensaje y EXISTS de los filtros por plataforma y estado.
+-- Sin transacción, igual que V5.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_message_deliveries_message_platform_status
+    ON message_deliveries (message_id, platform_type, status);
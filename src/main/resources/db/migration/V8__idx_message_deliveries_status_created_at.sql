@@ -0,0 +1,4 @@
+-- Cola del dispatcher: WHERE status = 'PENDING' ORDER BY created_at.
+-- Sin transacción, igual que V5.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_message_deliveries_status_created_at
+    ON message_deliveries (status, created_at);
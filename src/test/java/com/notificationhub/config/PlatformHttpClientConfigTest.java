@@ -0,0 +1,32 @@
+package com.notificationhub.config;
+
+import io.micrometer.common.KeyValue;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientRequestObservationContext;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlatformHttpClientConfigTest {
+
+    private static final String WEBHOOK_URL = "https://discord.com/api/webhooks/123456789/secret-token";
+
+    @Test
+    void observation_does_not_expose_the_request_uri() {
+        ClientRequestObservationContext context = new ClientRequestObservationContext(
+                ClientRequest.create(HttpMethod.POST, URI.create(WEBHOOK_URL)));
+        context.setUriTemplate(WEBHOOK_URL);
+
+        PlatformHttpClientConfig.RedactedUriObservationConvention convention =
+                new PlatformHttpClientConfig.RedactedUriObservationConvention();
+
+        assertThat(convention.getLowCardinalityKeyValues(context))
+                .contains(KeyValue.of("uri", "none"))
+                .noneMatch(keyValue -> keyValue.getValue().contains("secret-token"));
+        assertThat(convention.getHighCardinalityKeyValues(context))
+                .noneMatch(keyValue -> keyValue.getValue().contains("secret-token"));
+    }
+}
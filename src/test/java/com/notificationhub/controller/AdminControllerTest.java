@@ -1,5 +1,7 @@
 package com.notificationhub.controller;
 
+import com.notificationhub.dto.criteria.MessageCursor;
+import com.notificationhub.dto.response.CursorPage;
 import com.notificationhub.dto.response.MessageResponse;
 import com.notificationhub.dto.response.MetricsResponse;
 import com.notificationhub.entity.Message;
@@ -27,6 +29,9 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -87,11 +92,11 @@ public class AdminControllerTest {
     // ==================== GET ALL MESSAGES TESTS ====================
 
     @Test
-    @DisplayName("Should return all messages paginated with default params")
+    @DisplayName("Should return the first page of messages with default params")
     void getAllMessagesDefaultParamsReturnsOk() throws Exception {
-        Page<Message> messagePage = new PageImpl<>(List.of(testMessage), PageRequest.of(0, 20), 1);
+        CursorPage<Message> messagePage = new CursorPage<>(List.of(testMessage), "next-cursor", true);
 
-        when(messageService.getAllMessages(any(Pageable.class))).thenReturn(messagePage);
+        when(messageService.getAllMessages(isNull(), eq(20))).thenReturn(messagePage);
         when(messageMapper.toResponse(any(Message.class))).thenReturn(testMessageResponse);
 
         mockMvc.perform(get(API_ADMIN_MESSAGES))
@@ -101,59 +106,67 @@ public class AdminControllerTest {
                 .andExpect(jsonPath("$.content.length()").value(1))
                 .andExpect(jsonPath("$.content[0].id").value(1L))
                 .andExpect(jsonPath("$.content[0].username").value("testuser"))
-                .andExpect(jsonPath("$.totalElements").value(1))
-                .andExpect(jsonPath("$.size").value(20));
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
 
-        verify(messageService).getAllMessages(any(Pageable.class));
+        verify(messageService).getAllMessages(null, 20);
         verify(messageMapper).toResponse(testMessage);
     }
 
     @Test
-    @DisplayName("Should return all messages with custom pagination")
-    void getAllMessagesCustomParamsReturnsOk() throws Exception {
-        Page<Message> messagePage = new PageImpl<>(List.of(testMessage), PageRequest.of(1, 10), 11);
-
-        when(messageService.getAllMessages(any(Pageable.class))).thenReturn(messagePage);
+    @DisplayName("Should continue after the position encoded in the cursor")
+    void getAllMessagesWithCursorReturnsOk() throws Exception {
+        MessageCursor cursor = new MessageCursor(LocalDateTime.of(2025, 10, 27, 10, 41, 55), 42L);
+        when(messageService.getAllMessages(any(MessageCursor.class), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(testMessage), null, false));
         when(messageMapper.toResponse(any(Message.class))).thenReturn(testMessageResponse);
 
         mockMvc.perform(get(API_ADMIN_MESSAGES)
-                        .param("page", "1")
+                        .param("cursor", cursor.encode())
                         .param("size", "10"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.number").value(1))
-                .andExpect(jsonPath("$.size").value(10))
-                .andExpect(jsonPath("$.totalElements").value(11));
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        verify(messageService).getAllMessages(cursor, 10);
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor that was not issued by the API")
+    void getAllMessagesInvalidCursorReturnsBadRequest() throws Exception {
+        mockMvc.perform(get(API_ADMIN_MESSAGES)
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
 
-        verify(messageService).getAllMessages(any(Pageable.class));
+        verify(messageService, never()).getAllMessages(any(), anyInt());
     }
 
     @Test
     @DisplayName("Should return empty page when no messages found")
     void getAllMessagesEmptyReturnsOk() throws Exception {
-        Page<Message> emptyPage = new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 20), 0);
-
-        when(messageService.getAllMessages(any(Pageable.class))).thenReturn(emptyPage);
+        when(messageService.getAllMessages(isNull(), anyInt())).thenReturn(new CursorPage<>(List.of(), null, false));
 
         mockMvc.perform(get(API_ADMIN_MESSAGES))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isEmpty())
-                .andExpect(jsonPath("$.totalElements").value(0))
-                .andExpect(jsonPath("$.empty").value(true));
+                .andExpect(jsonPath("$.hasNext").value(false));
 
-        verify(messageService).getAllMessages(any(Pageable.class));
+        verify(messageService).getAllMessages(null, 20);
         verify(messageMapper, never()).toResponse(any());
     }
 
     @Test
     @DisplayName("Should handle service exception in getAllMessages")
     void getAllMessagesServiceErrorReturnsInternalServerError() throws Exception {
-        when(messageService.getAllMessages(any(Pageable.class)))
+        when(messageService.getAllMessages(isNull(), anyInt()))
                 .thenThrow(new RuntimeException("Database error"));
 
         mockMvc.perform(get(API_ADMIN_MESSAGES))
                 .andExpect(status().is5xxServerError());
 
-        verify(messageService).getAllMessages(any(Pageable.class));
+        verify(messageService).getAllMessages(null, 20);
     }
 
     // ==================== GET METRICS TESTS ====================
@@ -161,43 +174,45 @@ public class AdminControllerTest {
     @Test
     @DisplayName("Should return metrics list successfully")
     void getMetricsReturnsOk() throws Exception {
-        List<MetricsResponse> metricsList = Collections.singletonList(testMetricsResponse);
-        when(messageService.getAllUserMetrics()).thenReturn(metricsList);
+        Page<MetricsResponse> metricsPage = new PageImpl<>(List.of(testMetricsResponse), PageRequest.of(0, 50), 1);
+        when(messageService.getAllUserMetrics(any(Pageable.class))).thenReturn(metricsPage);
 
         mockMvc.perform(get(API_ADMIN_METRICS))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].username").value("testuser"))
-                .andExpect(jsonPath("$[0].messagesSentToday").value(10))
-                .andExpect(jsonPath("$[0].remainingMessagesToday").value(90));
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].username").value("testuser"))
+                .andExpect(jsonPath("$.content[0].messagesSentToday").value(10))
+                .andExpect(jsonPath("$.content[0].remainingMessagesToday").value(90))
+                .andExpect(jsonPath("$.size").value(50));
 
-        verify(messageService).getAllUserMetrics();
+        verify(messageService).getAllUserMetrics(any(Pageable.class));
     }
 
     @Test
     @DisplayName("Should return empty list when no metrics available")
     void getMetricsEmptyReturnsOk() throws Exception {
-        when(messageService.getAllUserMetrics()).thenReturn(Collections.emptyList());
+        when(messageService.getAllUserMetrics(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 50), 0));
 
         mockMvc.perform(get(API_ADMIN_METRICS))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(0));
+                .andExpect(jsonPath("$.content").isEmpty())
+                .andExpect(jsonPath("$.totalElements").value(0));
 
-        verify(messageService).getAllUserMetrics();
+        verify(messageService).getAllUserMetrics(any(Pageable.class));
     }
 
     @Test
     @DisplayName("Should handle service exception in getMetrics")
     void getMetricsServiceErrorReturnsInternalServerError() throws Exception {
-        when(messageService.getAllUserMetrics())
+        when(messageService.getAllUserMetrics(any(Pageable.class)))
                 .thenThrow(new RuntimeException("Service failure"));
 
         mockMvc.perform(get(API_ADMIN_METRICS))
                 .andExpect(status().is5xxServerError());
 
-        verify(messageService).getAllUserMetrics();
+        verify(messageService).getAllUserMetrics(any(Pageable.class));
     }
 }
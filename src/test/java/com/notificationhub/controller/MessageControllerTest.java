@@ -1,7 +1,12 @@
 package com.notificationhub.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.notificationhub.dto.criteria.MessageCursor;
+import com.notificationhub.dto.request.BatchMessageRequest;
 import com.notificationhub.dto.request.MessageRequest;
+import com.notificationhub.dto.response.BatchItemResponse;
+import com.notificationhub.dto.response.BatchMessageResponse;
+import com.notificationhub.dto.response.CursorPage;
 import com.notificationhub.dto.response.MessageResponse;
 import com.notificationhub.dto.request.DestinationRequest;
 import com.notificationhub.dto.response.MessageDeliveryResponse;
@@ -9,6 +14,7 @@ import com.notificationhub.entity.*;
 import com.notificationhub.enums.DeliveryStatus;
 import com.notificationhub.enums.PlatformType;
 import com.notificationhub.enums.Role;
+import com.notificationhub.exception.custom.RateLimitExceededException;
 import com.notificationhub.exception.handler.GlobalExceptionHandler;
 import com.notificationhub.service.MessageService;
 import com.notificationhub.mapper.MessageMapper;
@@ -18,10 +24,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -33,6 +35,8 @@ import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -44,6 +48,8 @@ class MessageControllerTest {
 
     private final String API_MESSAGES_GET = "/api/messages";
     private final String API_MESSAGES_SEND = "/api/messages/send";
+    private final String API_MESSAGES_SEND_ASYNC = "/api/messages/send/async";
+    private final String API_MESSAGES_BATCH = "/api/messages/batch";
     private MockMvc mockMvc;
 
     @Mock
@@ -315,22 +321,151 @@ class MessageControllerTest {
         verify(messageMapper, never()).toResponse(any());
     }
 
+    @Test
+    @DisplayName("Should queue message and return 202 ACCEPTED")
+    void queueMessageValidRequestReturnsAccepted() throws Exception {
+        MessageResponse pendingResponse = MessageResponse.builder()
+                .id(1L)
+                .content("Test message content")
+                .username("testuser")
+                .deliveries(List.of(MessageDeliveryResponse.builder()
+                        .id(3L)
+                        .platform(PlatformType.TELEGRAM)
+                        .destination("-6614987624")
+                        .status(DeliveryStatus.PENDING)
+                        .build()))
+                .build();
+        when(messageService.queueMessage(any(MessageRequest.class))).thenReturn(successMessage);
+        when(messageMapper.toResponse(successMessage)).thenReturn(pendingResponse);
+
+        mockMvc.perform(post(API_MESSAGES_SEND_ASYNC)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validMessageRequest)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(1L))
+                .andExpect(jsonPath("$.deliveries[0].status").value("PENDING"));
+
+        verify(messageService).queueMessage(any(MessageRequest.class));
+        verify(messageService, never()).sendMessage(any());
+    }
+
+    @Test
+    @DisplayName("Should return 429 when queueing over the daily limit")
+    void queueMessageRateLimitExceededReturnsTooManyRequests() throws Exception {
+        when(messageService.queueMessage(any(MessageRequest.class)))
+                .thenThrow(new RateLimitExceededException("Daily message limit exceeded"));
+
+        mockMvc.perform(post(API_MESSAGES_SEND_ASYNC)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validMessageRequest)))
+                .andExpect(status().isTooManyRequests());
+
+        verify(messageMapper, never()).toResponse(any());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when queueing with empty content")
+    void queueMessageEmptyContentReturnsBadRequest() throws Exception {
+        MessageRequest invalidRequest = new MessageRequest("", validMessageRequest.getDestinations());
+
+        mockMvc.perform(post(API_MESSAGES_SEND_ASYNC)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(invalidRequest)))
+                .andExpect(status().isBadRequest());
+
+        verify(messageService, never()).queueMessage(any());
+    }
+
+    @Test
+    @DisplayName("Should queue batch and return per-message results")
+    void queueBatchValidRequestReturnsAccepted() throws Exception {
+        BatchMessageResponse batchResponse = BatchMessageResponse.builder()
+                .queued(1)
+                .rejected(1)
+                .results(List.of(
+                        BatchItemResponse.builder().index(0).queued(true).messageId(42L).build(),
+                        BatchItemResponse.builder().index(1).queued(false).error("Platform not configured: DISCORD").build()))
+                .build();
+        when(messageService.queueBatch(anyList())).thenReturn(batchResponse);
+
+        BatchMessageRequest request = new BatchMessageRequest(List.of(validMessageRequest, validMessageRequest));
+
+        mockMvc.perform(post(API_MESSAGES_BATCH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.queued").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].messageId").value(42))
+                .andExpect(jsonPath("$.results[1].queued").value(false))
+                .andExpect(jsonPath("$.results[1].error").value("Platform not configured: DISCORD"));
+
+        verify(messageService).queueBatch(argThat(messages -> messages.size() == 2));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for empty batch")
+    void queueBatchEmptyMessagesReturnsBadRequest() throws Exception {
+        BatchMessageRequest request = new BatchMessageRequest(List.of());
+
+        mockMvc.perform(post(API_MESSAGES_BATCH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(messageService, never()).queueBatch(any());
+    }
+
+    @Test
+    @DisplayName("Should pass invalid messages to the service to be rejected individually")
+    void queueBatchInvalidMessageIsNotRejectedAsAWhole() throws Exception {
+        BatchMessageResponse batchResponse = BatchMessageResponse.builder()
+                .queued(1)
+                .rejected(1)
+                .results(List.of(
+                        BatchItemResponse.builder().index(0).queued(true).messageId(42L).build(),
+                        BatchItemResponse.builder().index(1).queued(false).error("content: Message content is required").build()))
+                .build();
+        when(messageService.queueBatch(anyList())).thenReturn(batchResponse);
+
+        MessageRequest invalid = new MessageRequest("", validMessageRequest.getDestinations());
+        BatchMessageRequest request = new BatchMessageRequest(List.of(validMessageRequest, invalid));
+
+        mockMvc.perform(post(API_MESSAGES_BATCH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.results[1].error").value("content: Message content is required"));
+
+        verify(messageService).queueBatch(argThat(messages -> messages.size() == 2));
+    }
+
+    @Test
+    @DisplayName("Should return 429 when quota does not cover the batch")
+    void queueBatchRateLimitExceededReturnsTooManyRequests() throws Exception {
+        when(messageService.queueBatch(anyList()))
+                .thenThrow(new RateLimitExceededException("Daily message limit exceeded"));
+
+        BatchMessageRequest request = new BatchMessageRequest(List.of(validMessageRequest));
+
+        mockMvc.perform(post(API_MESSAGES_BATCH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests());
+    }
+
     @Test
     @DisplayName("Should return user messages without filters")
     void getMyMessagesWithoutFiltersReturnsOk() throws Exception {
-        org.springframework.data.domain.Page<Message> messagePage = createMockPage(
-                List.of(successMessage),
-                0,
-                20,
-                1
-        );
+        CursorPage<Message> messagePage = new CursorPage<>(List.of(successMessage), null, false);
 
         when(messageService.getUserMessagesWithFilters(
                 isNull(),
                 isNull(),
                 isNull(),
                 isNull(),
-                any(org.springframework.data.domain.Pageable.class)
+                isNull(),
+                anyInt()
         )).thenReturn(messagePage);
         when(messageMapper.toResponse(any(Message.class))).thenReturn(successResponse);
 
@@ -346,26 +481,23 @@ class MessageControllerTest {
                 isNull(),
                 isNull(),
                 isNull(),
-                any(org.springframework.data.domain.Pageable.class)
+                isNull(),
+                anyInt()
         );
     }
 
     @Test
     @DisplayName("Should return user messages with status filter")
     void getMyMessagesWithStatusFilterReturnsOk() throws Exception {
-        org.springframework.data.domain.Page<Message> messagePage = createMockPage(
-                List.of(successMessage),
-                0,
-                20,
-                1
-        );
+        CursorPage<Message> messagePage = new CursorPage<>(List.of(successMessage), null, false);
 
         when(messageService.getUserMessagesWithFilters(
                 eq(DeliveryStatus.SUCCESS),
                 isNull(),
                 isNull(),
                 isNull(),
-                any(org.springframework.data.domain.Pageable.class)
+                isNull(),
+                anyInt()
         )).thenReturn(messagePage);
         when(messageMapper.toResponse(any(Message.class))).thenReturn(successResponse);
 
@@ -379,26 +511,23 @@ class MessageControllerTest {
                 isNull(),
                 isNull(),
                 isNull(),
-                any(org.springframework.data.domain.Pageable.class)
+                isNull(),
+                anyInt()
         );
     }
 
     @Test
     @DisplayName("Should return user messages with platform filter")
     void getMyMessagesWithPlatformFilterReturnsOk() throws Exception {
-        org.springframework.data.domain.Page<Message> messagePage = createMockPage(
-                List.of(successMessage),
-                0,
-                20,
-                1
-        );
+        CursorPage<Message> messagePage = new CursorPage<>(List.of(successMessage), null, false);
 
         when(messageService.getUserMessagesWithFilters(
                 isNull(),
                 eq(PlatformType.DISCORD),
                 isNull(),
                 isNull(),
-                any(org.springframework.data.domain.Pageable.class)
+                isNull(),
+                anyInt()
         )).thenReturn(messagePage);
         when(messageMapper.toResponse(any(Message.class))).thenReturn(successResponse);
 
@@ -412,19 +541,15 @@ class MessageControllerTest {
                 eq(PlatformType.DISCORD),
                 isNull(),
                 isNull(),
-                any(org.springframework.data.domain.Pageable.class)
+                isNull(),
+                anyInt()
         );
     }
 
     @Test
     @DisplayName("Should return user messages with date range filter")
     void getMyMessagesWithDateRangeReturnsOk() throws Exception {
-        org.springframework.data.domain.Page<Message> messagePage = createMockPage(
-                List.of(successMessage),
-                0,
-                20,
-                1
-        );
+        CursorPage<Message> messagePage = new CursorPage<>(List.of(successMessage), null, false);
 
         LocalDateTime from = LocalDateTime.now().minusDays(1);
         LocalDateTime to = LocalDateTime.now();
@@ -434,7 +559,8 @@ class MessageControllerTest {
                 isNull(),
                 any(LocalDateTime.class),
                 any(LocalDateTime.class),
-                any(org.springframework.data.domain.Pageable.class)
+                isNull(),
+                anyInt()
         )).thenReturn(messagePage);
         when(messageMapper.toResponse(any(Message.class))).thenReturn(successResponse);
 
@@ -449,19 +575,15 @@ class MessageControllerTest {
                 isNull(),
                 any(LocalDateTime.class),
                 any(LocalDateTime.class),
-                any(org.springframework.data.domain.Pageable.class)
+                isNull(),
+                anyInt()
         );
     }
 
     @Test
     @DisplayName("Should return user messages with all filters")
     void getMyMessagesWithAllFiltersReturnsOk() throws Exception {
-        org.springframework.data.domain.Page<Message> messagePage = createMockPage(
-                List.of(successMessage),
-                0,
-                20,
-                1
-        );
+        CursorPage<Message> messagePage = new CursorPage<>(List.of(successMessage), null, false);
 
         LocalDateTime from = LocalDateTime.now().minusDays(1);
         LocalDateTime to = LocalDateTime.now();
@@ -471,7 +593,8 @@ class MessageControllerTest {
                 eq(PlatformType.TELEGRAM),
                 any(LocalDateTime.class),
                 any(LocalDateTime.class),
-                any(org.springframework.data.domain.Pageable.class)
+                isNull(),
+                anyInt()
         )).thenReturn(messagePage);
         when(messageMapper.toResponse(any(Message.class))).thenReturn(successResponse);
 
@@ -488,7 +611,8 @@ class MessageControllerTest {
                 eq(PlatformType.TELEGRAM),
                 any(LocalDateTime.class),
                 any(LocalDateTime.class),
-                any(org.springframework.data.domain.Pageable.class)
+                isNull(),
+                anyInt()
         );
     }
 
@@ -500,7 +624,7 @@ class MessageControllerTest {
                         .param("to", "invalid-date"))
                 .andExpect(status().isBadRequest());
 
-        verify(messageService, never()).getUserMessagesWithFilters(any(), any(), any(), any(), any());
+        verify(messageService, never()).getUserMessagesWithFilters(any(), any(), any(), any(), any(), anyInt());
     }
 
     @Test
@@ -511,7 +635,8 @@ class MessageControllerTest {
                 isNull(),
                 isNull(),
                 isNull(),
-                any(org.springframework.data.domain.Pageable.class)
+                isNull(),
+                anyInt()
         )).thenThrow(new RuntimeException("Service error"));
 
         mockMvc.perform(get(API_MESSAGES_GET))
@@ -522,168 +647,106 @@ class MessageControllerTest {
                 isNull(),
                 isNull(),
                 isNull(),
-                any(org.springframework.data.domain.Pageable.class)
+                isNull(),
+                anyInt()
         );
     }
 
     @Test
     @DisplayName("Should return empty list when no messages found")
     void getMyMessagesNoMessagesReturnsEmptyList() throws Exception {
-        org.springframework.data.domain.Page<Message> emptyPage = createMockPage(
-                List.of(),
-                0,
-                20,
-                0
-        );
+        CursorPage<Message> emptyPage = new CursorPage<>(List.of(), null, false);
 
         when(messageService.getUserMessagesWithFilters(
                 isNull(),
                 isNull(),
                 isNull(),
                 isNull(),
-                any(org.springframework.data.domain.Pageable.class)
+                isNull(),
+                anyInt()
         )).thenReturn(emptyPage);
 
         mockMvc.perform(get(API_MESSAGES_GET))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isEmpty())
-                .andExpect(jsonPath("$.empty").value(true));
+                .andExpect(jsonPath("$.hasNext").value(false));
 
         verify(messageService).getUserMessagesWithFilters(
                 isNull(),
                 isNull(),
                 isNull(),
                 isNull(),
-                any(org.springframework.data.domain.Pageable.class)
+                isNull(),
+                anyInt()
         );
     }
 
     // ==================== PAGINATION TESTS ====================
 
     @Test
-    @DisplayName("Should return paginated messages with default page and size")
-    void getMyMessagesPaginatedDefaultParams() throws Exception {
-        // Arrange
-        org.springframework.data.domain.Page<Message> messagePage = createMockPage(
-                List.of(successMessage),
-                0,
-                20,
-                1
-        );
+    @DisplayName("Should return the first page with the cursor of the next one")
+    void getMyMessagesFirstPageReturnsNextCursor() throws Exception {
+        CursorPage<Message> messagePage = new CursorPage<>(List.of(successMessage), "next-cursor", true);
 
         when(messageService.getUserMessagesWithFilters(
                 isNull(),
                 isNull(),
                 isNull(),
                 isNull(),
-                any(org.springframework.data.domain.Pageable.class)
+                isNull(),
+                eq(20)
         )).thenReturn(messagePage);
 
         when(messageMapper.toResponse(any(Message.class))).thenReturn(successResponse);
 
-        // Act & Assert
-        mockMvc.perform(get(API_MESSAGES_GET)
-                        .param("page", "0")
-                        .param("size", "20"))
+        mockMvc.perform(get(API_MESSAGES_GET))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content.length()").value(1))
-                .andExpect(jsonPath("$.totalElements").value(1))
-                .andExpect(jsonPath("$.totalPages").value(1))
-                .andExpect(jsonPath("$.size").value(20))
-                .andExpect(jsonPath("$.number").value(0))
-                .andExpect(jsonPath("$.first").value(true))
-                .andExpect(jsonPath("$.last").value(true));
-
-        verify(messageService).getUserMessagesWithFilters(
-                isNull(),
-                isNull(),
-                isNull(),
-                isNull(),
-                any(org.springframework.data.domain.Pageable.class)
-        );
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
     }
 
     @Test
-    @DisplayName("Should return second page with correct pagination metadata")
-    void getMyMessagesPaginatedSecondPage() throws Exception {
-        // Arrange - simular página 2 de 3
-        org.springframework.data.domain.Page<Message> messagePage = createMockPage(
-                List.of(successMessage),
-                1, // página 1 (segunda página, 0-indexed)
-                20,
-                50 // 50 elementos totales = 3 páginas
-        );
-
-        when(messageService.getUserMessagesWithFilters(
-                isNull(),
-                isNull(),
-                isNull(),
-                isNull(),
-                any(org.springframework.data.domain.Pageable.class)
-        )).thenReturn(messagePage);
-
-        when(messageMapper.toResponse(any(Message.class))).thenReturn(successResponse);
-
-        // Act & Assert
-        mockMvc.perform(get(API_MESSAGES_GET)
-                        .param("page", "1")
-                        .param("size", "20"))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.number").value(1))
-                .andExpect(jsonPath("$.totalPages").value(3))
-                .andExpect(jsonPath("$.totalElements").value(50))
-                .andExpect(jsonPath("$.first").value(false))
-                .andExpect(jsonPath("$.last").value(false));
-    }
-
-    @Test
-    @DisplayName("Should return paginated messages with custom page size")
-    void getMyMessagesPaginatedCustomSize() throws Exception {
+    @DisplayName("Should continue after the position encoded in the cursor")
+    void getMyMessagesWithCursorPassesDecodedPosition() throws Exception {
+        MessageCursor cursor = new MessageCursor(LocalDateTime.of(2025, 10, 27, 10, 41, 55), 42L);
         List<Message> messages = Arrays.asList(successMessage, successMessage, successMessage);
 
-        Page<Message> messagePage = createMockPage(
-                messages,
-                0,
-                10,
-                30
-        );
-
         when(messageService.getUserMessagesWithFilters(
                 isNull(),
                 isNull(),
                 isNull(),
                 isNull(),
-                any(Pageable.class)
-        )).thenReturn(messagePage);
+                any(MessageCursor.class),
+                anyInt()
+        )).thenReturn(new CursorPage<>(messages, null, false));
 
         when(messageMapper.toResponse(any(Message.class))).thenReturn(successResponse);
 
         mockMvc.perform(get(API_MESSAGES_GET)
-                        .param("page", "0")
+                        .param("cursor", cursor.encode())
                         .param("size", "10"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size").value(10))
-                .andExpect(jsonPath("$.numberOfElements").value(3))
-                .andExpect(jsonPath("$.totalPages").value(3));
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        verify(messageService).getUserMessagesWithFilters(null, null, null, null, cursor, 10);
     }
 
     @Test
     @DisplayName("Should return paginated messages with filters applied")
     void getMyMessagesPaginatedWithFilters() throws Exception {
-        Page<Message> messagePage = createMockPage(
-                List.of(successMessage),
-                0,
-                20,
-                1
-        );
+        CursorPage<Message> messagePage = new CursorPage<>(List.of(successMessage), null, false);
 
         when(messageService.getUserMessagesWithFilters(
                 eq(DeliveryStatus.SUCCESS),
                 eq(PlatformType.TELEGRAM),
                 any(LocalDateTime.class),
                 any(LocalDateTime.class),
-                any(Pageable.class)
+                isNull(),
+                anyInt()
         )).thenReturn(messagePage);
 
         when(messageMapper.toResponse(any(Message.class))).thenReturn(successResponse);
@@ -693,60 +756,28 @@ class MessageControllerTest {
                         .param("platform", "TELEGRAM")
                         .param("from", "2025-01-01T00:00:00")
                         .param("to", "2025-12-31T23:59:59")
-                        .param("page", "0")
                         .param("size", "20"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray())
-                .andExpect(jsonPath("$.totalElements").value(1));
+                .andExpect(jsonPath("$.content.length()").value(1));
 
         verify(messageService).getUserMessagesWithFilters(
                 eq(DeliveryStatus.SUCCESS),
                 eq(PlatformType.TELEGRAM),
                 any(LocalDateTime.class),
                 any(LocalDateTime.class),
-                any(org.springframework.data.domain.Pageable.class)
+                isNull(),
+                eq(20)
         );
     }
 
     @Test
-    @DisplayName("Should return empty page when no messages match pagination criteria")
-    void getMyMessagesPaginatedEmptyPage() throws Exception {
-        Page<Message> emptyPage = createMockPage(
-                List.of(),
-                0,
-                20,
-                0
-        );
-
-        when(messageService.getUserMessagesWithFilters(
-                isNull(),
-                isNull(),
-                isNull(),
-                isNull(),
-                any(org.springframework.data.domain.Pageable.class)
-        )).thenReturn(emptyPage);
-
-        // Act & Assert
+    @DisplayName("Should reject a cursor that was not issued by the API")
+    void getMyMessagesInvalidCursorReturnsBadRequest() throws Exception {
         mockMvc.perform(get(API_MESSAGES_GET)
-                        .param("page", "0")
-                        .param("size", "20"))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content").isEmpty())
-                .andExpect(jsonPath("$.totalElements").value(0))
-                .andExpect(jsonPath("$.totalPages").value(0))
-                .andExpect(jsonPath("$.empty").value(true));
-    }
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
 
-    private Page<Message> createMockPage(
-            List<Message> content,
-            int pageNumber,
-            int pageSize,
-            long totalElements
-    ) {
-        return new PageImpl<>(
-                content,
-                PageRequest.of(pageNumber, pageSize),
-                totalElements
-        );
+        verify(messageService, never()).getUserMessagesWithFilters(any(), any(), any(), any(), any(), anyInt());
     }
-}
\ No newline at end of file
+}
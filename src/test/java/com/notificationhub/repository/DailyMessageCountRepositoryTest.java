@@ -86,62 +86,55 @@ public class DailyMessageCountRepositoryTest {
 
     @Test
     @DisplayName("Should find daily count by user and date")
-    void findByUserAndDateWhenCountExistsReturnsCount() {
+    void findCountWhenCountExistsReturnsCount() {
         LocalDate today = LocalDate.now();
 
-        Optional<DailyMessageCount> result = dailyMessageCountRepository.findByUserAndDate(testUser, today);
+        Optional<Integer> result = dailyMessageCountRepository.findCount(testUser.getId(), today);
 
-        assertTrue(result.isPresent());
-        assertEquals(todayCount.getId(), result.get().getId());
-        assertEquals(5, result.get().getCount());
-        assertEquals(testUser, result.get().getUser());
-        assertEquals(today, result.get().getDate());
+        assertEquals(Optional.of(5), result);
     }
 
     @Test
     @DisplayName("Should return empty when no count exists for user and date")
-    void findByUserAndDateWhenNoCountExistsReturnsEmpty() {
+    void findCountWhenNoCountExistsReturnsEmpty() {
         LocalDate tomorrow = LocalDate.now().plusDays(1);
 
-        Optional<DailyMessageCount> result = dailyMessageCountRepository.findByUserAndDate(testUser, tomorrow);
+        Optional<Integer> result = dailyMessageCountRepository.findCount(testUser.getId(), tomorrow);
 
         assertFalse(result.isPresent());
     }
 
+    @Test
+    @DisplayName("Should read only the count value without locking the row")
+    void findCountReturnsCountValue() {
+        LocalDate today = LocalDate.now();
+
+        assertEquals(Optional.of(5), dailyMessageCountRepository.findCount(testUser.getId(), today));
+        assertEquals(Optional.empty(), dailyMessageCountRepository.findCount(testUser.getId(), today.plusDays(1)));
+    }
+
     @Test
     @DisplayName("Should find different counts for same user on different dates")
-    void findByUserAndDateDifferentDatesReturnDifferentCounts() {
+    void findCountDifferentDatesReturnDifferentCounts() {
         LocalDate today = LocalDate.now();
         LocalDate yesterday = today.minusDays(1);
 
-        Optional<DailyMessageCount> todayResult = dailyMessageCountRepository.findByUserAndDate(testUser, today);
-        Optional<DailyMessageCount> yesterdayResult = dailyMessageCountRepository.findByUserAndDate(testUser, yesterday);
-
-        assertTrue(todayResult.isPresent());
-        assertTrue(yesterdayResult.isPresent());
-        assertEquals(5, todayResult.get().getCount());
-        assertEquals(10, yesterdayResult.get().getCount());
+        assertEquals(Optional.of(5), dailyMessageCountRepository.findCount(testUser.getId(), today));
+        assertEquals(Optional.of(10), dailyMessageCountRepository.findCount(testUser.getId(), yesterday));
     }
 
     @Test
     @DisplayName("Should not return counts for other users")
-    void findByUserAndDateOnlyReturnsForRequestedUser() {
+    void findCountOnlyReturnsForRequestedUser() {
         LocalDate today = LocalDate.now();
 
-        Optional<DailyMessageCount> testUserResult = dailyMessageCountRepository.findByUserAndDate(testUser, today);
-        Optional<DailyMessageCount> anotherUserResult = dailyMessageCountRepository.findByUserAndDate(anotherUser, today);
-
-        assertTrue(testUserResult.isPresent());
-        assertTrue(anotherUserResult.isPresent());
-        assertEquals(testUser, testUserResult.get().getUser());
-        assertEquals(anotherUser, anotherUserResult.get().getUser());
-        assertEquals(5, testUserResult.get().getCount());
-        assertEquals(3, anotherUserResult.get().getCount());
+        assertEquals(Optional.of(5), dailyMessageCountRepository.findCount(testUser.getId(), today));
+        assertEquals(Optional.of(3), dailyMessageCountRepository.findCount(anotherUser.getId(), today));
     }
 
     @Test
     @DisplayName("Should handle user with no counts")
-    void findByUserAndDateUserWithNoCountsReturnsEmpty() {
+    void findCountUserWithNoCountsReturnsEmpty() {
         User newUser = User.builder()
                 .username("newuser")
                 .passwordHash("$2a$10$hashedpassword3")
@@ -155,7 +148,7 @@ public class DailyMessageCountRepositoryTest {
 
         LocalDate today = LocalDate.now();
 
-        Optional<DailyMessageCount> result = dailyMessageCountRepository.findByUserAndDate(newUser, today);
+        Optional<Integer> result = dailyMessageCountRepository.findCount(newUser.getId(), today);
 
         assertFalse(result.isPresent());
     }
@@ -185,11 +178,11 @@ public class DailyMessageCountRepositoryTest {
         entityManager.flush();
         entityManager.clear();
 
-        Optional<DailyMessageCount> retrievedCount = dailyMessageCountRepository.findByUserAndDate(newUser, tomorrow);
-        assertTrue(retrievedCount.isPresent());
-        assertEquals(7, retrievedCount.get().getCount());
-        assertEquals(newUser, retrievedCount.get().getUser());
-        assertEquals(tomorrow, retrievedCount.get().getDate());
+        DailyMessageCount retrievedCount = entityManager.find(DailyMessageCount.class, newCount.getId());
+        assertNotNull(retrievedCount);
+        assertEquals(7, retrievedCount.getCount());
+        assertEquals(newUser.getId(), retrievedCount.getUser().getId());
+        assertEquals(tomorrow, retrievedCount.getDate());
     }
 
     @Test
@@ -202,8 +195,6 @@ public class DailyMessageCountRepositoryTest {
         entityManager.flush();
         entityManager.clear();
 
-        Optional<DailyMessageCount> retrievedCount = dailyMessageCountRepository.findByUserAndDate(testUser, today);
-        assertTrue(retrievedCount.isPresent());
-        assertEquals(15, retrievedCount.get().getCount());
+        assertEquals(Optional.of(15), dailyMessageCountRepository.findCount(testUser.getId(), today));
     }
 }
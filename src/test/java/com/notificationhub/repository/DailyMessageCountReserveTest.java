@@ -0,0 +1,124 @@
+package com.notificationhub.repository;
+
+import com.notificationhub.entity.User;
+import com.notificationhub.enums.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cada reserva corre en su propia transacción, como en producción, para poder
+ * ejercitar reservas concurrentes sobre la misma fila.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("DailyMessageCountRepository reserve Integration Tests")
+class DailyMessageCountReserveTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private DailyMessageCountRepository dailyMessageCountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate today = LocalDate.now();
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(User.builder()
+                .username("testuser")
+                .passwordHash("$2a$10$hashedpassword")
+                .role(Role.USER)
+                .dailyMessageLimit(10)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE daily_message_counts, users RESTART IDENTITY CASCADE");
+    }
+
+    @Test
+    @DisplayName("Should create the day's counter on the first reservation")
+    void reserveFirstOfDayInsertsRow() {
+        Optional<Integer> reserved = dailyMessageCountRepository.reserve(userId, today, 3, 10);
+
+        assertEquals(Optional.of(3), reserved);
+        assertEquals(Optional.of(3), dailyMessageCountRepository.findCount(userId, today));
+    }
+
+    @Test
+    @DisplayName("Should add to the existing counter while under the limit")
+    void reserveUnderLimitIncrements() {
+        dailyMessageCountRepository.reserve(userId, today, 3, 10);
+
+        Optional<Integer> reserved = dailyMessageCountRepository.reserve(userId, today, 4, 10);
+
+        assertEquals(Optional.of(7), reserved);
+        assertEquals(Optional.of(7), dailyMessageCountRepository.findCount(userId, today));
+    }
+
+    @Test
+    @DisplayName("Should allow reaching the limit exactly and refuse anything beyond it")
+    void reserveAtLimitRefusesWithoutChangingRow() {
+        dailyMessageCountRepository.reserve(userId, today, 8, 10);
+
+        assertEquals(Optional.empty(), dailyMessageCountRepository.reserve(userId, today, 3, 10));
+        assertEquals(Optional.of(8), dailyMessageCountRepository.findCount(userId, today));
+
+        assertEquals(Optional.of(10), dailyMessageCountRepository.reserve(userId, today, 2, 10));
+        assertEquals(Optional.empty(), dailyMessageCountRepository.reserve(userId, today, 1, 10));
+        assertEquals(Optional.of(10), dailyMessageCountRepository.findCount(userId, today));
+    }
+
+    @Test
+    @DisplayName("Should grant only one of two concurrent reservations for the last unit of quota")
+    void reserveConcurrentGrantsOnlyOne() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<Optional<Integer>> reserver = () -> {
+            start.await();
+            return dailyMessageCountRepository.reserve(userId, today, 1, 1);
+        };
+
+        List<Future<Optional<Integer>>> results = new ArrayList<>();
+        results.add(executor.submit(reserver));
+        results.add(executor.submit(reserver));
+        start.countDown();
+
+        int granted = 0;
+        for (Future<Optional<Integer>> result : results) {
+            if (result.get(10, TimeUnit.SECONDS).isPresent()) {
+                granted++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, granted);
+        assertEquals(Optional.of(1), dailyMessageCountRepository.findCount(userId, today));
+    }
+}
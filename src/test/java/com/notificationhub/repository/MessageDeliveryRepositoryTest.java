@@ -1,5 +1,6 @@
 package com.notificationhub.repository;
 
+import com.notificationhub.dto.criteria.MessageCursor;
 import com.notificationhub.dto.criteria.MessageFilterCriteria;
 import com.notificationhub.entity.Message;
 import com.notificationhub.entity.MessageDelivery;
@@ -7,21 +8,26 @@ import com.notificationhub.entity.User;
 import com.notificationhub.enums.DeliveryStatus;
 import com.notificationhub.enums.PlatformType;
 import com.notificationhub.enums.Role;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @ActiveProfiles("test")
 @DisplayName("MessageDeliveryRepository Unit Tests")
 @Transactional
@@ -33,6 +39,9 @@ class MessageDeliveryRepositoryTest {
     @Autowired
     private MessageDeliveryRepository messageDeliveryRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private User testUser;
     private User anotherUser;
     private Message messageOtherUser;
@@ -426,4 +435,147 @@ class MessageDeliveryRepositoryTest {
                     || message.getCreatedAt().isEqual(toDate));
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debe tomar solo las entregas PENDING para despachar, con mensaje y usuario cargados")
+    void findForDispatchReturnsOnlyPendingDeliveries() {
+        Message queued = Message.builder()
+                .user(testUser)
+                .content("Queued message")
+                .build();
+
+        MessageDelivery pending = MessageDelivery.builder()
+                .platformType(PlatformType.TELEGRAM)
+                .destination("123456789")
+                .status(DeliveryStatus.PENDING)
+                .build();
+        queued.addDelivery(pending);
+
+        entityManager.persist(queued);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<MessageDelivery> result = messageDeliveryRepository
+                .findForDispatch(DeliveryStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, 10));
+
+        assertEquals(1, result.size());
+        assertEquals(DeliveryStatus.PENDING, result.get(0).getStatus());
+        assertEquals("Queued message", result.get(0).getMessage().getContent());
+        assertEquals("testuser", result.get(0).getMessage().getUser().getUsername());
+    }
+
+    @Test
+    @DisplayName("Debe ignorar entregas PENDING cuyo lease todavía no venció")
+    void findForDispatchSkipsLeasedDeliveries() {
+        Message queued = Message.builder()
+                .user(testUser)
+                .content("Leased message")
+                .build();
+
+        MessageDelivery leased = MessageDelivery.builder()
+                .platformType(PlatformType.DISCORD)
+                .destination("https://discord.com/api/webhooks/1/abc")
+                .status(DeliveryStatus.PENDING)
+                .nextAttemptAt(LocalDateTime.now().plusMinutes(5))
+                .build();
+        queued.addDelivery(leased);
+
+        entityManager.persist(queued);
+        entityManager.flush();
+
+        List<MessageDelivery> result = messageDeliveryRepository
+                .findForDispatch(DeliveryStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, 10));
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe paginar por cursor continuando después del último mensaje de la página anterior")
+    void findMessagesByFiltersPagedContinuesAfterCursor() {
+        MessageFilterCriteria firstPage = MessageFilterCriteria.builder()
+                .user(testUser)
+                .status(DeliveryStatus.SUCCESS)
+                .build();
+
+        List<Message> first = messageDeliveryRepository.findMessagesByFilters(firstPage, PageRequest.ofSize(2));
+
+        assertEquals(2, first.size());
+        assertTrue(first.get(0).getCreatedAt().isAfter(first.get(1).getCreatedAt()));
+
+        MessageFilterCriteria secondPage = MessageFilterCriteria.builder()
+                .user(testUser)
+                .status(DeliveryStatus.SUCCESS)
+                .after(MessageCursor.of(first.get(1)))
+                .build();
+
+        List<Message> second = messageDeliveryRepository.findMessagesByFilters(secondPage, PageRequest.ofSize(2));
+
+        assertEquals(1, second.size(), "Solo queda message3 (semana pasada)");
+        assertEquals("Last week's message - discord only", second.get(0).getContent());
+    }
+
+    @Test
+    @DisplayName("Debe desempatar por id los mensajes creados en el mismo instante")
+    void findMessagesByFiltersPagedBreaksTiesOnId() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 10, 27, 10, 0);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Message message = Message.builder()
+                    .user(anotherUser)
+                    .content("Tied message " + i)
+                    .createdAt(createdAt)
+                    .build();
+            ids.add(entityManager.persistAndGetId(message, Long.class));
+        }
+        entityManager.flush();
+
+        MessageFilterCriteria criteria = MessageFilterCriteria.builder()
+                .user(anotherUser)
+                .after(new MessageCursor(createdAt, ids.get(2)))
+                .build();
+
+        List<Message> result = messageDeliveryRepository.findMessagesByFilters(criteria, PageRequest.ofSize(10));
+
+        assertEquals(List.of(ids.get(1), ids.get(0)), result.stream().map(Message::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Debe cargar las entregas de toda la página con una sola consulta adicional")
+    void findMessagesByFiltersPagedLoadsDeliveriesInOneQuery() {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        MessageFilterCriteria criteria = MessageFilterCriteria.builder()
+                .user(testUser)
+                .build();
+
+        List<Message> result = messageDeliveryRepository.findMessagesByFilters(criteria, PageRequest.ofSize(10));
+        int deliveries = result.stream().mapToInt(message -> message.getDeliveries().size()).sum();
+
+        assertEquals(3, result.size());
+        assertEquals(5, deliveries);
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Debe cargar las entregas con su mensaje y remitente en una sola consulta")
+    void findWithMessageByIdInLoadsSenderInOneQuery() {
+        List<Long> ids = entityManager.getEntityManager()
+                .createQuery("SELECT md.id FROM MessageDelivery md", Long.class)
+                .getResultList();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<MessageDelivery> result = messageDeliveryRepository.findWithMessageByIdIn(ids);
+        long senders = result.stream()
+                .map(delivery -> delivery.getMessage().getUser().getId())
+                .distinct()
+                .count();
+
+        assertEquals(ids.size(), result.size());
+        assertEquals(2, senders);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,103 @@
+package com.notificationhub.repository;
+
+import com.notificationhub.entity.Message;
+import com.notificationhub.entity.MessageDelivery;
+import com.notificationhub.entity.User;
+import com.notificationhub.enums.DeliveryStatus;
+import com.notificationhub.enums.PlatformType;
+import com.notificationhub.enums.Role;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("MessageRepository Unit Tests")
+class MessageRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = User.builder()
+                .username("testuser")
+                .passwordHash("$2a$10$hashedpassword")
+                .role(Role.USER)
+                .dailyMessageLimit(100)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        entityManager.persist(testUser);
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should assign ids from the sequence without flushing")
+    void saveAssignsIdsBeforeFlush() {
+        Message message = messageWithDeliveries(2);
+
+        Message saved = messageRepository.save(message);
+
+        assertNotNull(saved.getId());
+        assertTrue(saved.getDeliveries().stream().allMatch(d -> d.getId() != null));
+    }
+
+    @Test
+    @DisplayName("Should insert many messages in JDBC batches")
+    void saveAllInsertsInBatches() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            messages.add(messageWithDeliveries(2));
+        }
+
+        messageRepository.saveAll(messages);
+        entityManager.flush();
+
+        assertEquals(120, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < 10,
+                "Expected batched inserts, but " + statistics.getPrepareStatementCount() + " statements were prepared");
+    }
+
+    private Message messageWithDeliveries(int deliveries) {
+        Message message = Message.builder()
+                .user(testUser)
+                .content("Batched content")
+                .build();
+
+        for (int i = 0; i < deliveries; i++) {
+            message.addDelivery(MessageDelivery.builder()
+                    .platformType(i % 2 == 0 ? PlatformType.TELEGRAM : PlatformType.DISCORD)
+                    .destination("destination-" + i)
+                    .status(DeliveryStatus.SUCCESS)
+                    .build());
+        }
+
+        return message;
+    }
+}
@@ -0,0 +1,228 @@
+package com.notificationhub.repository;
+
+import com.notificationhub.dto.criteria.MessageCursor;
+import com.notificationhub.dto.criteria.MessageFilterCriteria;
+import com.notificationhub.entity.User;
+import com.notificationhub.enums.DeliveryStatus;
+import com.notificationhub.enums.PlatformType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Corre EXPLAIN sobre el SQL que generan los repositorios, con los mismos parámetros con los
+ * que se ejecutó, contra PostgreSQL con el esquema de las migraciones y volumen representativo
+ * ya analizado. El planner usa su configuración por defecto, así que el plan verificado es el
+ * que elegiría en producción con esa distribución de datos.
+ */
+@Sql(scripts = "/db/query-plan-data.sql",
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS,
+        config = @SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED))
+@Sql(statements = "TRUNCATE user_message_stats, daily_message_counts, message_deliveries, messages, users "
+        + "RESTART IDENTITY CASCADE",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS,
+        config = @SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED))
+@DisplayName("Repository query plan Integration Tests")
+class QueryPlanIntegrationTest extends PostgresRepositoryTest {
+
+    private static final Pattern LARGE_TABLE_SEQ_SCAN =
+            Pattern.compile("Seq Scan on (messages|message_deliveries|daily_message_counts)\\b");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MessageDeliveryRepository messageDeliveryRepository;
+
+    @Autowired
+    private DailyMessageCountRepository dailyMessageCountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.find(User.class, 1L);
+    }
+
+    @Test
+    @DisplayName("Should read a user's history page through indexes")
+    void userHistoryUsesIndexes() {
+        assertIndexed(() -> messageDeliveryRepository.findMessagesByFilters(
+                MessageFilterCriteria.builder().user(user).build(), PageRequest.ofSize(21)));
+    }
+
+    @Test
+    @DisplayName("Should read a filtered user's history page through indexes")
+    void filteredUserHistoryUsesIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        assertIndexed(() -> messageDeliveryRepository.findMessagesByFilters(
+                MessageFilterCriteria.builder()
+                        .user(user)
+                        .status(DeliveryStatus.FAILED)
+                        .platform(PlatformType.DISCORD)
+                        .from(now.minusDays(30))
+                        .to(now)
+                        .after(new MessageCursor(now.minusDays(1), 50_000L))
+                        .build(),
+                PageRequest.ofSize(21)));
+    }
+
+    @Test
+    @DisplayName("Should read the admin history page through indexes")
+    void adminHistoryUsesIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        assertIndexed(() -> messageDeliveryRepository.findMessagesByFilters(
+                MessageFilterCriteria.builder().after(new MessageCursor(now.minusDays(1), 50_000L)).build(),
+                PageRequest.ofSize(21)));
+    }
+
+    @Test
+    @DisplayName("Should pick pending deliveries for dispatch through indexes")
+    void dispatchUsesIndexes() {
+        assertIndexed(() -> messageDeliveryRepository.findForDispatch(
+                DeliveryStatus.PENDING, LocalDateTime.now(), PageRequest.ofSize(50)));
+    }
+
+    @Test
+    @DisplayName("Should read admin metrics through indexes")
+    void metricsUseIndexes() {
+        assertIndexed(() -> userRepository.findUserMetrics(LocalDate.now(), PageRequest.of(0, 20)));
+    }
+
+    @Test
+    @DisplayName("Should read and update daily counters through indexes")
+    void dailyCountersUseIndexes() {
+        LocalDate today = LocalDate.now();
+        assertIndexed(() -> {
+            dailyMessageCountRepository.findCount(user.getId(), today);
+            dailyMessageCountRepository.reserve(user.getId(), today, 1, 100);
+            dailyMessageCountRepository.decrementCountBy(user, today, 1);
+        });
+    }
+
+    /**
+     * Ejecuta las consultas del repositorio y verifica el plan de cada sentencia que generaron
+     */
+    private void assertIndexed(Runnable queries) {
+        entityManager.clear();
+        RecordingDataSource.STATEMENTS.clear();
+        queries.run();
+        List<RecordedStatement> statements = new ArrayList<>(RecordingDataSource.STATEMENTS);
+
+        assertFalse(statements.isEmpty(), "No SQL was recorded");
+        for (RecordedStatement statement : statements) {
+            String plan = String.join("\n", jdbcTemplate.queryForList(
+                    "EXPLAIN " + statement.sql(), String.class, statement.parameters().toArray()));
+            assertFalse(LARGE_TABLE_SEQ_SCAN.matcher(plan).find(),
+                    () -> "Sequential scan on a large table for:\n" + statement.sql() + "\n" + plan);
+        }
+    }
+
+    private record RecordedStatement(String sql, List<Object> parameters) {
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new RecordingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Guarda cada sentencia preparada que se ejecuta junto con los parámetros que tenía asignados
+     */
+    static class RecordingDataSource extends DelegatingDataSource {
+
+        static final List<RecordedStatement> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recording(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recording(super.getConnection(username, password));
+        }
+
+        private static Connection recording(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                            return recording(statement, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement recording(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            parameters.put(index, name.equals("setNull") ? null : args[1]);
+                        } else if (name.equals("clearParameters")) {
+                            parameters.clear();
+                        } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                            STATEMENTS.add(new RecordedStatement(sql, new ArrayList<>(parameters.values())));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
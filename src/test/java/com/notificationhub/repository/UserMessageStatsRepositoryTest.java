@@ -0,0 +1,89 @@
+package com.notificationhub.repository;
+
+import com.notificationhub.entity.User;
+import com.notificationhub.entity.UserMessageStats;
+import com.notificationhub.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UserMessageStatsRepository increment Integration Tests")
+class UserMessageStatsRepositoryTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private UserMessageStatsRepository userMessageStatsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final LocalDateTime sentAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(User.builder()
+                .username("testuser")
+                .passwordHash("$2a$10$hashedpassword")
+                .role(Role.USER)
+                .dailyMessageLimit(10)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build()).getId();
+    }
+
+    @Test
+    @DisplayName("Should create the user's counters on the first increment")
+    void incrementFirstInsertsRow() {
+        userMessageStatsRepository.increment(userId, 1, 1, 1, 0, 0, sentAt);
+
+        UserMessageStats stats = userMessageStatsRepository.findById(userId).orElseThrow();
+        assertEquals(1, stats.getTotalMessages());
+        assertEquals(1, stats.getTelegramDeliveries());
+        assertEquals(1, stats.getDiscordDeliveries());
+        assertEquals(0, stats.getSuccessfulDeliveries());
+        assertEquals(0, stats.getFailedDeliveries());
+        assertEquals(sentAt, stats.getLastSentAt());
+    }
+
+    @Test
+    @DisplayName("Should add each increment to the existing counters")
+    void incrementAccumulates() {
+        userMessageStatsRepository.increment(userId, 1, 1, 1, 0, 0, sentAt);
+        userMessageStatsRepository.increment(userId, 2, 2, 0, 0, 0, sentAt.plusMinutes(5));
+        userMessageStatsRepository.increment(userId, 0, 0, 0, 2, 1, null);
+
+        UserMessageStats stats = userMessageStatsRepository.findById(userId).orElseThrow();
+        assertEquals(3, stats.getTotalMessages());
+        assertEquals(3, stats.getTelegramDeliveries());
+        assertEquals(1, stats.getDiscordDeliveries());
+        assertEquals(2, stats.getSuccessfulDeliveries());
+        assertEquals(1, stats.getFailedDeliveries());
+        assertEquals(sentAt.plusMinutes(5), stats.getLastSentAt());
+    }
+
+    @Test
+    @DisplayName("Should keep the last sent time when the increment carries none")
+    void incrementWithoutSentAtKeepsLastSentAt() {
+        userMessageStatsRepository.increment(userId, 1, 1, 0, 0, 0, sentAt);
+
+        userMessageStatsRepository.increment(userId, 0, 0, 0, 1, 0, null);
+
+        assertEquals(sentAt, userMessageStatsRepository.findById(userId).orElseThrow().getLastSentAt());
+    }
+
+    @Test
+    @DisplayName("Should not move the last sent time backwards")
+    void incrementWithOlderSentAtKeepsLatest() {
+        userMessageStatsRepository.increment(userId, 1, 1, 0, 0, 0, sentAt);
+
+        userMessageStatsRepository.increment(userId, 1, 1, 0, 0, 0, sentAt.minusHours(1));
+
+        assertEquals(sentAt, userMessageStatsRepository.findById(userId).orElseThrow().getLastSentAt());
+    }
+}
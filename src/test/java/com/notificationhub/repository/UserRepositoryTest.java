@@ -1,6 +1,9 @@
 package com.notificationhub.repository;
 
+import com.notificationhub.dto.response.MetricsResponse;
+import com.notificationhub.entity.DailyMessageCount;
 import com.notificationhub.entity.User;
+import com.notificationhub.entity.UserMessageStats;
 import com.notificationhub.enums.Role;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,8 +13,12 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -189,4 +196,31 @@ public class UserRepositoryTest {
         assertTrue(foundUser.isPresent());
         assertEquals(100, foundUser.get().getDailyMessageLimit());
     }
+
+    @Test
+    @DisplayName("Should read user metrics from the stored counters in a single paginated query")
+    void findUserMetricsReadsCountersPerUser() {
+        entityManager.persist(UserMessageStats.builder()
+                .userId(activeUser.getId())
+                .totalMessages(3)
+                .build());
+        entityManager.persist(DailyMessageCount.builder()
+                .user(activeUser)
+                .date(LocalDate.now())
+                .count(120)
+                .build());
+        entityManager.persist(DailyMessageCount.builder()
+                .user(activeUser)
+                .date(LocalDate.now().minusDays(1))
+                .count(7)
+                .build());
+        entityManager.flush();
+
+        Page<MetricsResponse> metrics = userRepository.findUserMetrics(
+                LocalDate.now(), PageRequest.of(0, 10, Sort.by("username")));
+
+        assertEquals(2, metrics.getTotalElements());
+        assertEquals(new MetricsResponse("admin", 0L, 0, 1000, 1000), metrics.getContent().get(0));
+        assertEquals(new MetricsResponse("testuser", 3L, 120, 0, 100), metrics.getContent().get(1));
+    }
 }
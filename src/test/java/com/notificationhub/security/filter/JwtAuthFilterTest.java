@@ -1,7 +1,12 @@
 package com.notificationhub.security.filter;
 
+import com.notificationhub.enums.Role;
+import com.notificationhub.security.model.AuthenticatedUser;
 import com.notificationhub.security.service.CustomUserDetailsService;
+import com.notificationhub.security.service.UserAccessCache;
 import com.notificationhub.utils.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,6 +25,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -35,6 +41,9 @@ public class JwtAuthFilterTest {
     @Mock
     private CustomUserDetailsService userDetailsService;
 
+    @Mock
+    private UserAccessCache userAccessCache;
+
     @Mock
     private HttpServletRequest request;
 
@@ -67,8 +76,7 @@ public class JwtAuthFilterTest {
         String username = "testuser";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtils.validateToken(token)).thenReturn(true);
-        when(jwtUtils.extractUsername(token)).thenReturn(username);
+        when(jwtUtils.parseVerifiedClaims(token)).thenReturn(Optional.of(Jwts.claims().subject(username).build()));
         when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
         when(userDetails.getAuthorities()).thenReturn(Collections.emptyList());
 
@@ -80,13 +88,52 @@ public class JwtAuthFilterTest {
         verify(filterChain).doFilter(request, response);
     }
 
+    @Test
+    @DisplayName("Should authenticate from token claims without loading the user")
+    void doFilterTokenWithUserClaimsSkipsUserLookup() throws ServletException, IOException {
+        String token = "valid.jwt.token";
+        Claims claims = Jwts.claims().subject("testuser").build();
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "testuser", Role.USER, 100);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtils.parseVerifiedClaims(token)).thenReturn(Optional.of(claims));
+        when(jwtUtils.extractAuthenticatedUser(claims)).thenReturn(Optional.of(principal));
+        when(userAccessCache.isCurrent(principal)).thenReturn(true);
+
+        jwtAuthFilter.doFilter(request, response, filterChain);
+
+        assertEquals(principal, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verifyNoInteractions(userDetailsService);
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    @DisplayName("Should load the user when the role or limit in the token are outdated")
+    void doFilterTokenWithOutdatedClaimsLoadsUser() throws ServletException, IOException {
+        String token = "valid.jwt.token";
+        Claims claims = Jwts.claims().subject("testuser").build();
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "testuser", Role.ADMIN, 100);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtils.parseVerifiedClaims(token)).thenReturn(Optional.of(claims));
+        when(jwtUtils.extractAuthenticatedUser(claims)).thenReturn(Optional.of(principal));
+        when(userAccessCache.isCurrent(principal)).thenReturn(false);
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
+        when(userDetails.getAuthorities()).thenReturn(Collections.emptyList());
+
+        jwtAuthFilter.doFilter(request, response, filterChain);
+
+        assertEquals(userDetails, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verify(filterChain).doFilter(request, response);
+    }
+
     @Test
     @DisplayName("Should set error attribute when token is invalid")
     void doFilterInvalidTokenSetsErrorAttribute() throws ServletException, IOException {
         String token = "invalid.jwt.token";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtils.validateToken(token)).thenReturn(false);
+        when(jwtUtils.parseVerifiedClaims(token)).thenReturn(Optional.empty());
 
         jwtAuthFilter.doFilter(request, response, filterChain);
 
@@ -106,7 +153,7 @@ public class JwtAuthFilterTest {
         jwtAuthFilter.doFilter(request, response, filterChain);
 
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verify(jwtUtils, never()).validateToken(anyString());
+        verify(jwtUtils, never()).parseVerifiedClaims(anyString());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -118,7 +165,7 @@ public class JwtAuthFilterTest {
         jwtAuthFilter.doFilter(request, response, filterChain);
 
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verify(jwtUtils, never()).validateToken(anyString());
+        verify(jwtUtils, never()).parseVerifiedClaims(anyString());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -129,8 +176,7 @@ public class JwtAuthFilterTest {
         String username = "unknown";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtils.validateToken(token)).thenReturn(true);
-        when(jwtUtils.extractUsername(token)).thenReturn(username);
+        when(jwtUtils.parseVerifiedClaims(token)).thenReturn(Optional.of(Jwts.claims().subject(username).build()));
         when(userDetailsService.loadUserByUsername(username))
                 .thenThrow(new UsernameNotFoundException("User not found"));
 
@@ -147,7 +193,7 @@ public class JwtAuthFilterTest {
         String token = "error.token";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtils.validateToken(token)).thenThrow(new RuntimeException("Unexpected error"));
+        when(jwtUtils.parseVerifiedClaims(token)).thenThrow(new RuntimeException("Unexpected error"));
 
         jwtAuthFilter.doFilter(request, response, filterChain);
 
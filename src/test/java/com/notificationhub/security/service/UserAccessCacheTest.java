@@ -0,0 +1,62 @@
+package com.notificationhub.security.service;
+
+import com.notificationhub.enums.Role;
+import com.notificationhub.repository.UserRepository;
+import com.notificationhub.security.model.AuthenticatedUser;
+import com.notificationhub.security.model.UserAccess;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserAccessCache Unit Tests")
+class UserAccessCacheTest {
+
+    private static final AuthenticatedUser TOKEN_USER = new AuthenticatedUser(1L, "testuser", Role.USER, 100);
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserAccessCache userAccessCache;
+
+    @BeforeEach
+    void setUp() {
+        userAccessCache = new UserAccessCache(userRepository, 30);
+    }
+
+    @Test
+    @DisplayName("Should accept the token while role and limit match and query the user once")
+    void isCurrentWhenAccessMatches() {
+        when(userRepository.findAccessById(1L)).thenReturn(Optional.of(new UserAccess(Role.USER, 100)));
+
+        assertThat(userAccessCache.isCurrent(TOKEN_USER)).isTrue();
+        assertThat(userAccessCache.isCurrent(TOKEN_USER)).isTrue();
+
+        verify(userRepository, times(1)).findAccessById(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject the token when the limit or role changed")
+    void isNotCurrentWhenAccessChanged() {
+        when(userRepository.findAccessById(1L)).thenReturn(Optional.of(new UserAccess(Role.USER, 50)));
+
+        assertThat(userAccessCache.isCurrent(TOKEN_USER)).isFalse();
+        assertThat(userAccessCache.isCurrent(new AuthenticatedUser(1L, "testuser", Role.ADMIN, 50))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject the token when the user no longer exists")
+    void isNotCurrentWhenUserDeleted() {
+        when(userRepository.findAccessById(1L)).thenReturn(Optional.empty());
+
+        assertThat(userAccessCache.isCurrent(TOKEN_USER)).isFalse();
+    }
+}
@@ -0,0 +1,268 @@
+package com.notificationhub.service;
+
+import com.notificationhub.entity.Message;
+import com.notificationhub.entity.MessageDelivery;
+import com.notificationhub.entity.User;
+import com.notificationhub.enums.DeliveryStatus;
+import com.notificationhub.enums.PlatformType;
+import com.notificationhub.repository.MessageDeliveryRepository;
+import com.notificationhub.service.platform.PlatformService;
+import com.notificationhub.service.platform.PlatformServiceFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DeliveryDispatcher Unit Tests")
+class DeliveryDispatcherTest {
+
+    @Mock
+    private MessageDeliveryRepository messageDeliveryRepository;
+
+    @Mock
+    private PlatformServiceFactory platformServiceFactory;
+
+    @Mock
+    private PlatformService telegramService;
+
+    @Mock
+    private RateLimitService rateLimitService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private UserMessageStatsService userMessageStatsService;
+
+    private DeliveryDispatcher dispatcher;
+    private Message message;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new DeliveryDispatcher(
+                messageDeliveryRepository,
+                platformServiceFactory,
+                rateLimitService,
+                new DeliveryRetryPolicy(3, 2000, 60000),
+                new TransactionTemplate(transactionManager),
+                userMessageStatsService,
+                10,
+                300,
+                1000,
+                4);
+
+        User user = User.builder()
+                .id(1L)
+                .username("testuser")
+                .build();
+
+        message = Message.builder()
+                .id(1L)
+                .user(user)
+                .content("Queued content")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should mark pending delivery as success when platform delivers")
+    void dispatchPendingMarksDeliveryAsSuccess() {
+        MessageDelivery pending = pendingDelivery();
+        when(messageDeliveryRepository.findForDispatch(eq(DeliveryStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(pending));
+        when(rateLimitService.tryAcquirePlatformPermit(eq(PlatformType.TELEGRAM), any())).thenReturn(true);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
+        when(telegramService.sendAsync("Queued content", "123456789", "testuser"))
+                .thenReturn(Mono.just(MessageDelivery.builder()
+                        .status(DeliveryStatus.SUCCESS)
+                        .providerResponse(Map.of("ok", true))
+                        .build()));
+        when(messageDeliveryRepository.findWithMessageByIdIn(any())).thenReturn(List.of(pending));
+
+        dispatcher.dispatchPending();
+
+        assertEquals(DeliveryStatus.SUCCESS, pending.getStatus());
+        assertNull(pending.getNextAttemptAt());
+        assertEquals(Map.of("ok", true), pending.getProviderResponse());
+        assertNotNull(pending.getSentAt());
+        verify(userMessageStatsService).recordOutcomes(List.of(pending));
+    }
+
+    @Test
+    @DisplayName("Should mark pending delivery as failed when platform throws")
+    void dispatchPendingMarksDeliveryAsFailedOnException() {
+        MessageDelivery pending = pendingDelivery();
+        when(messageDeliveryRepository.findForDispatch(eq(DeliveryStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(pending));
+        when(rateLimitService.tryAcquirePlatformPermit(eq(PlatformType.TELEGRAM), any())).thenReturn(true);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM))
+                .thenThrow(new IllegalStateException("Platform not configured: TELEGRAM"));
+        when(messageDeliveryRepository.findWithMessageByIdIn(any())).thenReturn(List.of(pending));
+
+        dispatcher.dispatchPending();
+
+        assertEquals(DeliveryStatus.FAILED, pending.getStatus());
+        assertTrue(pending.getErrorMessage().contains("Platform not configured"));
+    }
+
+    @Test
+    @DisplayName("Should do nothing when there are no pending deliveries")
+    void dispatchPendingEmptyQueueDoesNothing() {
+        when(messageDeliveryRepository.findForDispatch(eq(DeliveryStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        dispatcher.dispatchPending();
+
+        verifyNoInteractions(platformServiceFactory);
+        verify(messageDeliveryRepository, never()).findWithMessageByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Should lease claimed deliveries before sending them")
+    void dispatchPendingLeasesClaimedDeliveries() {
+        MessageDelivery pending = pendingDelivery();
+        when(messageDeliveryRepository.findForDispatch(eq(DeliveryStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(pending));
+        when(rateLimitService.tryAcquirePlatformPermit(eq(PlatformType.TELEGRAM), any())).thenReturn(true);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
+        when(telegramService.sendAsync(any(), any(), any())).thenAnswer(invocation -> {
+            assertNotNull(pending.getNextAttemptAt());
+            assertTrue(pending.getNextAttemptAt().isAfter(LocalDateTime.now()));
+            return Mono.just(MessageDelivery.builder().status(DeliveryStatus.SUCCESS).build());
+        });
+        when(messageDeliveryRepository.findWithMessageByIdIn(any())).thenReturn(List.of(pending));
+
+        dispatcher.dispatchPending();
+
+        assertEquals(DeliveryStatus.SUCCESS, pending.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should postpone deliveries when the platform burst limit is reached")
+    void dispatchPendingPostponesThrottledDeliveries() {
+        MessageDelivery pending = pendingDelivery();
+        when(messageDeliveryRepository.findForDispatch(eq(DeliveryStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(pending));
+        when(rateLimitService.tryAcquirePlatformPermit(eq(PlatformType.TELEGRAM), any())).thenReturn(false);
+        when(messageDeliveryRepository.findWithMessageByIdIn(any())).thenReturn(List.of(pending));
+
+        dispatcher.dispatchPending();
+
+        verifyNoInteractions(platformServiceFactory);
+        assertEquals(DeliveryStatus.PENDING, pending.getStatus());
+        assertNotNull(pending.getNextAttemptAt());
+        assertTrue(pending.getNextAttemptAt().isBefore(LocalDateTime.now().plusSeconds(2)));
+    }
+
+    @Test
+    @DisplayName("Should reschedule deliveries the provider asked to defer")
+    void dispatchPendingReschedulesDeferredDeliveries() {
+        MessageDelivery pending = pendingDelivery();
+        LocalDateTime retryAt = LocalDateTime.now().plusSeconds(30);
+        when(messageDeliveryRepository.findForDispatch(eq(DeliveryStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(pending));
+        when(rateLimitService.tryAcquirePlatformPermit(eq(PlatformType.TELEGRAM), any())).thenReturn(true);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
+        MessageDelivery deferred = MessageDelivery.builder().build();
+        deferred.markAsDeferred(retryAt, "Deferred: Telegram rate limit");
+        when(telegramService.sendAsync(any(), any(), any())).thenReturn(Mono.just(deferred));
+        when(messageDeliveryRepository.findWithMessageByIdIn(any())).thenReturn(List.of(pending));
+
+        dispatcher.dispatchPending();
+
+        assertEquals(DeliveryStatus.PENDING, pending.getStatus());
+        assertEquals(retryAt, pending.getNextAttemptAt());
+        assertEquals("Deferred: Telegram rate limit", pending.getErrorMessage());
+        verify(userMessageStatsService).recordOutcomes(List.of());
+    }
+
+    @Test
+    @DisplayName("Should schedule a retry with backoff when the platform reports a failure")
+    void dispatchPendingSchedulesRetryOnPlatformFailure() {
+        MessageDelivery pending = pendingDelivery();
+        when(messageDeliveryRepository.findForDispatch(eq(DeliveryStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(pending));
+        when(rateLimitService.tryAcquirePlatformPermit(eq(PlatformType.TELEGRAM), any())).thenReturn(true);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
+        when(telegramService.sendAsync(any(), any(), any())).thenReturn(Mono.just(MessageDelivery.builder()
+                .status(DeliveryStatus.FAILED)
+                .errorMessage("Exception: Connection reset")
+                .build()));
+        when(messageDeliveryRepository.findWithMessageByIdIn(any())).thenReturn(List.of(pending));
+
+        dispatcher.dispatchPending();
+
+        assertEquals(DeliveryStatus.PENDING, pending.getStatus());
+        assertEquals(1, pending.getAttempts());
+        assertEquals("Exception: Connection reset", pending.getErrorMessage());
+        assertTrue(pending.getNextAttemptAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Should fail the delivery without retrying when the provider rejects it")
+    void dispatchPendingDoesNotRetryRejectedDelivery() {
+        MessageDelivery pending = pendingDelivery();
+        MessageDelivery rejected = MessageDelivery.builder().build();
+        rejected.markAsRejected("Telegram API error: chat not found");
+        when(messageDeliveryRepository.findForDispatch(eq(DeliveryStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(pending));
+        when(rateLimitService.tryAcquirePlatformPermit(eq(PlatformType.TELEGRAM), any())).thenReturn(true);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
+        when(telegramService.sendAsync(any(), any(), any())).thenReturn(Mono.just(rejected));
+        when(messageDeliveryRepository.findWithMessageByIdIn(any())).thenReturn(List.of(pending));
+
+        dispatcher.dispatchPending();
+
+        assertEquals(DeliveryStatus.FAILED, pending.getStatus());
+        assertEquals(0, pending.getAttempts());
+        assertEquals("Telegram API error: chat not found", pending.getErrorMessage());
+        assertNull(pending.getNextAttemptAt());
+        verify(userMessageStatsService).recordOutcomes(List.of(pending));
+    }
+
+    @Test
+    @DisplayName("Should mark the delivery as failed once it runs out of attempts")
+    void dispatchPendingFailsAfterMaxAttempts() {
+        MessageDelivery pending = pendingDelivery();
+        pending.setAttempts(2);
+        when(messageDeliveryRepository.findForDispatch(eq(DeliveryStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(pending));
+        when(rateLimitService.tryAcquirePlatformPermit(eq(PlatformType.TELEGRAM), any())).thenReturn(true);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
+        when(telegramService.sendAsync(any(), any(), any())).thenThrow(new RuntimeException("Connection reset"));
+        when(messageDeliveryRepository.findWithMessageByIdIn(any())).thenReturn(List.of(pending));
+
+        dispatcher.dispatchPending();
+
+        assertEquals(DeliveryStatus.FAILED, pending.getStatus());
+        assertEquals(3, pending.getAttempts());
+        assertNull(pending.getNextAttemptAt());
+    }
+
+    private MessageDelivery pendingDelivery() {
+        MessageDelivery delivery = MessageDelivery.builder()
+                .id(10L)
+                .platformType(PlatformType.TELEGRAM)
+                .destination("123456789")
+                .status(DeliveryStatus.PENDING)
+                .build();
+        message.addDelivery(delivery);
+        return delivery;
+    }
+}
@@ -0,0 +1,75 @@
+package com.notificationhub.service;
+
+import com.notificationhub.entity.MessageDelivery;
+import com.notificationhub.enums.DeliveryStatus;
+import com.notificationhub.enums.PlatformType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DeliveryRetryPolicy Unit Tests")
+class DeliveryRetryPolicyTest {
+
+    private final DeliveryRetryPolicy retryPolicy = new DeliveryRetryPolicy(4, 1000, 5000);
+
+    @Test
+    @DisplayName("Should grow the backoff exponentially with jitter in the upper half")
+    void backoffGrowsExponentiallyWithJitter() {
+        for (int i = 0; i < 50; i++) {
+            assertBetween(retryPolicy.backoff(1), 500, 1000);
+            assertBetween(retryPolicy.backoff(2), 1000, 2000);
+            assertBetween(retryPolicy.backoff(3), 2000, 4000);
+        }
+    }
+
+    @Test
+    @DisplayName("Should cap the backoff at the configured maximum")
+    void backoffIsCapped() {
+        assertBetween(retryPolicy.backoff(4), 2500, 5000);
+        assertBetween(retryPolicy.backoff(60), 2500, 5000);
+    }
+
+    @Test
+    @DisplayName("Should reschedule while attempts remain and fail afterwards")
+    void recordFailureReschedulesUntilMaxAttempts() {
+        MessageDelivery delivery = MessageDelivery.builder()
+                .platformType(PlatformType.DISCORD)
+                .status(DeliveryStatus.PENDING)
+                .build();
+
+        for (int attempt = 1; attempt < 4; attempt++) {
+            retryPolicy.recordFailure(delivery, "Exception: timeout");
+
+            assertEquals(DeliveryStatus.PENDING, delivery.getStatus());
+            assertEquals(attempt, delivery.getAttempts());
+            assertTrue(delivery.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        }
+
+        retryPolicy.recordFailure(delivery, "Exception: timeout");
+
+        assertEquals(DeliveryStatus.FAILED, delivery.getStatus());
+        assertEquals(4, delivery.getAttempts());
+        assertNull(delivery.getNextAttemptAt());
+        assertEquals("Exception: timeout", delivery.getErrorMessage());
+    }
+
+    @Test
+    @DisplayName("Should fail immediately when retries are disabled")
+    void singleAttemptFailsImmediately() {
+        DeliveryRetryPolicy noRetries = new DeliveryRetryPolicy(1, 1000, 5000);
+        MessageDelivery delivery = MessageDelivery.builder().build();
+
+        noRetries.recordFailure(delivery, "Exception: timeout");
+
+        assertEquals(DeliveryStatus.FAILED, delivery.getStatus());
+    }
+
+    private void assertBetween(Duration actual, long minMillis, long maxMillis) {
+        assertTrue(actual.toMillis() >= minMillis && actual.toMillis() <= maxMillis,
+                () -> "Expected backoff between " + minMillis + " and " + maxMillis + " ms but was " + actual.toMillis());
+    }
+}
@@ -0,0 +1,97 @@
+package com.notificationhub.service;
+
+import com.notificationhub.entity.Message;
+import com.notificationhub.entity.MessageDelivery;
+import com.notificationhub.entity.User;
+import com.notificationhub.enums.DeliveryStatus;
+import com.notificationhub.enums.PlatformType;
+import com.notificationhub.repository.UserMessageStatsRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserMessageStatsService Unit Tests")
+class UserMessageStatsServiceTest {
+
+    @Mock
+    private UserMessageStatsRepository userMessageStatsRepository;
+
+    @InjectMocks
+    private UserMessageStatsService userMessageStatsService;
+
+    private final User user = User.builder().id(1L).username("testuser").build();
+
+    @Test
+    @DisplayName("Should add messages and their deliveries to the user counters in one upsert")
+    void recordMessagesIncrementsCountersOnce() {
+        Message first = message(delivery(PlatformType.TELEGRAM, DeliveryStatus.SUCCESS),
+                delivery(PlatformType.DISCORD, DeliveryStatus.FAILED));
+        Message second = message(delivery(PlatformType.TELEGRAM, DeliveryStatus.PENDING));
+
+        userMessageStatsService.recordMessages(user, List.of(first, second));
+
+        verify(userMessageStatsRepository).increment(eq(1L), eq(2L), eq(2L), eq(1L), eq(1L), eq(1L),
+                any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should not touch the counters when there are no messages")
+    void recordMessagesEmptyDoesNothing() {
+        userMessageStatsService.recordMessages(user, List.of());
+
+        verifyNoInteractions(userMessageStatsRepository);
+    }
+
+    @Test
+    @DisplayName("Should add finished deliveries to the sender counters without new messages")
+    void recordOutcomesIncrementsSuccessAndFailure() {
+        MessageDelivery success = delivery(PlatformType.TELEGRAM, DeliveryStatus.SUCCESS);
+        MessageDelivery failed = delivery(PlatformType.DISCORD, DeliveryStatus.FAILED);
+        message(success, failed);
+
+        userMessageStatsService.recordOutcomes(List.of(success, failed));
+
+        verify(userMessageStatsRepository).increment(eq(1L), eq(0L), eq(0L), eq(0L), eq(1L), eq(1L), isNull());
+    }
+
+    @Test
+    @DisplayName("Should not touch the counters when no delivery finished")
+    void recordOutcomesEmptyDoesNothing() {
+        userMessageStatsService.recordOutcomes(List.of());
+
+        verify(userMessageStatsRepository, never()).increment(anyLong(), anyLong(), anyLong(), anyLong(),
+                anyLong(), anyLong(), any());
+    }
+
+    private Message message(MessageDelivery... deliveries) {
+        Message message = Message.builder()
+                .user(user)
+                .content("content")
+                .deliveries(List.of(deliveries))
+                .build();
+        for (MessageDelivery delivery : deliveries) {
+            delivery.setMessage(message);
+        }
+        return message;
+    }
+
+    private static MessageDelivery delivery(PlatformType platform, DeliveryStatus status) {
+        return MessageDelivery.builder()
+                .platformType(platform)
+                .status(status)
+                .build();
+    }
+}
@@ -97,7 +97,7 @@ public class AuthServiceImplTest {
         assertEquals("testuser", response.getUsername());
         assertNotNull(response.getTimestamp());
 
-        verify(jwtUtils, never()).generateToken(any(UserDetails.class));
+        verify(jwtUtils, never()).generateToken(any(UserDetails.class), any(User.class));
         verify(jwtUtils, never()).getExpirationTime();
 
         verify(userRepository).findByUsername("testuser");
@@ -118,7 +118,7 @@ public class AuthServiceImplTest {
         assertEquals("Username already exists", exception.getMessage());
         verify(userRepository).findByUsername("testuser");
         verify(userRepository, never()).save(any(User.class));
-        verify(jwtUtils, never()).generateToken(any(UserDetails.class));
+        verify(jwtUtils, never()).generateToken(any(UserDetails.class), any(User.class));
     }
 
     @Test
@@ -129,7 +129,7 @@ public class AuthServiceImplTest {
                 .thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(userDetails);
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(jwtUtils.generateToken(userDetails)).thenReturn("jwt-token");
+        when(jwtUtils.generateToken(userDetails, testUser)).thenReturn("jwt-token");
         when(jwtUtils.getExpirationTime()).thenReturn(86400000L);
 
         AuthResponse response = authService.login(loginRequest);
@@ -142,7 +142,7 @@ public class AuthServiceImplTest {
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(userRepository).findByUsername("testuser");
-        verify(jwtUtils).generateToken(userDetails);
+        verify(jwtUtils).generateToken(userDetails, testUser);
     }
 
     @Test
@@ -242,7 +242,7 @@ public class AuthServiceImplTest {
         verify(userRepository).save(argThat(user ->
                 user.getPasswordHash().equals("$2a$10$encodedPassword")
         ));
-        verify(jwtUtils, never()).generateToken(any(UserDetails.class));
+        verify(jwtUtils, never()).generateToken(any(UserDetails.class), any(User.class));
     }
 
     @Test
@@ -259,7 +259,7 @@ public class AuthServiceImplTest {
                 user.getRole() == Role.USER &&
                         user.getDailyMessageLimit() == 100
         ));
-        verify(jwtUtils, never()).generateToken(any(UserDetails.class));
+        verify(jwtUtils, never()).generateToken(any(UserDetails.class), any(User.class));
     }
 
     @Test
@@ -286,7 +286,7 @@ public class AuthServiceImplTest {
         RegisterResponse response = authService.register(registerRequest);
 
         assertNotNull(response);
-        verify(jwtUtils, never()).generateToken(any(UserDetails.class));
+        verify(jwtUtils, never()).generateToken(any(UserDetails.class), any(User.class));
     }
 
     @Test
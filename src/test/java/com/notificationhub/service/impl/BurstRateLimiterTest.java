@@ -0,0 +1,199 @@
+package com.notificationhub.service.impl;
+
+import com.notificationhub.dto.request.DestinationRequest;
+import com.notificationhub.entity.User;
+import com.notificationhub.enums.PlatformType;
+import com.notificationhub.exception.custom.RateLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BurstRateLimiter Unit Tests")
+class BurstRateLimiterTest {
+
+    private static final String WEBHOOK_A = "https://discord.com/api/webhooks/1/a";
+    private static final String WEBHOOK_B = "https://discord.com/api/webhooks/2/b";
+
+    private final AtomicLong now = new AtomicLong();
+
+    private BurstRateLimiter limiter;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new BurstRateLimiter(true,
+                new BurstRateLimiter.Limit(3, 1),
+                Map.of(PlatformType.TELEGRAM, new BurstRateLimiter.Limit(2, 2),
+                        PlatformType.DISCORD, new BurstRateLimiter.Limit(1, 1)),
+                Set.of(PlatformType.DISCORD),
+                now::get);
+
+        testUser = User.builder()
+                .id(1L)
+                .username("testuser")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should reject the user once the burst capacity is used up")
+    void acquireRejectsUserBurst() {
+        limiter.acquire(testUser, List.of());
+        limiter.acquire(testUser, List.of());
+        limiter.acquire(testUser, List.of());
+
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire(testUser, List.of()));
+
+        assertEquals("Burst limit exceeded for user: testuser", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should refill tokens over time")
+    void acquireRefillsOverTime() {
+        limiter.acquire(testUser, List.of());
+        limiter.acquire(testUser, List.of());
+        limiter.acquire(testUser, List.of());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertDoesNotThrow(() -> limiter.acquire(testUser, List.of()));
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire(testUser, List.of()));
+    }
+
+    @Test
+    @DisplayName("Should count one platform token per destination and refund everything on rejection")
+    void acquireRefundsWhenPlatformRejects() {
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire(testUser, List.of(telegram("1"), telegram("2"), telegram("3"))));
+
+        assertEquals("Burst limit exceeded for platform: TELEGRAM", exception.getMessage());
+
+        limiter.acquire(testUser, List.of(telegram("1"), telegram("2")));
+        limiter.acquire(testUser, List.of());
+        limiter.acquire(testUser, List.of());
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire(testUser, List.of()));
+    }
+
+    @Test
+    @DisplayName("Should give back the user and platform tokens of a released send")
+    void releaseRefundsAcquiredTokens() {
+        limiter.acquire(testUser, List.of(telegram("1"), telegram("2")));
+        assertFalse(limiter.tryAcquirePlatform(PlatformType.TELEGRAM, "3", 1));
+
+        limiter.release(testUser, List.of(telegram("1"), telegram("2")));
+
+        assertTrue(limiter.tryAcquirePlatform(PlatformType.TELEGRAM, "3", 2));
+        limiter.acquire(testUser, List.of());
+        limiter.acquire(testUser, List.of());
+        limiter.acquire(testUser, List.of());
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire(testUser, List.of()));
+    }
+
+    @Test
+    @DisplayName("Should ignore a release for buckets already evicted")
+    void releaseAfterEvictionDoesNothing() {
+        limiter.acquire(testUser, List.of(discord(WEBHOOK_A)));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        limiter.evictIdleBuckets();
+
+        assertDoesNotThrow(() -> limiter.release(testUser, List.of(discord(WEBHOOK_A))));
+        assertEquals(0, limiter.trackedPlatformBuckets());
+    }
+
+    @Test
+    @DisplayName("Should let platforms without a configured limit through")
+    void tryAcquirePlatformWithoutLimit() {
+        BurstRateLimiter telegramOnly = new BurstRateLimiter(true,
+                new BurstRateLimiter.Limit(3, 1),
+                Map.of(PlatformType.TELEGRAM, new BurstRateLimiter.Limit(2, 2)),
+                Set.of(),
+                now::get);
+
+        assertTrue(telegramOnly.tryAcquirePlatform(PlatformType.DISCORD, WEBHOOK_A, 100));
+        assertTrue(telegramOnly.tryAcquirePlatform(PlatformType.TELEGRAM, "1", 2));
+        assertFalse(telegramOnly.tryAcquirePlatform(PlatformType.TELEGRAM, "2", 1));
+    }
+
+    @Test
+    @DisplayName("Should share one bucket across all Telegram chats")
+    void tryAcquirePlatformGlobalBucket() {
+        assertTrue(limiter.tryAcquirePlatform(PlatformType.TELEGRAM, "1", 1));
+        assertTrue(limiter.tryAcquirePlatform(PlatformType.TELEGRAM, "2", 1));
+        assertFalse(limiter.tryAcquirePlatform(PlatformType.TELEGRAM, "3", 1));
+    }
+
+    @Test
+    @DisplayName("Should give each Discord webhook its own bucket")
+    void tryAcquirePlatformPerWebhookBucket() {
+        assertTrue(limiter.tryAcquirePlatform(PlatformType.DISCORD, WEBHOOK_A, 1));
+        assertFalse(limiter.tryAcquirePlatform(PlatformType.DISCORD, WEBHOOK_A, 1));
+
+        assertTrue(limiter.tryAcquirePlatform(PlatformType.DISCORD, WEBHOOK_B, 1));
+    }
+
+    @Test
+    @DisplayName("Should reject a send only when one of its own webhooks is exhausted")
+    void acquireRejectsOnlyTheExhaustedWebhook() {
+        limiter.acquire(testUser, List.of(discord(WEBHOOK_A)));
+
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire(testUser, List.of(discord(WEBHOOK_B), discord(WEBHOOK_A))));
+
+        assertEquals("Burst limit exceeded for platform: DISCORD", exception.getMessage());
+        assertTrue(limiter.tryAcquirePlatform(PlatformType.DISCORD, WEBHOOK_B, 1));
+    }
+
+    @Test
+    @DisplayName("Should evict destination buckets once they refill")
+    void evictIdleBucketsDropsFullDestinationBuckets() {
+        limiter.tryAcquirePlatform(PlatformType.DISCORD, WEBHOOK_A, 1);
+        limiter.tryAcquirePlatform(PlatformType.DISCORD, WEBHOOK_B, 1);
+        limiter.evictIdleBuckets();
+        assertEquals(2, limiter.trackedPlatformBuckets());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.evictIdleBuckets();
+        assertEquals(0, limiter.trackedPlatformBuckets());
+    }
+
+    @Test
+    @DisplayName("Should evict only buckets that have fully refilled")
+    void evictIdleBucketsDropsFullBuckets() {
+        limiter.acquire(testUser, List.of());
+        limiter.evictIdleBuckets();
+        assertEquals(1, limiter.trackedUsers());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.evictIdleBuckets();
+        assertEquals(0, limiter.trackedUsers());
+    }
+
+    @Test
+    @DisplayName("Should not limit anything when disabled")
+    void disabledLimiterAllowsEverything() {
+        BurstRateLimiter disabled = new BurstRateLimiter(false,
+                new BurstRateLimiter.Limit(0, 0),
+                Map.of(PlatformType.TELEGRAM, new BurstRateLimiter.Limit(0, 0)),
+                Set.of(),
+                now::get);
+
+        assertDoesNotThrow(() -> disabled.acquire(testUser, List.of(telegram("1"))));
+        assertTrue(disabled.tryAcquirePlatform(PlatformType.TELEGRAM, "1", 1));
+    }
+
+    private static DestinationRequest telegram(String chatId) {
+        return new DestinationRequest(PlatformType.TELEGRAM, chatId);
+    }
+
+    private static DestinationRequest discord(String webhook) {
+        return new DestinationRequest(PlatformType.DISCORD, webhook);
+    }
+}
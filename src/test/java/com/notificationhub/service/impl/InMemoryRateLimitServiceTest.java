@@ -0,0 +1,273 @@
+package com.notificationhub.service.impl;
+
+import com.notificationhub.entity.User;
+import com.notificationhub.enums.Role;
+import com.notificationhub.exception.custom.RateLimitExceededException;
+import com.notificationhub.repository.DailyMessageCountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InMemoryRateLimitService Unit Tests")
+class InMemoryRateLimitServiceTest {
+
+    @Mock
+    private DailyMessageCountRepository dailyMessageCountRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private BurstRateLimiter burstRateLimiter;
+
+    private InMemoryRateLimitService rateLimitService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitService = new InMemoryRateLimitService(dailyMessageCountRepository, jdbcTemplate, burstRateLimiter);
+
+        testUser = User.builder()
+                .id(1L)
+                .username("testuser")
+                .role(Role.USER)
+                .dailyMessageLimit(100)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should seed the counter from the database only once")
+    void counterSeededOnceFromDatabase() {
+        when(dailyMessageCountRepository.findCount(1L, LocalDate.now())).thenReturn(Optional.of(40));
+
+        rateLimitService.getRemainingMessages(testUser);
+        rateLimitService.reserve(testUser, 10);
+
+        assertEquals(50, rateLimitService.getRemainingMessages(testUser));
+        verify(dailyMessageCountRepository, times(1)).findCount(1L, LocalDate.now());
+    }
+
+    @Test
+    @DisplayName("Should reject when the in-memory count reaches the limit")
+    void reserveAtLimitThrows() {
+        when(dailyMessageCountRepository.findCount(1L, LocalDate.now())).thenReturn(Optional.of(95));
+
+        assertDoesNotThrow(() -> rateLimitService.reserve(testUser, 5));
+
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> rateLimitService.reserve(testUser, 1));
+
+        assertEquals("Daily message limit exceeded for user: testuser. Limit: 100", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should not lose reservations under concurrent sends")
+    void reserveConcurrentIsExact() throws InterruptedException {
+        when(dailyMessageCountRepository.findCount(1L, LocalDate.now())).thenReturn(Optional.empty());
+        rateLimitService.getRemainingMessages(testUser);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(80);
+        for (int i = 0; i < 80; i++) {
+            executor.submit(() -> {
+                rateLimitService.reserve(testUser, 1);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertEquals(20, rateLimitService.getRemainingMessages(testUser));
+    }
+
+    @Test
+    @DisplayName("Should flush accumulated deltas in a single batch")
+    @SuppressWarnings("unchecked")
+    void flushWritesDeltasInOneBatch() {
+        User otherUser = User.builder().id(2L).username("other").dailyMessageLimit(100).build();
+        when(dailyMessageCountRepository.findCount(anyLong(), any())).thenReturn(Optional.empty());
+
+        rateLimitService.reserve(testUser, 3);
+        rateLimitService.reserve(testUser, 2);
+        rateLimitService.reserve(otherUser, 1);
+
+        rateLimitService.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(InMemoryRateLimitService.UPSERT_SQL), rows.capture());
+        assertEquals(2, rows.getValue().size());
+        assertTrue(rows.getValue().stream().anyMatch(row -> row[0].equals(1L) && row[2].equals(5)));
+        assertTrue(rows.getValue().stream().anyMatch(row -> row[0].equals(2L) && row[2].equals(1)));
+
+        rateLimitService.flush();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should keep deltas for the next flush when the batch fails")
+    @SuppressWarnings("unchecked")
+    void flushFailureRetainsDeltas() {
+        when(dailyMessageCountRepository.findCount(1L, LocalDate.now())).thenReturn(Optional.empty());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(new int[]{1});
+
+        rateLimitService.reserve(testUser, 4);
+        rateLimitService.flush();
+        rateLimitService.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), rows.capture());
+        assertEquals(4, rows.getAllValues().get(1).get(0)[2]);
+    }
+
+    @Test
+    @DisplayName("Should never over-reserve quota under concurrent reservations")
+    void reserveConcurrentNeverExceedsLimit() throws InterruptedException {
+        when(dailyMessageCountRepository.findCount(1L, LocalDate.now())).thenReturn(Optional.of(90));
+        rateLimitService.getRemainingMessages(testUser);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(40);
+        AtomicInteger granted = new AtomicInteger();
+        for (int i = 0; i < 40; i++) {
+            executor.submit(() -> {
+                try {
+                    rateLimitService.reserve(testUser, 1);
+                    granted.incrementAndGet();
+                } catch (RateLimitExceededException ignored) {
+                    // cuota agotada
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertEquals(10, granted.get());
+        assertEquals(0, rateLimitService.getRemainingMessages(testUser));
+    }
+
+    @Test
+    @DisplayName("Should flush a released reservation as a negative delta")
+    @SuppressWarnings("unchecked")
+    void releaseFlushesNegativeDelta() {
+        when(dailyMessageCountRepository.findCount(1L, LocalDate.now())).thenReturn(Optional.of(10));
+
+        rateLimitService.reserve(testUser, 1);
+        rateLimitService.flush();
+        rateLimitService.release(testUser, LocalDate.now(), 1);
+        rateLimitService.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), rows.capture());
+        assertEquals(-1, rows.getAllValues().get(1).get(0)[3]);
+        assertEquals(90, rateLimitService.getRemainingMessages(testUser));
+    }
+
+    @Test
+    @DisplayName("Should release on the day of the reservation, not on the current day")
+    @SuppressWarnings("unchecked")
+    void releaseAfterMidnightUsesReservationDay() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        when(dailyMessageCountRepository.findCount(1L, LocalDate.now())).thenReturn(Optional.of(10));
+        when(dailyMessageCountRepository.findCount(1L, yesterday)).thenReturn(Optional.of(30));
+
+        rateLimitService.release(testUser, yesterday, 1);
+        rateLimitService.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(Date.valueOf(yesterday), rows.getValue().get(0)[1]);
+        assertEquals(-1, rows.getValue().get(0)[3]);
+        assertEquals(90, rateLimitService.getRemainingMessages(testUser));
+    }
+
+    @Test
+    @DisplayName("Should pick up reservations persisted by other instances after each flush")
+    void flushResyncsCountersFromDatabase() throws Exception {
+        when(dailyMessageCountRepository.findCount(1L, LocalDate.now())).thenReturn(Optional.of(10));
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong(1)).thenReturn(1L);
+        when(row.getInt(2)).thenReturn(60);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        rateLimitService.reserve(testUser, 5);
+        rateLimitService.flush();
+
+        assertEquals(40, rateLimitService.getRemainingMessages(testUser));
+    }
+
+    @Test
+    @DisplayName("Should give back a reservation when the surrounding transaction rolls back")
+    void reserveReleasedOnRollback() {
+        when(dailyMessageCountRepository.findCount(1L, LocalDate.now())).thenReturn(Optional.of(10));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            rateLimitService.reserve(testUser, 5);
+            assertEquals(85, rateLimitService.getRemainingMessages(testUser));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(90, rateLimitService.getRemainingMessages(testUser));
+        rateLimitService.flush();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should keep a reservation when the surrounding transaction commits")
+    void reserveKeptOnCommit() {
+        when(dailyMessageCountRepository.findCount(1L, LocalDate.now())).thenReturn(Optional.of(10));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            rateLimitService.reserve(testUser, 5);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(85, rateLimitService.getRemainingMessages(testUser));
+    }
+}
@@ -1,7 +1,11 @@
 package com.notificationhub.service.impl;
 
+import com.notificationhub.dto.criteria.MessageCursor;
+import com.notificationhub.dto.criteria.MessageFilterCriteria;
 import com.notificationhub.dto.request.MessageRequest;
 import com.notificationhub.dto.request.DestinationRequest;
+import com.notificationhub.dto.response.BatchMessageResponse;
+import com.notificationhub.dto.response.CursorPage;
 import com.notificationhub.dto.response.MetricsResponse;
 import com.notificationhub.entity.*;
 import com.notificationhub.enums.DeliveryStatus;
@@ -9,28 +13,44 @@ import com.notificationhub.enums.PlatformType;
 import com.notificationhub.enums.Role;
 import com.notificationhub.exception.custom.MessageDeliveryException;
 import com.notificationhub.exception.custom.RateLimitExceededException;
-import com.notificationhub.repository.DailyMessageCountRepository;
 import com.notificationhub.repository.MessageDeliveryRepository;
 import com.notificationhub.repository.MessageRepository;
 import com.notificationhub.repository.UserRepository;
+import com.notificationhub.service.DeliveryRetryPolicy;
 import com.notificationhub.service.RateLimitService;
+import com.notificationhub.service.UserMessageStatsService;
 import com.notificationhub.service.platform.PlatformService;
 import com.notificationhub.service.platform.PlatformServiceFactory;
 import com.notificationhub.utils.SecurityUtils;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,15 +69,18 @@ public class MessageServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
-    @Mock
-    private DailyMessageCountRepository dailyMessageCountRepository;
-
     @Mock
     private RateLimitService rateLimitService;
 
     @Mock
     private SecurityUtils securityUtils;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private UserMessageStatsService userMessageStatsService;
+
     @Mock
     private PlatformService discordService;
 
@@ -74,10 +97,14 @@ public class MessageServiceImplTest {
                 messageRepository,
                 platformServiceFactory,
                 userRepository,
-                dailyMessageCountRepository,
                 rateLimitService,
                 securityUtils,
-                messageDeliveryRepository
+                messageDeliveryRepository,
+                new TransactionTemplate(transactionManager),
+                new DeliveryRetryPolicy(3, 2000, 60000),
+                userMessageStatsService,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                4
         );
 
         testUser = User.builder()
@@ -113,8 +140,8 @@ public class MessageServiceImplTest {
                 .status(DeliveryStatus.SUCCESS)
                 .build();
 
-        when(discordService.send(any(), any(), any())).thenReturn(discordDelivery);
-        when(telegramService.send(any(), any(), any())).thenReturn(telegramDelivery);
+        when(discordService.sendAsync(any(), any(), any())).thenReturn(Mono.just(discordDelivery));
+        when(telegramService.sendAsync(any(), any(), any())).thenReturn(Mono.just(telegramDelivery));
 
         Message savedMessage = Message.builder()
                 .id(1L)
@@ -131,9 +158,53 @@ public class MessageServiceImplTest {
         assertEquals(1L, result.getId());
         assertEquals(2, result.getDeliveries().size());
 
-        verify(rateLimitService).checkRateLimit(testUser);
-        verify(rateLimitService).incrementCounter(testUser);
+        verify(rateLimitService).reserve(testUser, 1);
+        verify(rateLimitService, never()).release(any(), any(), anyInt());
         verify(messageRepository).save(any(Message.class));
+        verify(userMessageStatsService).recordMessages(testUser, List.of(savedMessage));
+    }
+
+    @Test
+    @DisplayName("Should send to all destinations concurrently")
+    void sendMessageDeliversToDestinationsConcurrently() {
+        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(platformServiceFactory.getService(PlatformType.DISCORD)).thenReturn(discordService);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
+
+        CountDownLatch bothInFlight = new CountDownLatch(2);
+        when(discordService.sendAsync(any(), any(), any()))
+                .thenAnswer(invocation -> awaitPeerAndDeliver(bothInFlight, PlatformType.DISCORD));
+        when(telegramService.sendAsync(any(), any(), any()))
+                .thenAnswer(invocation -> awaitPeerAndDeliver(bothInFlight, PlatformType.TELEGRAM));
+        when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Message result = messageService.sendMessage(validMessageRequest);
+
+        assertEquals(2, result.getDeliveries().size());
+        assertEquals(PlatformType.DISCORD, result.getDeliveries().get(0).getPlatformType());
+        assertEquals(PlatformType.TELEGRAM, result.getDeliveries().get(1).getPlatformType());
+        assertTrue(result.getDeliveries().stream().allMatch(d -> d.getStatus() == DeliveryStatus.SUCCESS));
+    }
+
+    @Test
+    @DisplayName("Should call platforms before opening the persistence transaction")
+    void sendMessageCallsPlatformsOutsideTransaction() {
+        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(platformServiceFactory.getService(PlatformType.DISCORD)).thenReturn(discordService);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
+        MessageDelivery success = MessageDelivery.builder().status(DeliveryStatus.SUCCESS).build();
+        when(discordService.sendAsync(any(), any(), any())).thenReturn(Mono.just(success));
+        when(telegramService.sendAsync(any(), any(), any())).thenReturn(Mono.just(success));
+        when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        messageService.sendMessage(validMessageRequest);
+
+        InOrder inOrder = inOrder(rateLimitService, discordService, transactionManager, messageRepository);
+        inOrder.verify(rateLimitService).reserve(testUser, 1);
+        inOrder.verify(discordService).sendAsync(any(), any(), any());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(messageRepository).save(any(Message.class));
+        inOrder.verify(transactionManager).commit(any());
     }
 
     @Test
@@ -154,8 +225,8 @@ public class MessageServiceImplTest {
                 .status(DeliveryStatus.SUCCESS)
                 .build();
 
-        when(discordService.send(any(), any(), any())).thenThrow(new RuntimeException("Service unavailable"));
-        when(telegramService.send(any(), any(), any())).thenReturn(telegramDelivery);
+        when(discordService.sendAsync(any(), any(), any())).thenThrow(new RuntimeException("Service unavailable"));
+        when(telegramService.sendAsync(any(), any(), any())).thenReturn(Mono.just(telegramDelivery));
 
         Message savedMessage = Message.builder()
                 .id(1L)
@@ -171,26 +242,140 @@ public class MessageServiceImplTest {
         assertNotNull(result);
         assertEquals(2, result.getDeliveries().size());
 
-        verify(rateLimitService).incrementCounter(testUser);
+        verify(rateLimitService).reserve(testUser, 1);
+        verify(rateLimitService, never()).release(any(), any(), anyInt());
     }
 
     @Test
-    @DisplayName("Should not increment rate limit and throws exception when all deliveries fail")
+    @DisplayName("Should reject before reserving quota when the burst limit is exceeded")
+    void sendMessageBurstLimitExceededDoesNotReserve() {
+        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(platformServiceFactory.getService(PlatformType.DISCORD)).thenReturn(discordService);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
+        when(discordService.resolveDestination(null)).thenReturn("https://discord.com/api/webhooks/default");
+        when(telegramService.resolveDestination("-4614987626")).thenReturn("-4614987626");
+        doThrow(new RateLimitExceededException("Burst limit exceeded for platform: TELEGRAM"))
+                .when(rateLimitService)
+                .acquireBurstPermits(testUser, List.of(
+                        new DestinationRequest(PlatformType.DISCORD, "https://discord.com/api/webhooks/default"),
+                        new DestinationRequest(PlatformType.TELEGRAM, "-4614987626")));
+
+        assertThrows(RateLimitExceededException.class, () -> messageService.sendMessage(validMessageRequest));
+
+        verify(rateLimitService, never()).reserve(any(), anyInt());
+        verify(discordService, never()).sendAsync(any(), any(), any());
+        verify(telegramService, never()).sendAsync(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep deliveries deferred by a provider rate limit instead of failing")
+    void sendMessageKeepsDeferredDeliveries() {
+        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(platformServiceFactory.getService(PlatformType.DISCORD)).thenReturn(discordService);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
+
+        MessageDelivery deferred = MessageDelivery.builder()
+                .platformType(PlatformType.TELEGRAM)
+                .destination("-4614987626")
+                .build();
+        deferred.markAsDeferred(LocalDateTime.now().plusSeconds(10), "Deferred: Telegram rate limit");
+
+        when(discordService.sendAsync(any(), any(), any())).thenThrow(new RuntimeException("Discord API down"));
+        when(telegramService.sendAsync(any(), any(), any())).thenReturn(Mono.just(deferred));
+        when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Message result = messageService.sendMessage(validMessageRequest);
+
+        assertEquals(1, result.getDeliveries().size());
+        assertEquals(DeliveryStatus.PENDING, result.getDeliveries().get(0).getStatus());
+        assertNotNull(result.getDeliveries().get(0).getNextAttemptAt());
+        verify(rateLimitService, never()).release(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should schedule a retry instead of failing when a platform reports an error")
+    void sendMessageSchedulesRetryForFailedDelivery() {
+        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(platformServiceFactory.getService(PlatformType.DISCORD)).thenReturn(discordService);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
+
+        MessageDelivery failed = MessageDelivery.builder()
+                .platformType(PlatformType.DISCORD)
+                .status(DeliveryStatus.FAILED)
+                .errorMessage("Exception: Connection reset")
+                .build();
+        when(discordService.sendAsync(any(), any(), any())).thenReturn(Mono.just(failed));
+        when(telegramService.sendAsync(any(), any(), any())).thenThrow(new RuntimeException("Telegram down"));
+        when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Message result = messageService.sendMessage(validMessageRequest);
+
+        MessageDelivery scheduled = result.getDeliveries().get(0);
+        assertEquals(DeliveryStatus.PENDING, scheduled.getStatus());
+        assertEquals(1, scheduled.getAttempts());
+        assertTrue(scheduled.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        verify(rateLimitService, never()).release(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should fail a delivery the provider rejected without scheduling a retry")
+    void sendMessageDoesNotRetryRejectedDelivery() {
+        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(platformServiceFactory.getService(PlatformType.DISCORD)).thenReturn(discordService);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
+
+        MessageDelivery rejected = MessageDelivery.builder()
+                .platformType(PlatformType.DISCORD)
+                .build();
+        rejected.markAsRejected("Discord webhook error: Unknown Webhook");
+        when(discordService.sendAsync(any(), any(), any())).thenReturn(Mono.just(rejected));
+        when(telegramService.sendAsync(any(), any(), any())).thenReturn(Mono.just(MessageDelivery.builder()
+                .platformType(PlatformType.TELEGRAM)
+                .status(DeliveryStatus.SUCCESS)
+                .build()));
+        when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Message result = messageService.sendMessage(validMessageRequest);
+
+        MessageDelivery failed = result.getDeliveries().get(0);
+        assertEquals(DeliveryStatus.FAILED, failed.getStatus());
+        assertEquals(0, failed.getAttempts());
+        assertNull(failed.getNextAttemptAt());
+    }
+
+    @Test
+    @DisplayName("Should release reserved quota and throw exception when all deliveries fail")
     void sendMessageAllDeliveriesFailThrowsException() {
         when(securityUtils.getCurrentUser()).thenReturn(testUser);
         when(platformServiceFactory.getService(PlatformType.DISCORD)).thenReturn(discordService);
         when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
 
-        when(discordService.send(any(), any(), any())).thenThrow(new RuntimeException("Discord API down"));
-        when(telegramService.send(any(), any(), any())).thenThrow(new RuntimeException("Telegram rate limited"));
+        when(discordService.sendAsync(any(), any(), any())).thenThrow(new RuntimeException("Discord API down"));
+        when(telegramService.sendAsync(any(), any(), any())).thenThrow(new RuntimeException("Telegram rate limited"));
 
         MessageDeliveryException exception = assertThrows(MessageDeliveryException.class,
                 () -> messageService.sendMessage(validMessageRequest));
 
         assertEquals("Failed to deliver message to any platform", exception.getMessage());
-        verify(rateLimitService, never()).incrementCounter(any());
         verify(messageRepository, never()).save(any());
-        verify(rateLimitService).checkRateLimit(testUser);
+        verify(rateLimitService).reserve(testUser, 1);
+        verify(rateLimitService).release(eq(testUser), any(), eq(1));
+    }
+
+    @Test
+    @DisplayName("Should release reserved quota when persisting the message fails")
+    void sendMessagePersistenceFailsReleasesQuota() {
+        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(platformServiceFactory.getService(PlatformType.DISCORD)).thenReturn(discordService);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
+        MessageDelivery success = MessageDelivery.builder().status(DeliveryStatus.SUCCESS).build();
+        when(discordService.sendAsync(any(), any(), any())).thenReturn(Mono.just(success));
+        when(telegramService.sendAsync(any(), any(), any())).thenReturn(Mono.just(success));
+        when(messageRepository.save(any(Message.class))).thenThrow(new RuntimeException("Database down"));
+
+        assertThrows(RuntimeException.class, () -> messageService.sendMessage(validMessageRequest));
+
+        verify(rateLimitService).release(eq(testUser), any(), eq(1));
     }
 
 
@@ -198,12 +383,23 @@ public class MessageServiceImplTest {
     @DisplayName("Should throw exception when rate limit exceeded")
     void sendMessageRateLimitExceededThrowsException() {
         when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(platformServiceFactory.getService(PlatformType.DISCORD)).thenReturn(discordService);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
+        when(telegramService.resolveDestination("-4614987626")).thenReturn("-4614987626");
         doThrow(new RateLimitExceededException("Limit exceeded"))
-                .when(rateLimitService).checkRateLimit(testUser);
+                .when(rateLimitService).reserve(testUser, 1);
 
         assertThrows(RateLimitExceededException.class, () -> messageService.sendMessage(validMessageRequest));
 
-        verify(platformServiceFactory, never()).getService(any());
+        List<DestinationRequest> resolved = List.of(
+                new DestinationRequest(PlatformType.DISCORD, null),
+                new DestinationRequest(PlatformType.TELEGRAM, "-4614987626"));
+        InOrder inOrder = inOrder(rateLimitService);
+        inOrder.verify(rateLimitService).acquireBurstPermits(testUser, resolved);
+        inOrder.verify(rateLimitService).reserve(testUser, 1);
+        inOrder.verify(rateLimitService).releaseBurstPermits(testUser, resolved);
+        verify(discordService, never()).sendAsync(any(), any(), any());
+        verify(telegramService, never()).sendAsync(any(), any(), any());
         verify(messageRepository, never()).save(any());
     }
 
@@ -214,178 +410,247 @@ public class MessageServiceImplTest {
 
         assertThrows(IllegalStateException.class, () -> messageService.sendMessage(validMessageRequest));
 
-        verify(rateLimitService, never()).checkRateLimit(any());
+        verify(rateLimitService, never()).reserve(any(), anyInt());
     }
 
     @Test
-    @DisplayName("Should return metrics for all users when admin")
-    void getAllUserMetricsAdminUserReturnsMetrics() {
-        when(securityUtils.isAdmin()).thenReturn(true);
+    @DisplayName("Should queue message with pending deliveries without calling platforms")
+    void queueMessagePersistsPendingDeliveries() {
+        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(platformServiceFactory.getService(PlatformType.DISCORD)).thenReturn(discordService);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
+        when(discordService.resolveDestination(null)).thenReturn("https://discord.com/api/webhooks/default");
+        when(telegramService.resolveDestination("-4614987626")).thenReturn("-4614987626");
+        when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        User user1 = User.builder()
-                .id(1L)
-                .username("user1")
-                .dailyMessageLimit(100)
-                .build();
+        Message result = messageService.queueMessage(validMessageRequest);
 
-        User user2 = User.builder()
-                .id(2L)
-                .username("user2")
-                .dailyMessageLimit(50)
-                .build();
+        assertEquals(2, result.getDeliveries().size());
+        assertTrue(result.getDeliveries().stream().allMatch(d -> d.getStatus() == DeliveryStatus.PENDING));
+        assertEquals("https://discord.com/api/webhooks/default", result.getDeliveries().get(0).getDestination());
+        assertEquals("-4614987626", result.getDeliveries().get(1).getDestination());
+
+        verify(rateLimitService).reserve(testUser, 1);
+        verify(userMessageStatsService).recordMessages(testUser, List.of(result));
+        verify(discordService, never()).sendAsync(any(), any(), any());
+        verify(telegramService, never()).sendAsync(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject queued message when a platform is not configured")
+    void queueMessagePlatformNotConfiguredThrowsException() {
+        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(platformServiceFactory.getService(PlatformType.DISCORD))
+                .thenThrow(new IllegalStateException("Platform not configured: DISCORD"));
 
-        List<User> users = Arrays.asList(user1, user2);
-        when(userRepository.findAll()).thenReturn(users);
+        MessageDeliveryException exception = assertThrows(MessageDeliveryException.class,
+                () -> messageService.queueMessage(validMessageRequest));
 
-        when(messageRepository.countByUser(user1)).thenReturn(10L);
-        DailyMessageCount count1 = DailyMessageCount.builder()
-                .user(user1)
-                .date(LocalDate.now())
-                .count(3)
-                .build();
-        when(dailyMessageCountRepository.findByUserAndDate(user1, LocalDate.now()))
-                .thenReturn(Optional.of(count1));
+        assertEquals("Platform not configured: DISCORD", exception.getMessage());
+        verify(messageRepository, never()).save(any());
+        verify(rateLimitService, never()).reserve(any(), anyInt());
+    }
 
-        when(messageRepository.countByUser(user2)).thenReturn(5L);
-        when(dailyMessageCountRepository.findByUserAndDate(user2, LocalDate.now()))
-                .thenReturn(Optional.empty());
+    @Test
+    @DisplayName("Should not queue message when rate limit exceeded")
+    void queueMessageRateLimitExceededThrowsException() {
+        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(platformServiceFactory.getService(PlatformType.DISCORD)).thenReturn(discordService);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
+        doThrow(new RateLimitExceededException("Limit exceeded"))
+                .when(rateLimitService).reserve(testUser, 1);
 
-        List<MetricsResponse> result = messageService.getAllUserMetrics();
+        assertThrows(RateLimitExceededException.class, () -> messageService.queueMessage(validMessageRequest));
 
-        assertNotNull(result);
-        assertEquals(2, result.size());
-
-        MetricsResponse metrics1 = result.stream()
-                .filter(m -> m.getUsername().equals("user1"))
-                .findFirst()
-                .orElseThrow();
-        assertEquals(10L, metrics1.getTotalMessagesSent());
-        assertEquals(3, metrics1.getMessagesSentToday());
-        assertEquals(97, metrics1.getRemainingMessagesToday());
-        assertEquals(100, metrics1.getDailyLimit());
-
-        MetricsResponse metrics2 = result.stream()
-                .filter(m -> m.getUsername().equals("user2"))
-                .findFirst()
-                .orElseThrow();
-        assertEquals(5L, metrics2.getTotalMessagesSent());
-        assertEquals(0, metrics2.getMessagesSentToday());
-        assertEquals(50, metrics2.getRemainingMessagesToday());
-        assertEquals(50, metrics2.getDailyLimit());
-
-        verify(userRepository).findAll();
-        verify(messageRepository, times(2)).countByUser(any());
-        verify(dailyMessageCountRepository, times(2)).findByUserAndDate(any(), any());
+        verify(rateLimitService).releaseBurstPermits(testUser, List.of());
+        verify(messageRepository, never()).save(any());
     }
 
     @Test
-    @DisplayName("Should throw exception when non-admin tries to get metrics")
-    void getAllUserMetricsNonAdminUserThrowsException() {
-        when(securityUtils.isAdmin()).thenReturn(false);
+    @DisplayName("Should queue batch reserving quota once for the accepted messages")
+    void queueBatchReservesQuotaOnceAndReportsPerItemResults() {
+        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
+        when(telegramService.resolveDestination(any())).thenReturn("-4614987626");
+        when(platformServiceFactory.getService(PlatformType.DISCORD))
+                .thenThrow(new IllegalStateException("Platform not configured: DISCORD"));
+        when(messageRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Message> messages = invocation.getArgument(0);
+            for (int i = 0; i < messages.size(); i++) {
+                messages.get(i).setId(100L + i);
+            }
+            return messages;
+        });
+
+        MessageRequest telegramOnly = new MessageRequest("Telegram",
+                List.of(new DestinationRequest(PlatformType.TELEGRAM, "-4614987626")));
+        MessageRequest discordOnly = new MessageRequest("Discord",
+                List.of(new DestinationRequest(PlatformType.DISCORD, null)));
+
+        BatchMessageResponse result = messageService.queueBatch(List.of(telegramOnly, discordOnly, telegramOnly));
+
+        assertEquals(2, result.getQueued());
+        assertEquals(1, result.getRejected());
+        assertEquals(3, result.getResults().size());
+        assertTrue(result.getResults().get(0).isQueued());
+        assertEquals(100L, result.getResults().get(0).getMessageId());
+        assertFalse(result.getResults().get(1).isQueued());
+        assertEquals("Platform not configured: DISCORD", result.getResults().get(1).getError());
+        assertEquals(101L, result.getResults().get(2).getMessageId());
+
+        verify(rateLimitService).acquireBurstPermits(testUser, List.of());
+        verify(rateLimitService).reserve(testUser, 2);
+        verify(messageRepository).saveAll(argThat(messages -> ((List<Message>) messages).size() == 2));
+        verify(userMessageStatsService).recordMessages(eq(testUser), argThat(messages -> messages.size() == 2));
+        verify(telegramService, never()).sendAsync(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not queue any message when quota does not cover the batch")
+    void queueBatchRateLimitExceededQueuesNothing() {
+        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(platformServiceFactory.getService(PlatformType.DISCORD)).thenReturn(discordService);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
+        doThrow(new RateLimitExceededException("Limit exceeded"))
+                .when(rateLimitService).reserve(testUser, 2);
 
-        assertThrows(IllegalStateException.class, () -> messageService.getAllUserMetrics());
+        assertThrows(RateLimitExceededException.class,
+                () -> messageService.queueBatch(List.of(validMessageRequest, validMessageRequest)));
 
-        verify(userRepository, never()).findAll();
-        verify(messageRepository, never()).countByUser(any());
+        verify(messageRepository, never()).saveAll(any());
+        verify(userMessageStatsService, never()).recordMessages(any(), any());
     }
 
     @Test
-    @DisplayName("Should handle user with no messages in metrics")
-    void getAllUserMetricsUserWithNoMessagesReturnsZeroMetrics() {
-        when(securityUtils.isAdmin()).thenReturn(true);
-
-        User newUser = User.builder()
-                .id(1L)
-                .username("newuser")
-                .dailyMessageLimit(100)
-                .build();
+    @DisplayName("Should reject invalid messages in the batch by index and queue the rest")
+    void queueBatchInvalidMessageRejectedByIndex() {
+        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(platformServiceFactory.getService(PlatformType.TELEGRAM)).thenReturn(telegramService);
+        when(telegramService.resolveDestination(any())).thenReturn("-4614987626");
+        when(messageRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        MessageRequest valid = new MessageRequest("Telegram",
+                List.of(new DestinationRequest(PlatformType.TELEGRAM, "-4614987626")));
+        MessageRequest blank = new MessageRequest("", valid.getDestinations());
+
+        BatchMessageResponse result = messageService.queueBatch(List.of(valid, blank));
+
+        assertEquals(1, result.getQueued());
+        assertEquals(1, result.getRejected());
+        assertTrue(result.getResults().get(0).isQueued());
+        assertFalse(result.getResults().get(1).isQueued());
+        assertEquals(1, result.getResults().get(1).getIndex());
+        assertEquals("content: Message content is required", result.getResults().get(1).getError());
+        verify(rateLimitService).reserve(testUser, 1);
+    }
 
-        when(userRepository.findAll()).thenReturn(List.of(newUser));
-        when(messageRepository.countByUser(newUser)).thenReturn(0L);
-        when(dailyMessageCountRepository.findByUserAndDate(newUser, LocalDate.now()))
-                .thenReturn(Optional.empty());
+    @Test
+    @DisplayName("Should skip quota when every message in the batch is rejected")
+    void queueBatchAllRejectedSkipsQuota() {
+        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        when(platformServiceFactory.getService(PlatformType.DISCORD))
+                .thenThrow(new IllegalArgumentException("Platform not supported: DISCORD"));
 
-        List<MetricsResponse> result = messageService.getAllUserMetrics();
+        BatchMessageResponse result = messageService.queueBatch(List.of(validMessageRequest));
 
-        assertEquals(1, result.size());
-        MetricsResponse metrics = result.get(0);
-        assertEquals("newuser", metrics.getUsername());
-        assertEquals(0L, metrics.getTotalMessagesSent());
-        assertEquals(0, metrics.getMessagesSentToday());
-        assertEquals(100, metrics.getRemainingMessagesToday());
+        assertEquals(0, result.getQueued());
+        assertEquals(1, result.getRejected());
+        verify(rateLimitService, never()).reserve(any(), anyInt());
+        verify(messageRepository, never()).saveAll(any());
     }
 
     @Test
-    @DisplayName("Should handle user who reached daily limit")
-    void getAllUserMetricsUserReachedLimitShowsZeroRemaining() {
+    @DisplayName("Should read one extra row to return the next cursor without counting")
+    void getAllMessagesReturnsCursorOfLastMessage() {
         when(securityUtils.isAdmin()).thenReturn(true);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 10, 27, 10, 0);
+        List<Message> rows = List.of(
+                Message.builder().id(3L).user(testUser).createdAt(createdAt).build(),
+                Message.builder().id(2L).user(testUser).createdAt(createdAt).build(),
+                Message.builder().id(1L).user(testUser).createdAt(createdAt.minusMinutes(1)).build());
+        MessageCursor cursor = new MessageCursor(createdAt.plusMinutes(1), 9L);
+        when(messageDeliveryRepository.findMessagesByFilters(
+                MessageFilterCriteria.builder().after(cursor).build(), PageRequest.ofSize(3)))
+                .thenReturn(rows);
+
+        CursorPage<Message> result = messageService.getAllMessages(cursor, 2);
+
+        assertEquals(rows.subList(0, 2), result.content());
+        assertTrue(result.hasNext());
+        assertEquals(new MessageCursor(createdAt, 2L), MessageCursor.decode(result.nextCursor()));
+    }
 
-        User user = User.builder()
-                .id(1L)
-                .username("poweruser")
-                .dailyMessageLimit(10)
-                .build();
-
-        when(userRepository.findAll()).thenReturn(List.of(user));
-        when(messageRepository.countByUser(user)).thenReturn(50L);
+    @Test
+    @DisplayName("Should throw exception when non-admin tries to get all messages")
+    void getAllMessagesNonAdminUserThrowsException() {
+        when(securityUtils.isAdmin()).thenReturn(false);
 
-        DailyMessageCount count = DailyMessageCount.builder()
-                .user(user)
-                .date(LocalDate.now())
-                .count(10)
-                .build();
-        when(dailyMessageCountRepository.findByUserAndDate(user, LocalDate.now()))
-                .thenReturn(Optional.of(count));
+        assertThrows(IllegalStateException.class, () -> messageService.getAllMessages(null, 20));
 
-        List<MetricsResponse> result = messageService.getAllUserMetrics();
+        verifyNoInteractions(messageDeliveryRepository);
+    }
 
-        assertEquals(1, result.size());
-        MetricsResponse metrics = result.get(0);
-        assertEquals(10, metrics.getMessagesSentToday());
-        assertEquals(0, metrics.getRemainingMessagesToday());
+    @Test
+    @DisplayName("Should filter the user history after the given cursor")
+    void getUserMessagesWithFiltersPassesCursorToQuery() {
+        when(securityUtils.getCurrentUser()).thenReturn(testUser);
+        MessageCursor cursor = new MessageCursor(LocalDateTime.of(2025, 10, 27, 10, 0), 5L);
+        when(messageDeliveryRepository.findMessagesByFilters(any(MessageFilterCriteria.class), eq(PageRequest.ofSize(21))))
+                .thenReturn(List.of());
+
+        CursorPage<Message> result = messageService.getUserMessagesWithFilters(
+                DeliveryStatus.FAILED, null, null, null, cursor, 20);
+
+        assertTrue(result.content().isEmpty());
+        assertFalse(result.hasNext());
+        assertNull(result.nextCursor());
+        verify(messageDeliveryRepository).findMessagesByFilters(
+                argThat(criteria -> criteria.user() == testUser
+                        && criteria.status() == DeliveryStatus.FAILED
+                        && cursor.equals(criteria.after())),
+                eq(PageRequest.ofSize(21)));
     }
 
     @Test
-    @DisplayName("Should handle user who exceeded daily limit")
-    void getAllUserMetricsUserExceededLimitShowsZeroRemaining() {
+    @DisplayName("Should return metrics from the aggregate query for admins")
+    void getAllUserMetricsAdminUserReturnsMetrics() {
         when(securityUtils.isAdmin()).thenReturn(true);
 
-        User user = User.builder()
-                .id(1L)
-                .username("overuser")
-                .dailyMessageLimit(5)
-                .build();
-
-        when(userRepository.findAll()).thenReturn(List.of(user));
-        when(messageRepository.countByUser(user)).thenReturn(20L);
-
-        DailyMessageCount count = DailyMessageCount.builder()
-                .user(user)
-                .date(LocalDate.now())
-                .count(8)
+        Pageable pageable = PageRequest.of(0, 20);
+        MetricsResponse metrics = MetricsResponse.builder()
+                .username("user1")
+                .totalMessagesSent(10L)
+                .messagesSentToday(3)
+                .remainingMessagesToday(97)
+                .dailyLimit(100)
                 .build();
-        when(dailyMessageCountRepository.findByUserAndDate(user, LocalDate.now()))
-                .thenReturn(Optional.of(count));
+        when(userRepository.findUserMetrics(LocalDate.now(), pageable))
+                .thenReturn(new PageImpl<>(List.of(metrics), pageable, 1));
 
-        List<MetricsResponse> result = messageService.getAllUserMetrics();
+        Page<MetricsResponse> result = messageService.getAllUserMetrics(pageable);
 
-        assertEquals(1, result.size());
-        MetricsResponse metrics = result.get(0);
-        assertEquals(8, metrics.getMessagesSentToday());
-        assertEquals(0, metrics.getRemainingMessagesToday());
+        assertEquals(List.of(metrics), result.getContent());
+        verify(userRepository).findUserMetrics(LocalDate.now(), pageable);
+        verifyNoInteractions(messageRepository);
     }
 
     @Test
-    @DisplayName("Should return empty list when no active users")
-    void getAllUserMetricsNoActiveUsersReturnsEmptyList() {
-        when(securityUtils.isAdmin()).thenReturn(true);
-        when(userRepository.findAll()).thenReturn(List.of());
+    @DisplayName("Should throw exception when non-admin tries to get metrics")
+    void getAllUserMetricsNonAdminUserThrowsException() {
+        when(securityUtils.isAdmin()).thenReturn(false);
 
-        List<MetricsResponse> result = messageService.getAllUserMetrics();
+        assertThrows(IllegalStateException.class, () -> messageService.getAllUserMetrics(PageRequest.of(0, 20)));
 
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(userRepository).findAll();
-        verify(messageRepository, never()).countByUser(any());
+        verify(userRepository, never()).findUserMetrics(any(), any());
+    }
+
+    private Mono<MessageDelivery> awaitPeerAndDeliver(CountDownLatch latch, PlatformType platform) {
+        latch.countDown();
+        return Mono.fromCallable(() -> latch.await(2, TimeUnit.SECONDS))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(peerInFlight -> MessageDelivery.builder()
+                        .platformType(platform)
+                        .status(peerInFlight ? DeliveryStatus.SUCCESS : DeliveryStatus.FAILED)
+                        .build());
     }
 }
@@ -1,6 +1,5 @@
 package com.notificationhub.service.impl;
 
-import com.notificationhub.entity.DailyMessageCount;
 import com.notificationhub.entity.User;
 import com.notificationhub.enums.Role;
 import com.notificationhub.exception.custom.RateLimitExceededException;
@@ -17,7 +16,6 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,12 +25,15 @@ public class RateLimitServiceImplTest {
     @Mock
     private DailyMessageCountRepository dailyMessageCountRepository;
 
+    @Mock
+    private BurstRateLimiter burstRateLimiter;
+
     private RateLimitServiceImpl rateLimitService;
     private User testUser;
 
     @BeforeEach
     void setUp() {
-        rateLimitService = new RateLimitServiceImpl(dailyMessageCountRepository);
+        rateLimitService = new RateLimitServiceImpl(dailyMessageCountRepository, burstRateLimiter);
 
         testUser = User.builder()
                 .id(1L)
@@ -45,164 +46,76 @@ public class RateLimitServiceImplTest {
     }
 
     @Test
-    @DisplayName("Should allow message when under daily limit")
-    void checkRateLimitUnderLimitAllowsMessage() {
-        LocalDate today = LocalDate.now();
-        DailyMessageCount count = DailyMessageCount.builder()
-                .user(testUser)
-                .date(today)
-                .count(50)
-                .build();
-
-        when(dailyMessageCountRepository.findByUserAndDate(testUser, today))
-                .thenReturn(Optional.of(count));
-
-        assertDoesNotThrow(() -> rateLimitService.checkRateLimit(testUser));
-
-        verify(dailyMessageCountRepository).findByUserAndDate(testUser, today);
-    }
-
-    @Test
-    @DisplayName("Should throw exception when daily limit exceeded")
-    void checkRateLimitLimitExceededThrowsException() {
-        LocalDate today = LocalDate.now();
-        DailyMessageCount count = DailyMessageCount.builder()
-                .user(testUser)
-                .date(today)
-                .count(100)
-                .build();
-
-        when(dailyMessageCountRepository.findByUserAndDate(testUser, today))
-                .thenReturn(Optional.of(count));
+    @DisplayName("Should calculate remaining messages correctly")
+    void getRemainingMessagesWithExistingCounterReturnsCorrectRemaining() {
+        when(dailyMessageCountRepository.findCount(1L, LocalDate.now())).thenReturn(Optional.of(75));
 
-        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class, () -> rateLimitService.checkRateLimit(testUser));
+        int remaining = rateLimitService.getRemainingMessages(testUser);
 
-        assertEquals("Daily message limit exceeded for user: testuser. Limit: 100", exception.getMessage());
-        verify(dailyMessageCountRepository).findByUserAndDate(testUser, today);
+        assertEquals(25, remaining);
     }
 
     @Test
-    @DisplayName("Should create new counter when none exists")
-    void checkRateLimitNoCounterCreatesNewCounter() {
-        LocalDate today = LocalDate.now();
-        DailyMessageCount newCount = DailyMessageCount.builder()
-                .user(testUser)
-                .date(today)
-                .count(0)
-                .build();
-
-        when(dailyMessageCountRepository.findByUserAndDate(testUser, today))
-                .thenReturn(Optional.empty());
-        when(dailyMessageCountRepository.save(any(DailyMessageCount.class)))
-                .thenReturn(newCount);
+    @DisplayName("Should return full limit when no counter exists without creating one")
+    void getRemainingMessagesNoCounterReturnsFullLimit() {
+        when(dailyMessageCountRepository.findCount(1L, LocalDate.now())).thenReturn(Optional.empty());
 
-        assertDoesNotThrow(() -> rateLimitService.checkRateLimit(testUser));
+        int remaining = rateLimitService.getRemainingMessages(testUser);
 
-        verify(dailyMessageCountRepository).save(any(DailyMessageCount.class));
+        assertEquals(100, remaining);
+        verify(dailyMessageCountRepository).findCount(1L, LocalDate.now());
+        verifyNoMoreInteractions(dailyMessageCountRepository);
     }
 
     @Test
-    @DisplayName("Should increment existing counter atomically")
-    void incrementCounterExistingCounterIncrementsCount() {
-        LocalDate today = LocalDate.now();
-
-        when(dailyMessageCountRepository.incrementCountAtomic(testUser, today))
-                .thenReturn(0)
-                .thenReturn(1);
-
-        when(dailyMessageCountRepository.save(any(DailyMessageCount.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+    @DisplayName("Should return zero when limit is exceeded")
+    void getRemainingMessagesLimitExceededReturnsZero() {
+        when(dailyMessageCountRepository.findCount(1L, LocalDate.now())).thenReturn(Optional.of(150));
 
-        rateLimitService.incrementCounter(testUser);
+        int remaining = rateLimitService.getRemainingMessages(testUser);
 
-        verify(dailyMessageCountRepository, times(2)).incrementCountAtomic(testUser, today);
-        verify(dailyMessageCountRepository).save(argThat(counter ->
-                counter.getUser().equals(testUser) &&
-                        counter.getDate().equals(today) &&
-                        counter.getCount() == 0
-        ));
+        assertEquals(0, remaining);
     }
 
     @Test
-    @DisplayName("Should create new counter when incrementing without existing counter")
-    void incrementCounterNoCounterCreatesAndIncrements() {
+    @DisplayName("Should reserve quota with a single upsert")
+    void reserveUnderLimitUsesSingleStatement() {
         LocalDate today = LocalDate.now();
 
-        when(dailyMessageCountRepository.incrementCountAtomic(testUser, today))
-                .thenReturn(0);
+        when(dailyMessageCountRepository.reserve(1L, today, 3, 100)).thenReturn(Optional.of(53));
 
-        DailyMessageCount savedCounter = DailyMessageCount.builder()
-                .user(testUser)
-                .date(today)
-                .count(1)
-                .build();
+        assertDoesNotThrow(() -> rateLimitService.reserve(testUser, 3));
 
-        when(dailyMessageCountRepository.save(any(DailyMessageCount.class)))
-                .thenReturn(savedCounter);
-
-        rateLimitService.incrementCounter(testUser);
-
-        verify(dailyMessageCountRepository, times(2)).incrementCountAtomic(testUser, today);
-        verify(dailyMessageCountRepository).save(any(DailyMessageCount.class));
-        verify(dailyMessageCountRepository).save(argThat(counter ->
-                counter.getCount() == 0
-        ));
+        verify(dailyMessageCountRepository).reserve(1L, today, 3, 100);
+        verifyNoMoreInteractions(dailyMessageCountRepository);
     }
 
     @Test
-    @DisplayName("Should calculate remaining messages correctly")
-    void getRemainingMessagesWithExistingCounterReturnsCorrectRemaining() {
-        LocalDate today = LocalDate.now();
-        DailyMessageCount count = DailyMessageCount.builder()
-                .user(testUser)
-                .date(today)
-                .count(75)
-                .build();
+    @DisplayName("Should throw exception when the upsert does not fit the limit")
+    void reserveOverLimitThrowsException() {
+        when(dailyMessageCountRepository.reserve(1L, LocalDate.now(), 1, 100)).thenReturn(Optional.empty());
 
-        when(dailyMessageCountRepository.findByUserAndDate(testUser, today))
-                .thenReturn(Optional.of(count));
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> rateLimitService.reserve(testUser, 1));
 
-        int remaining = rateLimitService.getRemainingMessages(testUser);
-
-        assertEquals(25, remaining);
+        assertEquals("Daily message limit exceeded for user: testuser. Limit: 100", exception.getMessage());
     }
 
     @Test
-    @DisplayName("Should return full limit when no counter exists")
-    void getRemainingMessagesNoCounterReturnsFullLimit() {
-        LocalDate today = LocalDate.now();
-        DailyMessageCount newCount = DailyMessageCount.builder()
-                .user(testUser)
-                .date(today)
-                .count(0)
-                .build();
-
-        when(dailyMessageCountRepository.findByUserAndDate(testUser, today))
-                .thenReturn(Optional.empty());
-        when(dailyMessageCountRepository.save(any(DailyMessageCount.class)))
-                .thenReturn(newCount);
+    @DisplayName("Should reject a reservation larger than the daily limit without querying")
+    void reserveAboveDailyLimitSkipsQuery() {
+        assertThrows(RateLimitExceededException.class, () -> rateLimitService.reserve(testUser, 101));
 
-        int remaining = rateLimitService.getRemainingMessages(testUser);
-
-        assertEquals(100, remaining);
-        verify(dailyMessageCountRepository).save(any(DailyMessageCount.class));
+        verifyNoInteractions(dailyMessageCountRepository);
     }
 
     @Test
-    @DisplayName("Should return zero when limit is exceeded")
-    void getRemainingMessagesLimitExceededReturnsZero() {
-        LocalDate today = LocalDate.now();
-        DailyMessageCount count = DailyMessageCount.builder()
-                .user(testUser)
-                .date(today)
-                .count(150)
-                .build();
+    @DisplayName("Should give back released quota")
+    void releaseDecrementsCounter() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
 
-        when(dailyMessageCountRepository.findByUserAndDate(testUser, today))
-                .thenReturn(Optional.of(count));
+        rateLimitService.release(testUser, yesterday, 2);
 
-        int remaining = rateLimitService.getRemainingMessages(testUser);
-
-        assertEquals(0, remaining);
+        verify(dailyMessageCountRepository).decrementCountBy(testUser, yesterday, 2);
     }
 }
@@ -0,0 +1,106 @@
+package com.notificationhub.service.platform;
+
+import com.notificationhub.entity.MessageDelivery;
+import com.notificationhub.enums.DeliveryStatus;
+import com.notificationhub.enums.PlatformType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CircuitBreakingPlatformService Unit Tests")
+class CircuitBreakingPlatformServiceTest {
+
+    private static final String DESTINATION = "chat-1";
+
+    @Mock
+    private PlatformService delegate;
+
+    private PlatformCircuitBreaker circuitBreaker;
+    private CircuitBreakingPlatformService service;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new PlatformCircuitBreaker(new SimpleMeterRegistry(), 2, 60000);
+        service = new CircuitBreakingPlatformService(delegate, circuitBreaker);
+        when(delegate.getPlatformType()).thenReturn(PlatformType.TELEGRAM);
+    }
+
+    @Test
+    @DisplayName("Should keep the circuit closed on repeated 429 responses")
+    void rateLimitedDoesNotOpenCircuit() {
+        stubDelegate(delivery -> delivery.markAsRateLimited(LocalDateTime.now().plusSeconds(30), "Too Many Requests"));
+
+        for (int i = 0; i < 5; i++) {
+            MessageDelivery result = service.sendAsync("Hola", DESTINATION, "duke").block();
+            assertTrue(result.isRateLimited());
+        }
+
+        assertEquals(PlatformCircuitBreaker.State.CLOSED, circuitBreaker.getState(PlatformType.TELEGRAM));
+        assertTrue(circuitBreaker.tryAcquire(PlatformType.TELEGRAM));
+    }
+
+    @Test
+    @DisplayName("Should open the circuit on repeated retryable failures")
+    void retryableFailuresOpenCircuit() {
+        stubDelegate(delivery -> delivery.markAsFailed("Exception: 503 Service Unavailable"));
+
+        service.sendAsync("Hola", DESTINATION, "duke").block();
+        service.sendAsync("Hola", DESTINATION, "duke").block();
+
+        assertEquals(PlatformCircuitBreaker.State.OPEN, circuitBreaker.getState(PlatformType.TELEGRAM));
+    }
+
+    @Test
+    @DisplayName("Should not count deliveries whose batched call is counted on another delivery")
+    void sharedCallCountsOnce() {
+        stubDelegate(delivery -> {
+            delivery.markAsSharedCall();
+            delivery.markAsFailed("Exception: 503 Service Unavailable");
+        });
+
+        service.sendAsync("Hola", DESTINATION, "duke").block();
+        service.sendAsync("Hola", DESTINATION, "duke").block();
+        service.sendAsync("Hola", DESTINATION, "duke").block();
+
+        assertEquals(PlatformCircuitBreaker.State.CLOSED, circuitBreaker.getState(PlatformType.TELEGRAM));
+    }
+
+    @Test
+    @DisplayName("Should defer deliveries without calling the provider while the circuit is open")
+    void openCircuitDefers() {
+        circuitBreaker.recordFailure(PlatformType.TELEGRAM);
+        circuitBreaker.recordFailure(PlatformType.TELEGRAM);
+        when(delegate.resolveDestination(DESTINATION)).thenReturn(DESTINATION);
+
+        MessageDelivery result = service.sendAsync("Hola", DESTINATION, "duke").block();
+
+        assertEquals(DeliveryStatus.PENDING, result.getStatus());
+        assertNotNull(result.getNextAttemptAt());
+        verify(delegate, never()).sendAsync(any(), any(), any());
+    }
+
+    private void stubDelegate(Consumer<MessageDelivery> outcome) {
+        when(delegate.sendAsync("Hola", DESTINATION, "duke")).thenAnswer(invocation -> {
+            MessageDelivery delivery = MessageDelivery.builder()
+                    .platformType(PlatformType.TELEGRAM)
+                    .destination(DESTINATION)
+                    .status(DeliveryStatus.PENDING)
+                    .build();
+            outcome.accept(delivery);
+            return Mono.just(delivery);
+        });
+    }
+}
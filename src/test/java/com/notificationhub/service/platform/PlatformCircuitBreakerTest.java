@@ -0,0 +1,102 @@
+package com.notificationhub.service.platform;
+
+import com.notificationhub.enums.PlatformType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PlatformCircuitBreaker Unit Tests")
+class PlatformCircuitBreakerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should open after consecutive failures and reject while open")
+    void opensAfterThreshold() {
+        PlatformCircuitBreaker breaker = new PlatformCircuitBreaker(meterRegistry, 3, 60000);
+
+        breaker.recordFailure(PlatformType.DISCORD);
+        breaker.recordFailure(PlatformType.DISCORD);
+        assertTrue(breaker.tryAcquire(PlatformType.DISCORD));
+
+        breaker.recordFailure(PlatformType.DISCORD);
+
+        assertEquals(PlatformCircuitBreaker.State.OPEN, breaker.getState(PlatformType.DISCORD));
+        assertFalse(breaker.tryAcquire(PlatformType.DISCORD));
+        assertTrue(breaker.retryAt(PlatformType.DISCORD).isAfter(LocalDateTime.now().plusSeconds(50)));
+        assertTrue(breaker.tryAcquire(PlatformType.TELEGRAM));
+    }
+
+    @Test
+    @DisplayName("Should reset the failure count after a success")
+    void successResetsFailures() {
+        PlatformCircuitBreaker breaker = new PlatformCircuitBreaker(meterRegistry, 2, 60000);
+
+        breaker.recordFailure(PlatformType.TELEGRAM);
+        breaker.recordSuccess(PlatformType.TELEGRAM);
+        breaker.recordFailure(PlatformType.TELEGRAM);
+
+        assertEquals(PlatformCircuitBreaker.State.CLOSED, breaker.getState(PlatformType.TELEGRAM));
+    }
+
+    @Test
+    @DisplayName("Should allow a single probe when half-open and close on success")
+    void halfOpenProbeClosesOnSuccess() {
+        PlatformCircuitBreaker breaker = new PlatformCircuitBreaker(meterRegistry, 1, 0);
+        breaker.recordFailure(PlatformType.DISCORD);
+
+        assertTrue(breaker.tryAcquire(PlatformType.DISCORD));
+        assertEquals(PlatformCircuitBreaker.State.HALF_OPEN, breaker.getState(PlatformType.DISCORD));
+        assertFalse(breaker.tryAcquire(PlatformType.DISCORD));
+
+        breaker.recordSuccess(PlatformType.DISCORD);
+
+        assertEquals(PlatformCircuitBreaker.State.CLOSED, breaker.getState(PlatformType.DISCORD));
+        assertTrue(breaker.tryAcquire(PlatformType.DISCORD));
+    }
+
+    @Test
+    @DisplayName("Should reopen when the half-open probe fails")
+    void halfOpenProbeReopensOnFailure() {
+        PlatformCircuitBreaker breaker = new PlatformCircuitBreaker(meterRegistry, 1, 0);
+        breaker.recordFailure(PlatformType.DISCORD);
+        breaker.tryAcquire(PlatformType.DISCORD);
+
+        breaker.recordFailure(PlatformType.DISCORD);
+
+        assertEquals(PlatformCircuitBreaker.State.OPEN, breaker.getState(PlatformType.DISCORD));
+    }
+
+    @Test
+    @DisplayName("Should release the half-open probe when the send was not attempted")
+    void ignoredProbeIsReleased() {
+        PlatformCircuitBreaker breaker = new PlatformCircuitBreaker(meterRegistry, 1, 0);
+        breaker.recordFailure(PlatformType.DISCORD);
+        breaker.tryAcquire(PlatformType.DISCORD);
+
+        breaker.recordIgnored(PlatformType.DISCORD);
+
+        assertTrue(breaker.tryAcquire(PlatformType.DISCORD));
+    }
+
+    @Test
+    @DisplayName("Should expose circuit states through health and metrics")
+    void exposesState() {
+        PlatformCircuitBreaker breaker = new PlatformCircuitBreaker(meterRegistry, 1, 60000);
+        breaker.recordFailure(PlatformType.DISCORD);
+
+        Health health = new PlatformCircuitBreakerHealthIndicator(breaker).health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(PlatformCircuitBreaker.State.OPEN, health.getDetails().get("DISCORD"));
+        assertEquals(PlatformCircuitBreaker.State.CLOSED, health.getDetails().get("TELEGRAM"));
+        assertEquals(2.0, meterRegistry.get("notificationhub.platform.circuit.state")
+                .tag("platform", "DISCORD").gauge().value());
+    }
+}
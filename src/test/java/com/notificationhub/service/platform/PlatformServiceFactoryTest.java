@@ -1,17 +1,23 @@
 package com.notificationhub.service.platform;
 
+import com.notificationhub.entity.MessageDelivery;
+import com.notificationhub.enums.DeliveryStatus;
 import com.notificationhub.enums.PlatformType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,6 +30,8 @@ public class PlatformServiceFactoryTest {
     @Mock
     private PlatformService telegramService;
 
+    private final PlatformCircuitBreaker circuitBreaker = new PlatformCircuitBreaker(new SimpleMeterRegistry(), 2, 60000);
+
     private PlatformServiceFactory factory;
 
     @BeforeEach
@@ -33,7 +41,7 @@ public class PlatformServiceFactoryTest {
 
         List<PlatformService> services = List.of(discordService, telegramService);
 
-        factory = new PlatformServiceFactory(services);
+        factory = new PlatformServiceFactory(services, circuitBreaker);
     }
 
     @Test
@@ -44,12 +52,81 @@ public class PlatformServiceFactoryTest {
         PlatformService result = factory.getService(PlatformType.DISCORD);
 
         assertNotNull(result);
-        assertEquals(discordService, result);
         assertEquals(PlatformType.DISCORD, result.getPlatformType());
 
         verify(discordService).isConfigured();
     }
 
+    @Test
+    @DisplayName("Should delegate sends to the platform service while the circuit is closed")
+    void getServiceDelegatesSend() {
+        when(discordService.isConfigured()).thenReturn(true);
+        MessageDelivery delivered = MessageDelivery.builder().status(DeliveryStatus.SUCCESS).build();
+        when(discordService.sendAsync("content", null, "duke")).thenReturn(Mono.just(delivered));
+
+        MessageDelivery result = factory.getService(PlatformType.DISCORD).sendAsync("content", null, "duke").block();
+
+        assertSame(delivered, result);
+        assertEquals(PlatformCircuitBreaker.State.CLOSED, circuitBreaker.getState(PlatformType.DISCORD));
+    }
+
+    @Test
+    @DisplayName("Should defer sends without calling the platform once the circuit opens")
+    void getServiceDefersWhileCircuitOpen() {
+        when(discordService.isConfigured()).thenReturn(true);
+        when(discordService.resolveDestination(null)).thenReturn("webhook");
+        when(discordService.sendAsync(any(), any(), any()))
+                .thenReturn(Mono.just(MessageDelivery.builder().status(DeliveryStatus.FAILED).build()));
+
+        PlatformService service = factory.getService(PlatformType.DISCORD);
+        service.sendAsync("content", null, "duke").block();
+        service.sendAsync("content", null, "duke").block();
+
+        MessageDelivery deferred = service.sendAsync("content", null, "duke").block();
+
+        assertEquals(PlatformCircuitBreaker.State.OPEN, circuitBreaker.getState(PlatformType.DISCORD));
+        assertEquals(DeliveryStatus.PENDING, deferred.getStatus());
+        assertEquals("webhook", deferred.getDestination());
+        assertNotNull(deferred.getNextAttemptAt());
+        verify(discordService, times(2)).sendAsync(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep the circuit closed when the provider rejects single destinations")
+    void getServiceIgnoresRejectionsForCircuit() {
+        when(discordService.isConfigured()).thenReturn(true);
+        when(discordService.sendAsync(any(), any(), any())).thenAnswer(invocation -> {
+            MessageDelivery rejected = MessageDelivery.builder().build();
+            rejected.markAsRejected("Discord webhook error: Unknown Webhook");
+            return Mono.just(rejected);
+        });
+
+        PlatformService service = factory.getService(PlatformType.DISCORD);
+        service.sendAsync("content", null, "duke").block();
+        service.sendAsync("content", null, "duke").block();
+        service.sendAsync("content", null, "duke").block();
+
+        assertEquals(PlatformCircuitBreaker.State.CLOSED, circuitBreaker.getState(PlatformType.DISCORD));
+        verify(discordService, times(3)).sendAsync(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should open the circuit when the provider keeps answering 429")
+    void getServiceCountsRateLimitsForCircuit() {
+        when(discordService.isConfigured()).thenReturn(true);
+        when(discordService.sendAsync(any(), any(), any())).thenAnswer(invocation -> {
+            MessageDelivery rateLimited = MessageDelivery.builder().build();
+            rateLimited.markAsRateLimited(LocalDateTime.now().plusSeconds(5), "Discord rate limit");
+            return Mono.just(rateLimited);
+        });
+
+        PlatformService service = factory.getService(PlatformType.DISCORD);
+        service.sendAsync("content", null, "duke").block();
+        service.sendAsync("content", null, "duke").block();
+
+        assertEquals(PlatformCircuitBreaker.State.OPEN, circuitBreaker.getState(PlatformType.DISCORD));
+    }
+
     @Test
     @DisplayName("Should throw IllegalStateException when platform exists but is not configured")
     void getServiceNotConfiguredThrowsException() {
@@ -69,7 +146,7 @@ public class PlatformServiceFactoryTest {
     void getServiceNotSupportedThrowsException() {
         List<PlatformService> partialServices = List.of(discordService);
 
-        PlatformServiceFactory partialFactory = new PlatformServiceFactory(partialServices);
+        PlatformServiceFactory partialFactory = new PlatformServiceFactory(partialServices, circuitBreaker);
 
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
@@ -82,7 +159,7 @@ public class PlatformServiceFactoryTest {
     @Test
     @DisplayName("Should handle empty service list gracefully")
     void constructorEmptyListHandlesGracefully() {
-        PlatformServiceFactory emptyFactory = new PlatformServiceFactory(Collections.emptyList());
+        PlatformServiceFactory emptyFactory = new PlatformServiceFactory(Collections.emptyList(), circuitBreaker);
 
         assertThrows(
                 IllegalArgumentException.class,
@@ -0,0 +1,95 @@
+package com.notificationhub.service.platform;
+
+import com.notificationhub.enums.PlatformType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProviderThrottle Unit Tests")
+class ProviderThrottleTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProviderThrottle providerThrottle;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        providerThrottle = new ProviderThrottle(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should back off only the rate limited destination")
+    void rateLimitedBacksOffSingleDestination() {
+        providerThrottle.rateLimited(PlatformType.TELEGRAM, "chat-1", Duration.ofSeconds(10));
+
+        assertTrue(providerThrottle.backoffUntil(PlatformType.TELEGRAM, "chat-1").isPresent());
+        assertTrue(providerThrottle.backoffUntil(PlatformType.TELEGRAM, "chat-2").isEmpty());
+        assertTrue(providerThrottle.backoffUntil(PlatformType.DISCORD, "chat-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep the longest backoff when several are reported")
+    void backOffKeepsLatestDeadline() {
+        LocalDateTime longer = providerThrottle.backOff(PlatformType.DISCORD, "hook", Duration.ofSeconds(20));
+        LocalDateTime result = providerThrottle.backOff(PlatformType.DISCORD, "hook", Duration.ofSeconds(2));
+
+        assertEquals(longer, result);
+    }
+
+    @Test
+    @DisplayName("Should fall back to a default backoff when the provider gives no delay")
+    void backOffWithoutDelayUsesDefault() {
+        LocalDateTime until = providerThrottle.backOff(PlatformType.TELEGRAM, "chat-1", null);
+
+        assertTrue(until.isAfter(LocalDateTime.now()));
+        assertTrue(until.isBefore(LocalDateTime.now().plus(ProviderThrottle.DEFAULT_BACKOFF).plusSeconds(1)));
+    }
+
+    @Test
+    @DisplayName("Should expose backoff state as metrics")
+    void exposesMetrics() {
+        providerThrottle.rateLimited(PlatformType.TELEGRAM, "chat-1", Duration.ofSeconds(30));
+        providerThrottle.rateLimited(PlatformType.TELEGRAM, "chat-2", Duration.ofSeconds(5));
+
+        assertEquals(2.0, meterRegistry.get("notificationhub.provider.rate.limited")
+                .tag("platform", "TELEGRAM").counter().count());
+        assertEquals(2.0, meterRegistry.get("notificationhub.provider.throttled.destinations")
+                .tag("platform", "TELEGRAM").gauge().value());
+        assertTrue(meterRegistry.get("notificationhub.provider.backoff.seconds")
+                .tag("platform", "TELEGRAM").gauge().value() > 25);
+        assertEquals(0.0, meterRegistry.get("notificationhub.provider.throttled.destinations")
+                .tag("platform", "DISCORD").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should evict expired backoffs")
+    void evictExpiredRemovesPastDeadlines() {
+        providerThrottle.backOff(PlatformType.TELEGRAM, "chat-1", Duration.ofMillis(1));
+        providerThrottle.backOff(PlatformType.TELEGRAM, "chat-2", Duration.ofSeconds(30));
+
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        providerThrottle.evictExpired();
+
+        assertEquals(1, providerThrottle.throttledDestinations(PlatformType.TELEGRAM));
+        assertTrue(providerThrottle.backoffUntil(PlatformType.TELEGRAM, "chat-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should hide the webhook token when logging a destination")
+    void redactHidesWebhookToken() {
+        assertEquals("https://discord.com/api/webhooks/123456789/***",
+                ProviderThrottle.redact("https://discord.com/api/webhooks/123456789/abcdefghijklmnop"));
+        assertEquals("-123456789", ProviderThrottle.redact("-123456789"));
+        assertNull(ProviderThrottle.redact(null));
+    }
+}
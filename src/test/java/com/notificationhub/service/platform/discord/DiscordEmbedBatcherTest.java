@@ -0,0 +1,89 @@
+package com.notificationhub.service.platform.discord;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DiscordEmbedBatcher Unit Tests")
+class DiscordEmbedBatcherTest {
+
+    private static final String WEBHOOK = "https://discord.com/api/webhooks/1/a";
+
+    private final List<List<DiscordService.Embed>> executions = new ArrayList<>();
+
+    private final DiscordEmbedBatcher batcher = new DiscordEmbedBatcher(Duration.ofHours(1), (url, embeds) -> {
+        executions.add(embeds);
+        return Mono.just(ResponseEntity.noContent().build());
+    });
+
+    @Test
+    @DisplayName("Should send messages to the same webhook as embeds of one execution")
+    void batchesMessagesAsEmbeds() {
+        CompletableFuture<ResponseEntity<Void>> first = batcher.submit(WEBHOOK, "uno", "duke").toFuture();
+        CompletableFuture<ResponseEntity<Void>> second = batcher.submit(WEBHOOK, "dos", "tux").toFuture();
+        assertEquals(2, batcher.pendingCount());
+
+        batcher.flush(WEBHOOK);
+
+        assertEquals(1, executions.size());
+        assertEquals("uno", executions.get(0).get(0).description());
+        assertEquals(new DiscordService.Author("tux"), executions.get(0).get(1).author());
+        assertSame(first.join(), second.join());
+        assertEquals(0, batcher.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Should flag every message but the first as sharing the execution")
+    void flagsSharedExecutions() {
+        List<String> shared = new ArrayList<>();
+        batcher.submit(WEBHOOK, "uno", "duke", () -> shared.add("uno")).toFuture();
+        batcher.submit(WEBHOOK, "dos", "duke", () -> shared.add("dos")).toFuture();
+        batcher.submit(WEBHOOK, "tres", "duke", () -> shared.add("tres")).toFuture();
+
+        batcher.flush(WEBHOOK);
+
+        assertEquals(1, executions.size());
+        assertEquals(List.of("dos", "tres"), shared);
+    }
+
+    @Test
+    @DisplayName("Should not put more than ten embeds in one execution")
+    void splitsAtMaxEmbeds() {
+        for (int i = 0; i < DiscordEmbedBatcher.MAX_EMBEDS + 1; i++) {
+            batcher.submit(WEBHOOK, "mensaje " + i, "duke").toFuture();
+        }
+
+        batcher.flush(WEBHOOK);
+
+        assertEquals(2, executions.size());
+        assertEquals(DiscordEmbedBatcher.MAX_EMBEDS, executions.get(0).size());
+        assertEquals(1, executions.get(1).size());
+    }
+
+    @Test
+    @DisplayName("Should split when the embeds exceed the total character limit")
+    void splitsAtTotalCharacters() {
+        String content = "a".repeat(4000);
+        batcher.submit(WEBHOOK, content, "duke").toFuture();
+        batcher.submit(WEBHOOK, content, "duke").toFuture();
+
+        batcher.flush(WEBHOOK);
+
+        assertEquals(2, executions.size());
+    }
+
+    @Test
+    @DisplayName("Should only accept messages that fit in an embed")
+    void fitsChecksDescriptionLength() {
+        assertTrue(DiscordEmbedBatcher.fits("hola", "duke"));
+        assertFalse(DiscordEmbedBatcher.fits("a".repeat(DiscordEmbedBatcher.MAX_DESCRIPTION_LENGTH + 1), "duke"));
+    }
+}
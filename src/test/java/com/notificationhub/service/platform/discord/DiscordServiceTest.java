@@ -1,6 +1,10 @@
 package com.notificationhub.service.platform.discord;
 
+import com.notificationhub.entity.MessageDelivery;
+import com.notificationhub.enums.DeliveryStatus;
 import com.notificationhub.enums.PlatformType;
+import com.notificationhub.service.platform.ProviderThrottle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,8 +14,11 @@ import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
 
@@ -22,6 +29,8 @@ public class DiscordServiceTest {
     @Mock
     private WebClient.Builder webClientBuilder;
 
+    private final ProviderThrottle providerThrottle = new ProviderThrottle(new SimpleMeterRegistry());
+
     private DiscordService discordService;
 
     @BeforeEach
@@ -29,7 +38,7 @@ public class DiscordServiceTest {
         when(webClientBuilder.build()).thenReturn(null);
 
         String webhookUrl = "https://discord.com/api/webhooks/123456789/abcdefghijklmnop";
-        discordService = new DiscordService(webClientBuilder, webhookUrl);
+        discordService = new DiscordService(webClientBuilder, providerThrottle, webhookUrl, 0);
     }
 
     @Test
@@ -50,7 +59,7 @@ public class DiscordServiceTest {
     @DisplayName("Should return false when webhook URL is not configured")
     void isConfiguredReturnsFalse(String url) {
 
-        DiscordService unconfiguredService = new DiscordService(webClientBuilder, url);
+        DiscordService unconfiguredService = new DiscordService(webClientBuilder, providerThrottle, url, 0);
 
         assertFalse(unconfiguredService.isConfigured());
     }
@@ -59,7 +68,7 @@ public class DiscordServiceTest {
     @DisplayName("Should be configured with valid Discord webhook URL")
     void isConfiguredReturnsTrueForValidDiscordUrl() {
         String validUrl = "https://discord.com/api/webhooks/987654321/zyxwvutsrqponmlk";
-        DiscordService validService = new DiscordService(webClientBuilder, validUrl);
+        DiscordService validService = new DiscordService(webClientBuilder, providerThrottle, validUrl, 0);
         assertTrue(validService.isConfigured());
     }
 
@@ -67,7 +76,61 @@ public class DiscordServiceTest {
     @DisplayName("Should not be configured with discordapp.com webhook URL")
     void isConfiguredReturnsFalseForDiscordAppUrl() {
         String oldFormatUrl = "https://discordapp.com/api/webhooks/123/abc";
-        DiscordService oldService = new DiscordService(webClientBuilder, oldFormatUrl);
+        DiscordService oldService = new DiscordService(webClientBuilder, providerThrottle, oldFormatUrl, 0);
         assertFalse(oldService.isConfigured());
     }
+
+    @Test
+    @DisplayName("Should defer delivery without calling the webhook while it is backing off")
+    void sendDefersWhileWebhookIsBackingOff() {
+        String webhookUrl = "https://discord.com/api/webhooks/123456789/abcdefghijklmnop";
+        providerThrottle.rateLimited(PlatformType.DISCORD, webhookUrl, Duration.ofSeconds(5));
+
+        MessageDelivery delivery = discordService.sendAsync("Spring rocks", null, "duke").block();
+
+        assertEquals(DeliveryStatus.PENDING, delivery.getStatus());
+        assertNotNull(delivery.getNextAttemptAt());
+        assertEquals(1, providerThrottle.throttledDestinations(PlatformType.DISCORD));
+    }
+
+    @Test
+    @DisplayName("Should route to the requested webhook and back it off independently")
+    void sendUsesRequestedWebhookAsDestination() {
+        String otherWebhook = "https://discord.com/api/webhooks/987654321/zyxwvutsrqponmlk";
+        providerThrottle.rateLimited(PlatformType.DISCORD, otherWebhook, Duration.ofSeconds(5));
+
+        MessageDelivery delivery = discordService.sendAsync("Spring rocks", otherWebhook, "duke").block();
+
+        assertEquals(otherWebhook, delivery.getDestination());
+        assertEquals(DeliveryStatus.PENDING, delivery.getStatus());
+        assertTrue(providerThrottle.backoffUntil(PlatformType.DISCORD,
+                "https://discord.com/api/webhooks/123456789/abcdefghijklmnop").isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"https://example.com/api/webhooks/1/a", "http://discord.com/api/webhooks/1/a", "https://discord.com/api/webhooks/"})
+    @DisplayName("Should fail without calling Discord when the destination is not a webhook URL")
+    void sendRejectsInvalidWebhookDestination(String destination) {
+        MessageDelivery delivery = discordService.sendAsync("Spring rocks", destination, "duke").block();
+
+        assertEquals(DeliveryStatus.FAILED, delivery.getStatus());
+        assertEquals("Invalid Discord webhook URL", delivery.getErrorMessage());
+        assertFalse(delivery.isRetryable());
+    }
+
+    @Test
+    @DisplayName("Should prefer retry_after from the body and fall back to rate limit headers")
+    void retryAfterReadsBodyThenHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.RETRY_AFTER, "3");
+        headers.add(DiscordService.RATE_LIMIT_RESET_AFTER, "0.25");
+
+        assertEquals(Duration.ofMillis(1500), DiscordService.retryAfter(headers,
+                new DiscordService.RateLimitResponse("You are being rate limited.", 1.5, false)));
+        assertEquals(Duration.ofSeconds(3), DiscordService.retryAfter(headers, null));
+
+        headers.remove(HttpHeaders.RETRY_AFTER);
+        assertEquals(Duration.ofMillis(250), DiscordService.retryAfter(headers, null));
+        assertNull(DiscordService.retryAfter(new HttpHeaders(), null));
+    }
 }
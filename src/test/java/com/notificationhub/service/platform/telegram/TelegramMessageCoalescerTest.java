@@ -0,0 +1,146 @@
+package com.notificationhub.service.platform.telegram;
+
+import com.notificationhub.exception.custom.ProviderRejectedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TelegramMessageCoalescer Unit Tests")
+class TelegramMessageCoalescerTest {
+
+    private final List<String> sentTexts = new ArrayList<>();
+    private final List<String> parseModes = new ArrayList<>();
+
+    private TelegramMessageCoalescer coalescer(int maxLength) {
+        return new TelegramMessageCoalescer(Duration.ofHours(1), maxLength, (chatId, text, parseMode) -> {
+            sentTexts.add(text);
+            parseModes.add(parseMode);
+            return Mono.just(new TelegramService.SendMessageResponse(true,
+                    new TelegramService.SendMessageResponse.Result((long) sentTexts.size()), null, null, null));
+        });
+    }
+
+    @Test
+    @DisplayName("Should merge messages to the same chat into one request")
+    void mergesMessagesForSameChat() {
+        TelegramMessageCoalescer coalescer = coalescer(4096);
+
+        CompletableFuture<TelegramService.SendMessageResponse> first = coalescer.submit("chat-1", "uno").toFuture();
+        CompletableFuture<TelegramService.SendMessageResponse> second = coalescer.submit("chat-1", "dos").toFuture();
+        assertEquals(2, coalescer.pendingCount());
+
+        coalescer.flush("chat-1");
+
+        assertEquals(List.of("uno" + TelegramMessageCoalescer.SEPARATOR + "dos"), sentTexts);
+        assertSame(first.join(), second.join());
+        assertEquals(0, coalescer.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Should send merged messages as plain text and single messages as Markdown")
+    void mergedMessagesSkipParseMode() {
+        TelegramMessageCoalescer coalescer = coalescer(4096);
+
+        coalescer.submit("chat-1", "*uno*").toFuture();
+        coalescer.submit("chat-1", "dos").toFuture();
+        coalescer.flush("chat-1");
+        coalescer.submit("chat-1", "*tres*").toFuture();
+        coalescer.flush("chat-1");
+
+        assertEquals(2, parseModes.size());
+        assertNull(parseModes.get(0));
+        assertEquals(TelegramService.PARSE_MODE, parseModes.get(1));
+    }
+
+    @Test
+    @DisplayName("Should retry each message alone when the merged request is rejected")
+    void retriesMessagesAloneWhenMergedRequestRejected() {
+        List<String> sent = new ArrayList<>();
+        TelegramMessageCoalescer coalescer = new TelegramMessageCoalescer(Duration.ofHours(1), 4096,
+                (chatId, text, parseMode) -> {
+                    sent.add(text);
+                    if (text.contains("_sin cerrar")) {
+                        return Mono.error(new ProviderRejectedException("Telegram API error: Bad Request: can't parse entities"));
+                    }
+                    return Mono.just(new TelegramService.SendMessageResponse(true,
+                            new TelegramService.SendMessageResponse.Result((long) sent.size()), null, null, null));
+                });
+
+        CompletableFuture<TelegramService.SendMessageResponse> first = coalescer.submit("chat-1", "uno").toFuture();
+        CompletableFuture<TelegramService.SendMessageResponse> bad = coalescer.submit("chat-1", "_sin cerrar").toFuture();
+        CompletableFuture<TelegramService.SendMessageResponse> third = coalescer.submit("chat-1", "tres").toFuture();
+
+        coalescer.flush("chat-1");
+
+        assertEquals(List.of("uno\n\n_sin cerrar\n\ntres", "uno", "_sin cerrar", "tres"), sent);
+        assertTrue(first.join().ok());
+        assertTrue(third.join().ok());
+        assertNotEquals(first.join().providerResponse(), third.join().providerResponse());
+        CompletionException error = assertThrows(CompletionException.class, bad::join);
+        assertInstanceOf(ProviderRejectedException.class, error.getCause());
+    }
+
+    @Test
+    @DisplayName("Should keep separate windows per chat")
+    void keepsChatsApart() {
+        TelegramMessageCoalescer coalescer = coalescer(4096);
+
+        coalescer.submit("chat-1", "uno").toFuture();
+        coalescer.submit("chat-2", "dos").toFuture();
+
+        coalescer.flush("chat-1");
+
+        assertEquals(List.of("uno"), sentTexts);
+        assertEquals(1, coalescer.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Should split the batch when the merged text exceeds the limit")
+    void splitsWhenLimitExceeded() {
+        TelegramMessageCoalescer coalescer = coalescer(10);
+
+        CompletableFuture<TelegramService.SendMessageResponse> first = coalescer.submit("chat-1", "aaaa").toFuture();
+        CompletableFuture<TelegramService.SendMessageResponse> second = coalescer.submit("chat-1", "bbbb").toFuture();
+        CompletableFuture<TelegramService.SendMessageResponse> third = coalescer.submit("chat-1", "cccc").toFuture();
+
+        coalescer.flush("chat-1");
+
+        assertEquals(List.of("aaaa\n\nbbbb", "cccc"), sentTexts);
+        assertSame(first.join(), second.join());
+        assertNotSame(second.join(), third.join());
+    }
+
+    @Test
+    @DisplayName("Should send oversized messages directly without buffering")
+    void sendsOversizedMessageDirectly() {
+        TelegramMessageCoalescer coalescer = coalescer(3);
+
+        coalescer.submit("chat-1", "demasiado largo").block();
+
+        assertEquals(List.of("demasiado largo"), sentTexts);
+        assertEquals(0, coalescer.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Should propagate the send error to every merged message")
+    void propagatesErrorToAllMessages() {
+        TelegramMessageCoalescer coalescer = new TelegramMessageCoalescer(Duration.ofHours(1), 4096,
+                (chatId, text, parseMode) -> Mono.error(new IllegalStateException("boom")));
+
+        CompletableFuture<TelegramService.SendMessageResponse> first = coalescer.submit("chat-1", "uno").toFuture();
+        CompletableFuture<TelegramService.SendMessageResponse> second = coalescer.submit("chat-1", "dos").toFuture();
+
+        coalescer.flush("chat-1");
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+    }
+}
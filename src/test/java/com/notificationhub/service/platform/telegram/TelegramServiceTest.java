@@ -2,6 +2,8 @@ package com.notificationhub.service.platform.telegram;
 
 import com.notificationhub.enums.DeliveryStatus;
 import com.notificationhub.enums.PlatformType;
+import com.notificationhub.service.platform.ProviderThrottle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,6 +14,8 @@ import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -40,6 +44,8 @@ public class TelegramServiceTest {
     @Mock
     private WebClient.ResponseSpec responseSpec;
 
+    private final ProviderThrottle providerThrottle = new ProviderThrottle(new SimpleMeterRegistry());
+
     private TelegramService telegramService;
 
     private final String botToken = "test-bot-token";
@@ -50,7 +56,7 @@ public class TelegramServiceTest {
         when(webClientBuilder.baseUrl(anyString())).thenReturn(webClientBuilder);
         when(webClientBuilder.build()).thenReturn(webClient);
 
-        telegramService = new TelegramService(webClientBuilder, botToken, defaultChatId);
+        telegramService = new TelegramService(webClientBuilder, providerThrottle, botToken, defaultChatId, 0);
     }
 
     @Test
@@ -68,7 +74,7 @@ public class TelegramServiceTest {
     @Test
     @DisplayName("Should not be configured when token is empty")
     void isConfiguredReturnsFalseWhenTokenEmpty() {
-        TelegramService unconfiguredService = new TelegramService(webClientBuilder, "", defaultChatId);
+        TelegramService unconfiguredService = new TelegramService(webClientBuilder, providerThrottle, "", defaultChatId, 0);
 
         assertThat(unconfiguredService.isConfigured()).isFalse();
     }
@@ -76,7 +82,7 @@ public class TelegramServiceTest {
     @Test
     @DisplayName("Should not be configured when token is null")
     void isConfiguredReturnsFalseWhenTokenNull() {
-        TelegramService unconfiguredService = new TelegramService(webClientBuilder, null, defaultChatId);
+        TelegramService unconfiguredService = new TelegramService(webClientBuilder, providerThrottle, null, defaultChatId, 0);
 
         assertThat(unconfiguredService.isConfigured()).isFalse();
     }
@@ -84,7 +90,7 @@ public class TelegramServiceTest {
     @Test
     @DisplayName("Should not be configured when chat ID is empty")
     void isConfiguredReturnsFalseWhenChatIdEmpty() {
-        TelegramService unconfiguredService = new TelegramService(webClientBuilder, botToken, "");
+        TelegramService unconfiguredService = new TelegramService(webClientBuilder, providerThrottle, botToken, "", 0);
 
         assertThat(unconfiguredService.isConfigured()).isFalse();
     }
@@ -92,7 +98,7 @@ public class TelegramServiceTest {
     @Test
     @DisplayName("Should not be configured when chat ID is null")
     void isConfiguredReturnsFalseWhenChatIdNull() {
-        TelegramService unconfiguredService = new TelegramService(webClientBuilder, botToken, null);
+        TelegramService unconfiguredService = new TelegramService(webClientBuilder, providerThrottle, botToken, null, 0);
 
         assertThat(unconfiguredService.isConfigured()).isFalse();
     }
@@ -100,45 +106,96 @@ public class TelegramServiceTest {
     @Test
     @DisplayName("Should send message to Telegram default chat when destination is empty")
     void sendsMessageToDefaultChatWhenDestinationIsEmpty() {
-        Map<String, Object> response = Map.of("ok", true);
-        mockTelegramResponse(response);
+        mockTelegramResponse(sent(42L));
 
-        var delivery = telegramService.send("Spring rocks", "", "duke");
+        var delivery = telegramService.sendAsync("Spring rocks", "", "duke").block();
 
         assertThat(delivery.getPlatformType()).isEqualTo(PlatformType.TELEGRAM);
         assertThat(delivery.getDestination()).isEqualTo(defaultChatId);
         assertThat(delivery.getStatus()).isEqualTo(DeliveryStatus.SUCCESS);
-        assertThat(delivery.getProviderResponse()).isEqualTo(response);
+        assertThat(delivery.getProviderResponse()).isEqualTo(Map.of("message_id", 42L));
         verify(requestBodySpec).bodyValue(argThat(requestBody -> containsTelegramMessage(requestBody, defaultChatId)));
     }
 
     @Test
     @DisplayName("Should mark delivery as failed when Telegram API returns an error")
     void marksDeliveryAsFailedWhenTelegramApiReturnsError() {
-        mockTelegramResponse(Map.of("ok", false, "description", "chat not found"));
+        mockTelegramResponse(error(null, "Internal Server Error"));
 
-        var delivery = telegramService.send("Spring rocks", "custom-chat", "duke");
+        var delivery = telegramService.sendAsync("Spring rocks", "custom-chat", "duke").block();
 
         assertThat(delivery.getDestination()).isEqualTo("custom-chat");
         assertThat(delivery.getStatus()).isEqualTo(DeliveryStatus.FAILED);
         assertThat(delivery.getErrorMessage()).contains("Telegram API error");
+        assertThat(delivery.isRetryable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not retry a delivery Telegram rejected with a client error")
+    void marksDeliveryAsRejectedWhenTelegramReportsClientError() {
+        mockTelegramResponse(error(400, "Bad Request: chat not found"));
+
+        var delivery = telegramService.sendAsync("Spring rocks", "custom-chat", "duke").block();
+
+        assertThat(delivery.getStatus()).isEqualTo(DeliveryStatus.FAILED);
+        assertThat(delivery.isRetryable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should treat client errors other than 429 as rejections")
+    void isRejectionClassifiesErrorCodes() {
+        assertThat(TelegramService.isRejection(400)).isTrue();
+        assertThat(TelegramService.isRejection(403)).isTrue();
+        assertThat(TelegramService.isRejection(429)).isFalse();
+        assertThat(TelegramService.isRejection(502)).isFalse();
+        assertThat(TelegramService.isRejection(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should defer delivery without calling Telegram while the chat is backing off")
+    void defersDeliveryWhileChatIsBackingOff() {
+        providerThrottle.rateLimited(PlatformType.TELEGRAM, "custom-chat", Duration.ofSeconds(30));
+
+        var delivery = telegramService.sendAsync("Spring rocks", "custom-chat", "duke").block();
+
+        assertThat(delivery.getStatus()).isEqualTo(DeliveryStatus.PENDING);
+        assertThat(delivery.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(25));
+        verifyNoInteractions(webClient);
+    }
+
+    @Test
+    @DisplayName("Should read retry_after from the Telegram error parameters")
+    void retryAfterReadsTelegramParameters() {
+        var body = new TelegramService.SendMessageResponse(false, null, 429, "Too Many Requests",
+                new TelegramService.SendMessageResponse.Parameters(17L));
+
+        assertThat(TelegramService.retryAfter(body)).isEqualTo(Duration.ofSeconds(17));
+        assertThat(TelegramService.retryAfter(error(429, "Too Many Requests"))).isNull();
+    }
+
+    private static TelegramService.SendMessageResponse sent(long messageId) {
+        return new TelegramService.SendMessageResponse(true,
+                new TelegramService.SendMessageResponse.Result(messageId), null, null, null);
+    }
+
+    private static TelegramService.SendMessageResponse error(Integer errorCode, String description) {
+        return new TelegramService.SendMessageResponse(false, null, errorCode, description, null);
     }
 
-    private void mockTelegramResponse(Map<String, Object> response) {
+    private void mockTelegramResponse(TelegramService.SendMessageResponse response) {
         when(webClient.post()).thenReturn(requestBodyUriSpec);
         when(requestBodyUriSpec.uri("/sendMessage")).thenReturn(requestBodySpec);
         when(requestBodySpec.contentType(MediaType.APPLICATION_JSON)).thenReturn(requestBodySpec);
         when(requestBodySpec.bodyValue(any())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(Map.class)).thenReturn(Mono.just(response));
+        when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(TelegramService.SendMessageResponse.class)).thenReturn(Mono.just(response));
     }
 
     private boolean containsTelegramMessage(Object requestBody, String chatId) {
-        if (!(requestBody instanceof Map<?, ?> body)) {
-            return false;
-        }
-        return chatId.equals(body.get("chat_id"))
-                && "**From: duke**\n\nSpring rocks".equals(body.get("text"))
-                && "markdown".equals(body.get("parse_mode"));
+        return requestBody instanceof TelegramService.SendMessageRequest body
+                && chatId.equals(body.chatId())
+                && "**From: duke**\n\nSpring rocks".equals(body.text())
+                && "markdown".equals(body.parseMode());
     }
 }
@@ -1,6 +1,9 @@
 package com.notificationhub.utils;
 
 import com.notificationhub.config.JwtProperties;
+import com.notificationhub.enums.Role;
+import com.notificationhub.security.model.AuthenticatedUser;
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -61,11 +64,9 @@ public class JwtUtilsTest {
         assertNotNull(token);
         assertFalse(token.isEmpty());
 
-        String username = jwtUtils.extractUsername(token);
-        assertEquals("testuser", username);
-
-        List<String> roles = jwtUtils.extractRoles(token);
-        assertTrue(roles.contains("ROLE_USER"));
+        Claims claims = verifiedClaims(token);
+        assertEquals("testuser", claims.getSubject());
+        assertTrue(jwtUtils.extractRoles(claims).contains("ROLE_USER"));
     }
 
     @Test
@@ -73,59 +74,31 @@ public class JwtUtilsTest {
     void generateTokenWithUserDetailsIncludesRolesInClaims() {
         String token = jwtUtils.generateToken(adminUserDetails);
 
-        List<String> roles = jwtUtils.extractRoles(token);
+        List<String> roles = jwtUtils.extractRoles(verifiedClaims(token));
         assertTrue(roles.contains("ROLE_ADMIN"));
         assertTrue(roles.contains("ROLE_USER"));
         assertEquals(2, roles.size());
     }
 
     @Test
-    @DisplayName("Should extract username from valid token")
-    void extractUsernameWithValidTokenReturnsUsername() {
+    @DisplayName("Should carry the username as the token subject")
+    void parseVerifiedClaimsWithValidTokenReturnsUsername() {
         String token = jwtUtils.generateToken(userDetails);
 
-        String username = jwtUtils.extractUsername(token);
-
-        assertEquals("testuser", username);
+        assertEquals("testuser", verifiedClaims(token).getSubject());
     }
 
     @Test
-    @DisplayName("Should extract expiration date from token")
-    void extractExpirationWithValidTokenReturnsExpirationDate() {
+    @DisplayName("Should carry the expiration date in the token claims")
+    void parseVerifiedClaimsWithValidTokenReturnsExpirationDate() {
         String token = jwtUtils.generateToken(userDetails);
 
-        Date expiration = jwtUtils.extractExpiration(token);
+        Date expiration = verifiedClaims(token).getExpiration();
 
         assertNotNull(expiration);
         assertTrue(expiration.after(new Date()));
     }
 
-    @Test
-    @DisplayName("Should validate token with correct user details")
-    void validateTokenWithCorrectUserDetailsReturnsTrue() {
-        String token = jwtUtils.generateToken(userDetails);
-
-        boolean isValid = jwtUtils.validateToken(token, userDetails);
-
-        assertTrue(isValid);
-    }
-
-    @Test
-    @DisplayName("Should invalidate token with incorrect user details")
-    void validateTokenWithIncorrectUserDetailsReturnsFalse() {
-        String token = jwtUtils.generateToken(userDetails);
-
-        UserDetails differentUser = User.builder()
-                .username("differentuser")
-                .password("pass")
-                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")))
-                .build();
-
-        boolean isValid = jwtUtils.validateToken(token, differentUser);
-
-        assertFalse(isValid);
-    }
-
     @Test
     @DisplayName("Should validate token without user details")
     void validateTokenWithoutUserDetailsReturnsTrueForValidToken() {
@@ -155,12 +128,62 @@ public class JwtUtilsTest {
         assertFalse(isValid);
     }
 
+    @Test
+    @DisplayName("Should return verified claims from a single parse")
+    void parseVerifiedClaimsWithValidTokenReturnsClaims() {
+        String token = jwtUtils.generateToken(adminUserDetails);
+
+        Optional<Claims> claims = jwtUtils.parseVerifiedClaims(token);
+
+        assertTrue(claims.isPresent());
+        assertEquals("admin", claims.get().getSubject());
+        assertEquals(2, jwtUtils.extractRoles(claims.get()).size());
+    }
+
+    @Test
+    @DisplayName("Should return empty claims for invalid or expired tokens")
+    void parseVerifiedClaimsWithInvalidTokenReturnsEmpty() {
+        when(jwtProperties.getExpiration()).thenReturn(-1000L);
+        String expiredToken = jwtUtils.generateToken(userDetails);
+
+        assertTrue(jwtUtils.parseVerifiedClaims(expiredToken).isEmpty());
+        assertTrue(jwtUtils.parseVerifiedClaims("malformed.token.here").isEmpty());
+        assertTrue(jwtUtils.parseVerifiedClaims(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should build the authenticated user from the token claims")
+    void extractAuthenticatedUserReadsUserClaims() {
+        com.notificationhub.entity.User user = com.notificationhub.entity.User.builder()
+                .id(7L)
+                .username("testuser")
+                .role(Role.USER)
+                .dailyMessageLimit(100)
+                .build();
+        String token = jwtUtils.generateToken(userDetails, user);
+
+        Claims claims = jwtUtils.parseVerifiedClaims(token).orElseThrow();
+        AuthenticatedUser authenticatedUser = jwtUtils.extractAuthenticatedUser(claims).orElseThrow();
+
+        assertEquals(new AuthenticatedUser(7L, "testuser", Role.USER, 100), authenticatedUser);
+    }
+
+    @Test
+    @DisplayName("Should not build the authenticated user from tokens without user claims")
+    void extractAuthenticatedUserWithoutUserClaimsReturnsEmpty() {
+        String token = jwtUtils.generateToken(userDetails);
+
+        Claims claims = jwtUtils.parseVerifiedClaims(token).orElseThrow();
+
+        assertTrue(jwtUtils.extractAuthenticatedUser(claims).isEmpty());
+    }
+
     @Test
     @DisplayName("Should extract roles from token")
     void extractRolesWithTokenContainingRolesReturnsRoleList() {
         String token = jwtUtils.generateToken(adminUserDetails);
 
-        List<String> roles = jwtUtils.extractRoles(token);
+        List<String> roles = jwtUtils.extractRoles(verifiedClaims(token));
 
         assertNotNull(roles);
         assertEquals(2, roles.size());
@@ -179,7 +202,7 @@ public class JwtUtilsTest {
 
         String token = jwtUtils.generateToken(userWithoutRoles);
 
-        List<String> roles = jwtUtils.extractRoles(token);
+        List<String> roles = jwtUtils.extractRoles(verifiedClaims(token));
 
         assertNotNull(roles);
         assertTrue(roles.isEmpty());
@@ -251,8 +274,12 @@ public class JwtUtilsTest {
         assertNotEquals(token1, token2);
 
         assertEquals(
-                jwtUtils.extractUsername(token1),
-                jwtUtils.extractUsername(token2)
+                verifiedClaims(token1).getSubject(),
+                verifiedClaims(token2).getSubject()
         );
     }
+
+    private Claims verifiedClaims(String token) {
+        return jwtUtils.parseVerifiedClaims(token).orElseThrow();
+    }
 }
@@ -3,6 +3,7 @@ package com.notificationhub.utils;
 import com.notificationhub.entity.User;
 import com.notificationhub.enums.Role;
 import com.notificationhub.repository.UserRepository;
+import com.notificationhub.security.model.AuthenticatedUser;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -80,6 +81,23 @@ public class SecurityUtilsTest {
         verify(userRepository).findByUsername(TEST_USERNAME);
     }
 
+    @Test
+    @DisplayName("Should return the user from the token principal without querying the database")
+    void shouldReturnUserFromAuthenticatedPrincipal() {
+        AuthenticatedUser principal = new AuthenticatedUser(1L, TEST_USERNAME, Role.USER, 100);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                principal, null, principal.getAuthorities()
+        );
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+
+        User result = securityUtils.getCurrentUser();
+
+        assertThat(result).isEqualTo(testUser);
+        assertThat(result.getUsername()).isEqualTo(TEST_USERNAME);
+        assertThat(result.getDailyMessageLimit()).isEqualTo(100);
+        verifyNoInteractions(userRepository);
+    }
+
     @Test
     @DisplayName("Should return null when authentication is null")
     void shouldReturnNullWhenAuthenticationIsNull() {
@@ -0,0 +1,41 @@
+-- Volumen representativo para QueryPlanIntegrationTest: 1.000 usuarios,
+-- 100.000 mensajes, 200.000 entregas y 30 días de contadores por usuario.
+-- Los ids van explícitos porque el contenedor se comparte con otras clases de test, que
+-- pueden haber avanzado las secuencias.
+
+INSERT INTO users (id, username, password_hash, role, daily_message_limit, created_at)
+SELECT g, 'user' || g, 'hash', 'USER', 100, now() - interval '90 days'
+FROM generate_series(1, 1000) g;
+
+INSERT INTO messages (id, user_id, content, created_at)
+SELECT g, (g % 1000) + 1, 'Message ' || g, now() - g * interval '1 minute'
+FROM generate_series(1, 100000) g;
+
+INSERT INTO message_deliveries (id, message_id, platform_type, destination, status,
+                                sent_at, next_attempt_at, attempts, created_at, updated_at)
+SELECT g,
+       (g + 1) / 2,
+       CASE WHEN g % 2 = 0 THEN 'DISCORD' ELSE 'TELEGRAM' END,
+       'destination-' || (g % 100),
+       CASE WHEN g % 500 = 1 THEN 'PENDING' WHEN g % 50 = 0 THEN 'FAILED' ELSE 'SUCCESS' END,
+       CASE WHEN g % 500 = 1 THEN NULL ELSE now() - ((g + 1) / 2) * interval '1 minute' END,
+       NULL,
+       CASE WHEN g % 500 = 1 THEN 0 ELSE 1 END,
+       now() - ((g + 1) / 2) * interval '1 minute',
+       now() - ((g + 1) / 2) * interval '1 minute'
+FROM generate_series(1, 200000) g;
+
+INSERT INTO daily_message_counts (user_id, date, count, created_at, updated_at)
+SELECT u, current_date - d, 10, now(), now()
+FROM generate_series(1, 1000) u, generate_series(0, 29) d;
+
+INSERT INTO user_message_stats (user_id, total_messages, telegram_deliveries, discord_deliveries,
+                                successful_deliveries, failed_deliveries, last_sent_at)
+SELECT u, 100, 100, 100, 196, 4, now()
+FROM generate_series(1, 1000) u;
+
+SELECT setval(pg_get_serial_sequence('users', 'id'), 1000);
+SELECT setval('messages_seq', 100001);
+SELECT setval('message_deliveries_seq', 200001);
+
+ANALYZE;